@@ -0,0 +1,24 @@
+package com.jakartaee.jsonb.processor;
+
+import javax.lang.model.element.TypeElement;
+import java.util.List;
+
+/**
+ * Clase anotada con @GenerateJsonbBinding y sus propiedades en orden de serialización.
+ *
+ * @param baseName nombre base de las clases generadas (Location_Coordinates para una clase anidada)
+ */
+record BindingModel(TypeElement type, String packageName, String baseName, List<Property> properties) {
+
+    String typeName() {
+        return type.getQualifiedName().toString();
+    }
+
+    String serializerName() {
+        return baseName + "_JsonbSerializer";
+    }
+
+    String deserializerName() {
+        return baseName + "_JsonbDeserializer";
+    }
+}
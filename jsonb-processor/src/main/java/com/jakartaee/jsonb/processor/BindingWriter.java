@@ -0,0 +1,384 @@
+package com.jakartaee.jsonb.processor;
+
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.List;
+
+/**
+ * Genera el código fuente del serializador y del deserializador de un BindingModel.
+ *
+ * Ambos exponen un método estático (write/read) además de la interfaz JSON-B, de modo que
+ * una clase enlazada que contiene otra llama directamente a su código generado sin pasar
+ * por la búsqueda de serializadores del contexto.
+ */
+final class BindingWriter {
+
+    private static final String PROCESSOR = JsonbBindingProcessor.class.getName();
+    private static final String EVENT = "jakarta.json.stream.JsonParser.Event";
+
+    private final Types types;
+
+    BindingWriter(Types types) {
+        this.types = types;
+    }
+
+    String serializer(BindingModel model) {
+        Source out = new Source();
+        header(out, model);
+        out.line("public final class %s implements jakarta.json.bind.serializer.JsonbSerializer<%s> {",
+                model.serializerName(), model.typeName());
+        out.indent();
+        constants(out, model.properties());
+        out.line("@Override");
+        out.line("public void serialize(%s obj, jakarta.json.stream.JsonGenerator generator, "
+                + "jakarta.json.bind.serializer.SerializationContext ctx) {", model.typeName());
+        out.indent().line("write(obj, generator, ctx);").outdent();
+        out.line("}").blank();
+
+        out.line("public static void write(%s obj, jakarta.json.stream.JsonGenerator generator, "
+                + "jakarta.json.bind.serializer.SerializationContext ctx) {", model.typeName());
+        out.indent().line("generator.writeStartObject();");
+        for (Property property : model.properties()) {
+            if (property.reader() != null) {
+                writeProperty(out, property);
+            }
+        }
+        out.line("generator.writeEnd();").outdent();
+        out.line("}");
+        out.outdent().line("}");
+        return out.toString();
+    }
+
+    String deserializer(BindingModel model) {
+        Source out = new Source();
+        header(out, model);
+        out.line("public final class %s implements jakarta.json.bind.serializer.JsonbDeserializer<%s> {",
+                model.deserializerName(), model.typeName());
+        out.indent();
+        constants(out, model.properties());
+        out.line("@Override");
+        out.line("public %s deserialize(jakarta.json.stream.JsonParser parser, "
+                + "jakarta.json.bind.serializer.DeserializationContext ctx, java.lang.reflect.Type rtType) {",
+                model.typeName());
+        out.indent().line("return read(parser, ctx);").outdent();
+        out.line("}").blank();
+
+        out.line("/** El parser debe haber consumido ya el START_OBJECT. */");
+        out.line("public static %s read(jakarta.json.stream.JsonParser parser, "
+                + "jakarta.json.bind.serializer.DeserializationContext ctx) {", model.typeName());
+        out.indent();
+        out.line("%s obj = new %s();", model.typeName(), model.typeName());
+        out.line("%s event;", EVENT);
+        out.line("while ((event = parser.next()) != %s.END_OBJECT) {", EVENT);
+        // Fuera de un objeto (por ejemplo, un array en la raíz) el primer evento no es una clave
+        out.indent().line("if (event != %s.KEY_NAME) {", EVENT).indent();
+        out.line("throw incorrectPosition(%s, event, \"[KEY_NAME, END_OBJECT]\");", literal(model.typeName())).outdent();
+        out.line("}");
+        out.line("switch (parser.getString()) {").indent();
+        for (Property property : model.properties()) {
+            if (property.writer() != null) {
+                readProperty(out, property);
+            }
+        }
+        out.line("default:").indent().line("skipValue(parser);").outdent();
+        out.outdent().line("}").outdent().line("}");
+        out.line("return obj;").outdent().line("}").blank();
+
+        out.line("private static void skipValue(jakarta.json.stream.JsonParser parser) {");
+        out.indent().line("int depth = 0;");
+        out.line("do {").indent();
+        out.line("switch (parser.next()) {").indent();
+        out.line("case START_OBJECT, START_ARRAY -> depth++;");
+        out.line("case END_OBJECT, END_ARRAY -> depth--;");
+        out.line("default -> { }");
+        out.outdent().line("}").outdent().line("} while (depth > 0);");
+        out.outdent().line("}").blank();
+
+        out.line("private static jakarta.json.bind.JsonbException incorrectPosition(String type, %s received, String allowed) {", EVENT);
+        out.indent().line("return new jakarta.json.bind.JsonbException(\"Incorrect position for processing type: \" + type");
+        out.line("        + \". Received event: \" + received + \" Allowed: \" + allowed);");
+        out.outdent().line("}");
+        out.outdent().line("}");
+        return out.toString();
+    }
+
+    private static void header(Source out, BindingModel model) {
+        if (!model.packageName().isEmpty()) {
+            out.line("package %s;", model.packageName()).blank();
+        }
+        out.line("@javax.annotation.processing.Generated(\"%s\")", PROCESSOR);
+    }
+
+    private void constants(Source out, List<Property> properties) {
+        boolean any = false;
+        for (Property property : properties) {
+            if (property.value().isTemporal()) {
+                out.line("private static final java.time.format.DateTimeFormatter %s = %s;",
+                        formatterName(property), formatter(property));
+                any = true;
+            }
+            if (property.hasAdapter()) {
+                out.line("private static final %s %s = new %s();",
+                        erasure(property.adapter()), adapterName(property), erasure(property.adapter()));
+                any = true;
+            }
+        }
+        if (any) {
+            out.blank();
+        }
+    }
+
+    private static String formatter(Property property) {
+        if (property.dateFormat() == null) {
+            return property.value().kind() == ValueType.Kind.LOCAL_DATE
+                    ? "java.time.format.DateTimeFormatter.ISO_LOCAL_DATE"
+                    : "java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME";
+        }
+        String locale = property.dateLocale() == null
+                ? "java.util.Locale.getDefault()"
+                : "java.util.Locale.forLanguageTag(" + literal(property.dateLocale()) + ")";
+        return "java.time.format.DateTimeFormatter.ofPattern(" + literal(property.dateFormat()) + ", " + locale + ")";
+    }
+
+    // ---- serialización ----
+
+    private void writeProperty(Source out, Property property) {
+        String variable = "v_" + property.fieldName();
+        String reader = property.reader();
+        ValueType value = property.value();
+        out.line("%s %s = %s;", value.type(), variable, reader);
+        boolean nullable = !value.isPrimitive();
+        if (nullable) {
+            out.line("if (%s != null) {", variable).indent();
+        }
+        if (property.hasAdapter()) {
+            String adapted = "a_" + property.fieldName();
+            out.line("%s %s;", property.adaptedType(), adapted);
+            out.line("try {").indent();
+            out.line("%s = %s.adaptToJson(%s);", adapted, adapterName(property), variable);
+            out.outdent().line("} catch (Exception e) {").indent();
+            out.line("throw new jakarta.json.bind.JsonbException(e.getMessage(), e);");
+            out.outdent().line("}");
+            out.line("if (%s != null) {", adapted).indent();
+            out.line("ctx.serialize(%s, %s, generator);", literal(property.jsonName()), adapted);
+            out.outdent().line("}");
+        } else {
+            out.line("generator.writeKey(%s);", literal(property.jsonName()));
+            writeValue(out, value, variable, property, 0);
+        }
+        if (nullable) {
+            out.outdent().line("}");
+        }
+    }
+
+    private void writeValue(Source out, ValueType value, String expression, Property property, int depth) {
+        switch (value.kind()) {
+            case STRING, BOOLEAN, BIG_DECIMAL, BIG_INTEGER -> out.line("generator.write(%s);", expression);
+            case INT, SHORT, BYTE -> out.line("generator.write((int) %s);", expression);
+            case LONG -> out.line("generator.write((long) %s);", expression);
+            case DOUBLE -> {
+                nonFinite(out, "Double", expression, property);
+                out.line("generator.write((double) %s);", expression);
+            }
+            case FLOAT -> {
+                nonFinite(out, "Float", expression, property);
+                out.line("generator.write(new java.math.BigDecimal(String.valueOf(%s)));", expression);
+            }
+            case LOCAL_DATE, LOCAL_DATE_TIME ->
+                    out.line("generator.write(%s.format(%s));", formatterName(property), expression);
+            case ENUM -> out.line("generator.write(%s.name());", expression);
+            case BOUND -> out.line("%s_JsonbSerializer.write(%s, generator, ctx);", value.boundName(), expression);
+            case COLLECTION -> {
+                String element = "e" + depth;
+                out.line("generator.writeStartArray();");
+                out.line("for (%s %s : %s) {", value.element().type(), element, expression).indent();
+                out.line("if (%s == null) {", element).indent();
+                out.line("generator.writeNull();").outdent();
+                out.line("} else {").indent();
+                writeValue(out, value.element(), element, property, depth + 1);
+                out.outdent().line("}");
+                out.outdent().line("}");
+                out.line("generator.writeEnd();");
+            }
+            case OTHER -> out.line("ctx.serialize(%s, generator);", expression);
+        }
+    }
+
+    /**
+     * JSON no admite NaN ni infinitos: como JSON-B, la serialización falla.
+     */
+    private static void nonFinite(Source out, String boxed, String expression, Property property) {
+        out.line("if (!%s.isFinite(%s)) {", boxed, expression).indent();
+        out.line("throw new jakarta.json.bind.JsonbException(%s,", literal("Unable to serialize property '"
+                + property.jsonName() + "': NaN and infinite values cannot be written as JSON numbers"));
+        out.line("        new NumberFormatException(\"value cannot be Infinite or NaN: \" + %s));", expression).outdent();
+        out.line("}");
+    }
+
+    // ---- deserialización ----
+
+    private void readProperty(Source out, Property property) {
+        ValueType value = property.value();
+        out.line("case %s: {", literal(property.jsonName())).indent();
+        if (property.hasAdapter()) {
+            // El contexto avanza desde KEY_NAME hasta el valor
+            out.line("%s a = ctx.deserialize(%s.class, parser);", property.adaptedType(), erasure(property.adaptedType()));
+            out.line("try {").indent();
+            out.line(property.writer() + ";", adapterName(property) + ".adaptFromJson(a)");
+            out.outdent().line("} catch (Exception e) {").indent();
+            out.line("throw new jakarta.json.bind.JsonbException(e.getMessage(), e);");
+            out.outdent().line("}");
+        } else if (value.kind() == ValueType.Kind.OTHER) {
+            out.line(property.writer() + ";", "ctx.deserialize(" + erasure(value.type()) + ".class, parser)");
+        } else {
+            out.line("event = parser.next();");
+            if (value.isPrimitive()) {
+                out.line("if (event != %s.VALUE_NULL) {", EVENT).indent();
+            } else {
+                out.line("if (event == %s.VALUE_NULL) {", EVENT).indent();
+                out.line(property.writer() + ";", "null").outdent();
+                out.line("} else {").indent();
+            }
+            readValue(out, value, "r0", property, 0);
+            out.line(property.writer() + ";", "r0");
+            out.outdent().line("}");
+        }
+        out.line("break;");
+        out.outdent().line("}");
+    }
+
+    /**
+     * Lee el valor actual del parser (evento ya consumido en "event", no nulo) y lo deja
+     * en una variable local nueva.
+     */
+    private void readValue(Source out, ValueType value, String variable, Property property, int depth) {
+        String type = value.type().toString();
+        expectEvent(out, value);
+        switch (value.kind()) {
+            case STRING -> out.line("%s %s = parser.getString();", type, variable);
+            case BOOLEAN -> out.line("%s %s = event == %s.VALUE_TRUE;", type, variable, EVENT);
+            case INT -> out.line("%s %s = parser.getInt();", type, variable);
+            case SHORT -> out.line("%s %s = (short) parser.getInt();", type, variable);
+            case BYTE -> out.line("%s %s = (byte) parser.getInt();", type, variable);
+            case LONG -> out.line("%s %s = parser.getLong();", type, variable);
+            // JSON-B acepta "NaN" e "Infinity" como cadena al leer
+            case DOUBLE -> out.line("%s %s = event == %s.VALUE_STRING ? Double.parseDouble(parser.getString()) "
+                    + ": parser.getBigDecimal().doubleValue();", type, variable, EVENT);
+            case FLOAT -> out.line("%s %s = event == %s.VALUE_STRING ? Float.parseFloat(parser.getString()) "
+                    + ": parser.getBigDecimal().floatValue();", type, variable, EVENT);
+            case BIG_DECIMAL -> out.line("%s %s = parser.getBigDecimal();", type, variable);
+            case BIG_INTEGER -> out.line("%s %s = parser.getBigDecimal().toBigInteger();", type, variable);
+            case LOCAL_DATE -> out.line("%s %s = java.time.LocalDate.parse(parser.getString(), %s);",
+                    type, variable, formatterName(property));
+            case LOCAL_DATE_TIME -> out.line("%s %s = java.time.LocalDateTime.parse(parser.getString(), %s);",
+                    type, variable, formatterName(property));
+            case ENUM -> out.line("%s %s = %s.valueOf(parser.getString());", type, variable, erasure(value.type()));
+            case BOUND -> out.line("%s %s = %s_JsonbDeserializer.read(parser, ctx);", type, variable, value.boundName());
+            case COLLECTION -> {
+                String element = "r" + (depth + 1);
+                out.line("%s %s = new %s<>();", type, variable, value.collectionImpl());
+                out.line("while ((event = parser.next()) != %s.END_ARRAY) {", EVENT).indent();
+                out.line("if (event == %s.VALUE_NULL) {", EVENT).indent();
+                out.line("%s.add(null);", variable).outdent();
+                out.line("} else {").indent();
+                readValue(out, value.element(), element, property, depth + 1);
+                out.line("%s.add(%s);", variable, element);
+                out.outdent().line("}");
+                out.outdent().line("}");
+            }
+            case OTHER -> throw new IllegalStateException("OTHER values are read through the context");
+        }
+    }
+
+    /**
+     * Comprueba que el evento ya consumido corresponde al valor: START_OBJECT para una
+     * clase enlazada, START_ARRAY para una colección y un valor simple para el resto.
+     */
+    private void expectEvent(Source out, ValueType value) {
+        String type = literal(erasure(value.type()));
+        switch (value.kind()) {
+            case BOUND -> {
+                out.line("if (event != %s.START_OBJECT) {", EVENT).indent();
+                out.line("throw incorrectPosition(%s, event, \"[START_OBJECT]\");", type).outdent();
+                out.line("}");
+            }
+            case COLLECTION -> {
+                out.line("if (event != %s.START_ARRAY) {", EVENT).indent();
+                out.line("throw incorrectPosition(%s, event, \"[START_ARRAY]\");", type).outdent();
+                out.line("}");
+            }
+            default -> {
+                out.line("if (event == %s.START_OBJECT || event == %s.START_ARRAY) {", EVENT, EVENT).indent();
+                out.line("throw incorrectPosition(%s, event, \"[VALUE_STRING, VALUE_NUMBER, VALUE_TRUE, VALUE_FALSE]\");", type).outdent();
+                out.line("}");
+            }
+        }
+    }
+
+    private String erasure(TypeMirror type) {
+        return types.erasure(type).toString();
+    }
+
+    private static String formatterName(Property property) {
+        return "FORMAT_" + property.fieldName();
+    }
+
+    private static String adapterName(Property property) {
+        return "ADAPTER_" + property.fieldName();
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    /**
+     * Acumulador de líneas con sangrado.
+     */
+    private static final class Source {
+
+        private final StringBuilder text = new StringBuilder();
+        private int level;
+
+        Source line(String format, Object... args) {
+            text.append("    ".repeat(level)).append(args.length == 0 ? format : String.format(format, args)).append('\n');
+            return this;
+        }
+
+        Source blank() {
+            text.append('\n');
+            return this;
+        }
+
+        Source indent() {
+            level++;
+            return this;
+        }
+
+        Source outdent() {
+            level--;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.jakartaee.jsonb.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pide al JsonbBindingProcessor que genere, en tiempo de compilación, un JsonbSerializer
+ * (NombreClase_JsonbSerializer) y un JsonbDeserializer (NombreClase_JsonbDeserializer)
+ * específicos para la clase anotada.
+ *
+ * El código generado reproduce la configuración por defecto de JSON-B (nulos omitidos,
+ * orden lexicográfico) y respeta @JsonbProperty, @JsonbTransient, @JsonbDateFormat,
+ * @JsonbPropertyOrder y @JsonbTypeAdapter declarados en los campos. Los getters y setters
+ * sin campo también son propiedades; en ellos solo se admite @JsonbTransient, salvo en
+ * las propiedades que solo tienen getter o solo setter.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateJsonbBinding {
+}
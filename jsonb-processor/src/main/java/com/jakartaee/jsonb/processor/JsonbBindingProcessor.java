@@ -0,0 +1,74 @@
+package com.jakartaee.jsonb.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+
+/**
+ * Genera NombreClase_JsonbSerializer y NombreClase_JsonbDeserializer para cada clase
+ * anotada con @GenerateJsonbBinding.
+ *
+ * Las clases generadas escriben y leen cada propiedad con llamadas directas a getters,
+ * setters y al JsonGenerator/JsonParser, sin la introspección por reflexión que JSON-B
+ * hace la primera vez que ve un tipo. Se registran en JsonbConfig con withSerializers()
+ * y withDeserializers().
+ */
+@SupportedAnnotationTypes(ModelReader.GENERATE_BINDING)
+public class JsonbBindingProcessor extends AbstractProcessor {
+
+    private ModelReader reader;
+    private BindingWriter writer;
+    private Filer filer;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.reader = new ModelReader(processingEnv);
+        this.writer = new BindingWriter(processingEnv.getTypeUtils());
+        this.filer = processingEnv.getFiler();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                generate((TypeElement) element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) {
+        try {
+            BindingModel model = reader.read(type);
+            write(model, model.serializerName(), writer.serializer(model));
+            write(model, model.deserializerName(), writer.deserializer(model));
+        } catch (UnsupportedBindingException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write generated JSON-B binding: " + e.getMessage(), type);
+        }
+    }
+
+    private void write(BindingModel model, String simpleName, String source) throws IOException {
+        String name = model.packageName().isEmpty() ? simpleName : model.packageName() + "." + simpleName;
+        try (Writer out = filer.createSourceFile(name, model.type()).openWriter()) {
+            out.write(source);
+        }
+    }
+}
@@ -0,0 +1,496 @@
+package com.jakartaee.jsonb.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lee una clase anotada con @GenerateJsonbBinding y resuelve sus propiedades con las
+ * mismas reglas que JSON-B en su configuración por defecto: campos no estáticos ni
+ * transient, accesibles por campo público o por getter/setter públicos, más los getters
+ * y setters públicos que no corresponden a ningún campo; renombrados con @JsonbProperty
+ * y ordenados lexicográficamente por nombre JSON salvo lo que fije @JsonbPropertyOrder.
+ *
+ * Las anotaciones se leen del campo. En un getter o un setter solo se admite
+ * @JsonbTransient, que como en JSON-B excluye únicamente esa dirección; las propiedades
+ * sin campo que solo tienen getter o solo setter toman las anotaciones de ese método.
+ *
+ * Las anotaciones que el código generado no sabría reproducir provocan un error de
+ * compilación en lugar de un JSON distinto del que produciría JSON-B.
+ */
+final class ModelReader {
+
+    static final String GENERATE_BINDING = "com.jakartaee.jsonb.processor.GenerateJsonbBinding";
+
+    private static final String JSONB = "jakarta.json.bind.annotation.";
+    private static final String PROPERTY = JSONB + "JsonbProperty";
+    private static final String TRANSIENT = JSONB + "JsonbTransient";
+    private static final String DATE_FORMAT = JSONB + "JsonbDateFormat";
+    private static final String PROPERTY_ORDER = JSONB + "JsonbPropertyOrder";
+    private static final String TYPE_ADAPTER = JSONB + "JsonbTypeAdapter";
+    private static final String JSONB_ADAPTER = "jakarta.json.bind.adapter.JsonbAdapter";
+    private static final String DEFAULT = "##default";
+
+    private static final Set<String> UNSUPPORTED_ON_PROPERTY = Set.of(
+            JSONB + "JsonbNumberFormat", JSONB + "JsonbNillable",
+            JSONB + "JsonbTypeSerializer", JSONB + "JsonbTypeDeserializer");
+
+    private static final Set<String> UNSUPPORTED_ON_TYPE = Set.of(
+            JSONB + "JsonbDateFormat", JSONB + "JsonbNumberFormat", JSONB + "JsonbNillable",
+            JSONB + "JsonbVisibility", JSONB + "JsonbTypeSerializer", JSONB + "JsonbTypeDeserializer",
+            JSONB + "JsonbSubtype", JSONB + "JsonbTypeInfo");
+
+    private final Elements elements;
+    private final Types types;
+
+    ModelReader(ProcessingEnvironment environment) {
+        this.elements = environment.getElementUtils();
+        this.types = environment.getTypeUtils();
+    }
+
+    BindingModel read(TypeElement type) {
+        checkInstantiable(type);
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            String name = annotationName(annotation);
+            if (UNSUPPORTED_ON_TYPE.contains(name)) {
+                throw new UnsupportedBindingException(type, "@" + simpleName(name)
+                        + " is not supported by @GenerateJsonbBinding");
+            }
+        }
+
+        Map<String, Property> byJsonName = new LinkedHashMap<>();
+        Set<String> fieldNames = new HashSet<>();
+        for (TypeElement current = type; current != null; current = superclassOf(current)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    fieldNames.add(field.getSimpleName().toString());
+                }
+                Property property = readProperty(type, field);
+                if (property != null) {
+                    // El campo de la subclase oculta al de la superclase con el mismo nombre
+                    byJsonName.putIfAbsent(property.jsonName(), property);
+                }
+            }
+        }
+        for (Map.Entry<String, Accessors> entry : accessors(type).entrySet()) {
+            if (!fieldNames.contains(entry.getKey())) {
+                Property property = readAccessorProperty(entry.getKey(), entry.getValue());
+                if (property != null) {
+                    byJsonName.putIfAbsent(property.jsonName(), property);
+                }
+            }
+        }
+        return new BindingModel(type, packageOf(type), baseName(type), order(type, byJsonName));
+    }
+
+    private Property readProperty(TypeElement owner, VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)
+                || annotation(field, TRANSIENT) != null) {
+            return null;
+        }
+
+        String fieldName = field.getSimpleName().toString();
+        boolean publicField = modifiers.contains(Modifier.PUBLIC);
+        String capitalized = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        ExecutableElement getter = findMethod(owner, "get" + capitalized, 0);
+        if (getter == null && isBoolean(field.asType())) {
+            getter = findMethod(owner, "is" + capitalized, 0);
+        }
+        ExecutableElement setter = findMethod(owner, "set" + capitalized, 1);
+        checkAccessor(getter, "is not supported by @GenerateJsonbBinding; declare it on the field");
+        checkAccessor(setter, "is not supported by @GenerateJsonbBinding; declare it on the field");
+
+        String reader = getter != null ? (isTransient(getter) ? null : "obj." + getter.getSimpleName() + "()")
+                : publicField ? "obj." + fieldName : null;
+        String writer = setter != null ? (isTransient(setter) ? null : "obj." + setter.getSimpleName() + "(%s)")
+                : publicField && !modifiers.contains(Modifier.FINAL) ? "obj." + fieldName + " = %s" : null;
+        if (reader == null && writer == null) {
+            return null;
+        }
+        return property(field, fieldName, field.asType(), reader, writer);
+    }
+
+    /**
+     * Propiedad sin campo: un getter, un setter o ambos.
+     */
+    private Property readAccessorProperty(String name, Accessors accessors) {
+        ExecutableElement getter = accessors.getter;
+        ExecutableElement setter = accessors.setter;
+        if (getter != null && setter != null) {
+            checkAccessor(getter, "is only supported by @GenerateJsonbBinding on read-only or write-only properties");
+            checkAccessor(setter, "is only supported by @GenerateJsonbBinding on read-only or write-only properties");
+            if (!types.isSameType(getter.getReturnType(), setter.getParameters().get(0).asType())) {
+                throw new UnsupportedBindingException(setter, "Getter and setter of property '" + name
+                        + "' must use the same type");
+            }
+        }
+        if (getter != null && isTransient(getter)) {
+            getter = null;
+        }
+        if (setter != null && isTransient(setter)) {
+            setter = null;
+        }
+        if (getter == null && setter == null) {
+            return null;
+        }
+        String reader = getter != null ? "obj." + getter.getSimpleName() + "()" : null;
+        String writer = setter != null ? "obj." + setter.getSimpleName() + "(%s)" : null;
+        // Con un solo método, sus anotaciones son las de la propiedad
+        Element annotated = getter == null ? setter : setter == null ? getter : null;
+        TypeMirror type = getter != null ? getter.getReturnType() : setter.getParameters().get(0).asType();
+        return property(annotated != null ? annotated : getter, name, type, reader, writer);
+    }
+
+    /**
+     * Construye la propiedad a partir de las anotaciones JSON-B del elemento indicado.
+     */
+    private Property property(Element annotated, String name, TypeMirror type, String reader, String writer) {
+        for (AnnotationMirror annotation : annotated.getAnnotationMirrors()) {
+            String annotationName = annotationName(annotation);
+            if (UNSUPPORTED_ON_PROPERTY.contains(annotationName)) {
+                throw new UnsupportedBindingException(annotated, "@" + simpleName(annotationName)
+                        + " is not supported by @GenerateJsonbBinding");
+            }
+        }
+
+        String jsonName = stringValue(annotation(annotated, PROPERTY), "value");
+        if (jsonName == null || jsonName.isEmpty()) {
+            jsonName = name;
+        }
+
+        TypeMirror adapter = null;
+        TypeMirror adaptedType = null;
+        AnnotationMirror typeAdapter = annotation(annotated, TYPE_ADAPTER);
+        if (typeAdapter != null) {
+            adapter = (TypeMirror) value(typeAdapter, "value").getValue();
+            adaptedType = adaptedType(annotated, adapter);
+        }
+
+        ValueType value = adapter != null
+                ? ValueType.of(ValueType.Kind.OTHER, type)
+                : classify(annotated, type);
+
+        String dateFormat = null;
+        String dateLocale = null;
+        AnnotationMirror format = annotation(annotated, DATE_FORMAT);
+        if (format != null) {
+            if (!value.isTemporal()) {
+                throw new UnsupportedBindingException(annotated,
+                        "@JsonbDateFormat is only supported on LocalDate and LocalDateTime properties");
+            }
+            dateFormat = stringValue(format, "value");
+            dateLocale = stringValue(format, "locale");
+            if (dateFormat == null || DEFAULT.equals(dateFormat)) {
+                dateFormat = null;
+            } else if (dateFormat.startsWith("##")) {
+                throw new UnsupportedBindingException(annotated, "@JsonbDateFormat(\"" + dateFormat
+                        + "\") is not supported by @GenerateJsonbBinding");
+            }
+            if (DEFAULT.equals(dateLocale)) {
+                dateLocale = null;
+            }
+        }
+        return new Property(jsonName, name, value, reader, writer, dateFormat, dateLocale, adapter, adaptedType);
+    }
+
+    /**
+     * En un getter o setter solo se admite @JsonbTransient: el resto de anotaciones JSON-B
+     * cambian la propiedad solo en una dirección y el modelo usa una para ambas.
+     */
+    private static void checkAccessor(ExecutableElement accessor, String problem) {
+        if (accessor == null) {
+            return;
+        }
+        for (AnnotationMirror annotation : accessor.getAnnotationMirrors()) {
+            String name = annotationName(annotation);
+            if (name.startsWith(JSONB) && !name.equals(TRANSIENT)) {
+                throw new UnsupportedBindingException(accessor, "@" + simpleName(name)
+                        + " on a getter or setter " + problem);
+            }
+        }
+    }
+
+    private static boolean isTransient(ExecutableElement accessor) {
+        return annotation(accessor, TRANSIENT) != null;
+    }
+
+    /**
+     * Getters (getX, isX con resultado booleano) y setters públicos de la clase y sus
+     * superclases por nombre de propiedad; el de la subclase tiene prioridad.
+     */
+    private Map<String, Accessors> accessors(TypeElement type) {
+        Map<String, Accessors> byName = new LinkedHashMap<>();
+        for (TypeElement current = type; current != null; current = superclassOf(current)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = method.getModifiers();
+                if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+                        || !method.getTypeParameters().isEmpty()) {
+                    continue;
+                }
+                String name = method.getSimpleName().toString();
+                int parameters = method.getParameters().size();
+                TypeMirror result = method.getReturnType();
+                if (parameters == 0 && name.length() > 3 && name.startsWith("get") && result.getKind() != TypeKind.VOID) {
+                    byName.computeIfAbsent(decapitalize(name.substring(3)), k -> new Accessors()).getter(method);
+                } else if (parameters == 0 && name.length() > 2 && name.startsWith("is") && isBoolean(result)) {
+                    byName.computeIfAbsent(decapitalize(name.substring(2)), k -> new Accessors()).getter(method);
+                } else if (parameters == 1 && name.length() > 3 && name.startsWith("set")) {
+                    byName.computeIfAbsent(decapitalize(name.substring(3)), k -> new Accessors()).setter(method);
+                }
+            }
+        }
+        return byName;
+    }
+
+    private static boolean isBoolean(TypeMirror type) {
+        return type.getKind() == TypeKind.BOOLEAN || type.toString().equals("java.lang.Boolean");
+    }
+
+    /**
+     * Mismas reglas que java.beans.Introspector: getURL → URL, getName → name.
+     */
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(0)) && Character.isUpperCase(name.charAt(1))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static final class Accessors {
+
+        private ExecutableElement getter;
+        private ExecutableElement setter;
+
+        void getter(ExecutableElement method) {
+            if (getter == null) {
+                getter = method;
+            }
+        }
+
+        void setter(ExecutableElement method) {
+            if (setter == null) {
+                setter = method;
+            }
+        }
+    }
+
+    private ValueType classify(Element site, TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN: return ValueType.of(ValueType.Kind.BOOLEAN, type);
+            case INT: return ValueType.of(ValueType.Kind.INT, type);
+            case SHORT: return ValueType.of(ValueType.Kind.SHORT, type);
+            case BYTE: return ValueType.of(ValueType.Kind.BYTE, type);
+            case LONG: return ValueType.of(ValueType.Kind.LONG, type);
+            case DOUBLE: return ValueType.of(ValueType.Kind.DOUBLE, type);
+            case FLOAT: return ValueType.of(ValueType.Kind.FLOAT, type);
+            case DECLARED: break;
+            default: return ValueType.of(ValueType.Kind.OTHER, type);
+        }
+
+        TypeElement element = (TypeElement) types.asElement(type);
+        switch (element.getQualifiedName().toString()) {
+            case "java.lang.String": return ValueType.of(ValueType.Kind.STRING, type);
+            case "java.lang.Boolean": return ValueType.of(ValueType.Kind.BOOLEAN, type);
+            case "java.lang.Integer": return ValueType.of(ValueType.Kind.INT, type);
+            case "java.lang.Short": return ValueType.of(ValueType.Kind.SHORT, type);
+            case "java.lang.Byte": return ValueType.of(ValueType.Kind.BYTE, type);
+            case "java.lang.Long": return ValueType.of(ValueType.Kind.LONG, type);
+            case "java.lang.Double": return ValueType.of(ValueType.Kind.DOUBLE, type);
+            case "java.lang.Float": return ValueType.of(ValueType.Kind.FLOAT, type);
+            case "java.math.BigDecimal": return ValueType.of(ValueType.Kind.BIG_DECIMAL, type);
+            case "java.math.BigInteger": return ValueType.of(ValueType.Kind.BIG_INTEGER, type);
+            case "java.time.LocalDate": return ValueType.of(ValueType.Kind.LOCAL_DATE, type);
+            case "java.time.LocalDateTime": return ValueType.of(ValueType.Kind.LOCAL_DATE_TIME, type);
+            case "java.util.List", "java.util.Collection", "java.util.ArrayList":
+                return collection(site, (DeclaredType) type, "java.util.ArrayList");
+            case "java.util.Set", "java.util.HashSet", "java.util.LinkedHashSet":
+                return collection(site, (DeclaredType) type, "java.util.LinkedHashSet");
+            default: break;
+        }
+        if (element.getKind() == ElementKind.ENUM) {
+            return ValueType.of(ValueType.Kind.ENUM, type);
+        }
+        if (hasAnnotation(element, GENERATE_BINDING)) {
+            return new ValueType(ValueType.Kind.BOUND, type, null, null,
+                    packageOf(element) + "." + baseName(element));
+        }
+        return ValueType.of(ValueType.Kind.OTHER, type);
+    }
+
+    private ValueType collection(Element site, DeclaredType type, String implementation) {
+        if (type.getTypeArguments().size() != 1 || type.getTypeArguments().get(0).getKind() != TypeKind.DECLARED) {
+            throw new UnsupportedBindingException(site, "Collections must declare a concrete element type");
+        }
+        ValueType element = classify(site, type.getTypeArguments().get(0));
+        if (element.kind() == ValueType.Kind.OTHER) {
+            throw new UnsupportedBindingException(site, "Collection element type " + element.type()
+                    + " is not supported by @GenerateJsonbBinding; annotate it with @GenerateJsonbBinding");
+        }
+        return new ValueType(ValueType.Kind.COLLECTION, type, element, implementation, null);
+    }
+
+    /**
+     * Segundo argumento de tipo de JsonbAdapter<Original, Adapted> en la jerarquía del adapter.
+     */
+    private TypeMirror adaptedType(Element site, TypeMirror adapter) {
+        List<TypeMirror> pending = new ArrayList<>(List.of(adapter));
+        while (!pending.isEmpty()) {
+            TypeMirror current = pending.remove(0);
+            if (current instanceof DeclaredType declared
+                    && ((TypeElement) declared.asElement()).getQualifiedName().contentEquals(JSONB_ADAPTER)
+                    && declared.getTypeArguments().size() == 2) {
+                TypeMirror adapted = declared.getTypeArguments().get(1);
+                if (adapted.getKind() != TypeKind.DECLARED || !((DeclaredType) adapted).getTypeArguments().isEmpty()) {
+                    throw new UnsupportedBindingException(site, "Adapters must adapt to a non-generic class");
+                }
+                return adapted;
+            }
+            pending.addAll(types.directSupertypes(current));
+        }
+        throw new UnsupportedBindingException(site, adapter + " does not implement JsonbAdapter");
+    }
+
+    private List<Property> order(TypeElement type, Map<String, Property> byJsonName) {
+        List<Property> ordered = new ArrayList<>();
+        AnnotationMirror propertyOrder = annotation(type, PROPERTY_ORDER);
+        if (propertyOrder != null) {
+            @SuppressWarnings("unchecked")
+            List<? extends AnnotationValue> names = (List<? extends AnnotationValue>) value(propertyOrder, "value").getValue();
+            for (AnnotationValue name : names) {
+                Property property = findByName(byJsonName, (String) name.getValue());
+                if (property != null && !ordered.contains(property)) {
+                    ordered.add(property);
+                }
+            }
+        }
+        byJsonName.values().stream()
+                .filter(property -> !ordered.contains(property))
+                .sorted(Comparator.comparing(Property::jsonName))
+                .forEach(ordered::add);
+        return ordered;
+    }
+
+    private static Property findByName(Map<String, Property> byJsonName, String name) {
+        Property property = byJsonName.get(name);
+        if (property != null) {
+            return property;
+        }
+        return byJsonName.values().stream()
+                .filter(candidate -> candidate.fieldName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void checkInstantiable(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)
+                || !type.getModifiers().contains(Modifier.PUBLIC)) {
+            throw new UnsupportedBindingException(type, "@GenerateJsonbBinding requires a public concrete class");
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            throw new UnsupportedBindingException(type, "@GenerateJsonbBinding requires nested classes to be static");
+        }
+        boolean publicNoArgs = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .anyMatch(c -> c.getParameters().isEmpty() && c.getModifiers().contains(Modifier.PUBLIC));
+        if (!publicNoArgs) {
+            throw new UnsupportedBindingException(type, "@GenerateJsonbBinding requires a public no-args constructor");
+        }
+    }
+
+    private ExecutableElement findMethod(TypeElement owner, String name, int parameters) {
+        for (TypeElement current = owner; current != null; current = superclassOf(current)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (method.getSimpleName().contentEquals(name)
+                        && method.getParameters().size() == parameters
+                        && method.getModifiers().contains(Modifier.PUBLIC)
+                        && !method.getModifiers().contains(Modifier.STATIC)) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    private TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) types.asElement(superclass);
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    private String packageOf(Element element) {
+        return elements.getPackageOf(element).getQualifiedName().toString();
+    }
+
+    /**
+     * Location.Coordinates → Location_Coordinates.
+     */
+    private static String baseName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        for (Element enclosing = type.getEnclosingElement(); enclosing instanceof TypeElement outer;
+             enclosing = outer.getEnclosingElement()) {
+            name = outer.getSimpleName() + "_" + name;
+        }
+        return name;
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        return annotation(element, annotationName) != null;
+    }
+
+    private static AnnotationMirror annotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotationName(annotation).equals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static AnnotationValue value(AnnotationMirror annotation, String name) {
+        for (var entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String stringValue(AnnotationMirror annotation, String name) {
+        if (annotation == null) {
+            return null;
+        }
+        AnnotationValue value = value(annotation, name);
+        return value != null ? (String) value.getValue() : null;
+    }
+
+    private static String annotationName(AnnotationMirror annotation) {
+        return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private static String simpleName(String qualifiedName) {
+        return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+    }
+}
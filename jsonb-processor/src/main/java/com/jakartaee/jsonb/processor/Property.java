@@ -0,0 +1,21 @@
+package com.jakartaee.jsonb.processor;
+
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Propiedad de una clase enlazada, ya resuelta tal como la vería JSON-B.
+ *
+ * @param reader      expresión que lee el valor de "obj" (getter o campo público), o null
+ * @param writer      plantilla que asigna "%s" en "obj" (setter o campo público), o null
+ * @param dateFormat  patrón de @JsonbDateFormat, o null para el formato ISO por defecto
+ * @param dateLocale  locale de @JsonbDateFormat, o null para el locale por defecto
+ * @param adapter     clase de @JsonbTypeAdapter, o null
+ * @param adaptedType tipo al que convierte el adapter, o null
+ */
+record Property(String jsonName, String fieldName, ValueType value, String reader, String writer,
+                String dateFormat, String dateLocale, TypeMirror adapter, TypeMirror adaptedType) {
+
+    boolean hasAdapter() {
+        return adapter != null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.jakartaee.jsonb.processor;
+
+import javax.lang.model.element.Element;
+
+/**
+ * Construcción de JSON-B que el código generado no puede reproducir fielmente. Se
+ * informa como error de compilación en el elemento afectado.
+ */
+class UnsupportedBindingException extends RuntimeException {
+
+    private final transient Element element;
+
+    UnsupportedBindingException(Element element, String message) {
+        super(message);
+        this.element = element;
+    }
+
+    Element element() {
+        return element;
+    }
+}
@@ -0,0 +1,34 @@
+package com.jakartaee.jsonb.processor;
+
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Cómo se escribe y se lee un valor en el código generado.
+ *
+ * @param element  tipo de los elementos, solo para COLLECTION
+ * @param boundName nombre base de las clases generadas, solo para BOUND
+ */
+record ValueType(Kind kind, TypeMirror type, ValueType element, String collectionImpl, String boundName) {
+
+    enum Kind {
+        STRING, BOOLEAN, INT, SHORT, BYTE, LONG, DOUBLE, FLOAT, BIG_DECIMAL, BIG_INTEGER,
+        LOCAL_DATE, LOCAL_DATE_TIME, ENUM,
+        /** Otra clase con @GenerateJsonbBinding: se llama directamente a su código generado. */
+        BOUND,
+        COLLECTION,
+        /** Cualquier otro tipo: se delega en el contexto de JSON-B (ruta reflexiva). */
+        OTHER
+    }
+
+    static ValueType of(Kind kind, TypeMirror type) {
+        return new ValueType(kind, type, null, null, null);
+    }
+
+    boolean isPrimitive() {
+        return type.getKind().isPrimitive();
+    }
+
+    boolean isTemporal() {
+        return kind == Kind.LOCAL_DATE || kind == Kind.LOCAL_DATE_TIME;
+    }
+}
@@ -1,5 +1,6 @@
 package com.jakartaee.cdi.interceptor;
 
+import jakarta.enterprise.util.Nonbinding;
 import jakarta.interceptor.InterceptorBinding;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -16,6 +17,7 @@ import static java.lang.annotation.ElementType.TYPE;
 @Retention(RetentionPolicy.RUNTIME)
 @Target({TYPE, METHOD})
 public @interface Loggable {
+    @Nonbinding
     String value() default "INFO";
 }
 
@@ -3,48 +3,70 @@ package com.jakartaee.cdi.interceptor;
 import jakarta.interceptor.AroundInvoke;
 import jakarta.interceptor.Interceptor;
 import jakarta.interceptor.InvocationContext;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Interceptor que registra automáticamente las llamadas a métodos marcados con @Loggable.
  * Demuestra el uso de interceptors en CDI.
+ *
+ * Si el nivel está deshabilitado no se formatea ningún mensaje ni se mide la duración.
  */
 @Loggable
 @Interceptor
 public class LoggingInterceptor {
-    
+
     private static final Logger logger = Logger.getLogger(LoggingInterceptor.class.getName());
-    
+
+    // Nivel y firma resueltos una sola vez por método
+    private static final Map<Method, LogSettings> settingsCache = new ConcurrentHashMap<>();
+
     @AroundInvoke
     public Object logMethod(InvocationContext context) throws Exception {
-        String className = context.getTarget().getClass().getSimpleName();
-        String methodName = context.getMethod().getName();
-        
-        // Obtener el nivel de log del qualifier
-        Loggable loggable = context.getMethod().getAnnotation(Loggable.class);
-        if (loggable == null) {
-            loggable = context.getTarget().getClass().getAnnotation(Loggable.class);
+        LogSettings settings = settingsCache.computeIfAbsent(context.getMethod(), LoggingInterceptor::resolveSettings);
+        Level logLevel = settings.level();
+
+        if (!logger.isLoggable(logLevel)) {
+            try {
+                return context.proceed();
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, e, () -> "!!! Error en " + settings.signature() + ": " + e.getMessage());
+                throw e;
+            }
         }
-        String level = loggable != null ? loggable.value() : "INFO";
-        
-        Level logLevel = Level.parse(level);
-        
-        logger.log(logLevel, String.format(">>> Entrando a %s.%s()", className, methodName));
-        
-        long startTime = System.currentTimeMillis();
+
+        logger.log(logLevel, () -> ">>> Entrando a " + settings.signature());
+
+        long startTime = System.nanoTime();
         try {
             Object result = context.proceed();
-            long duration = System.currentTimeMillis() - startTime;
-            logger.log(logLevel, String.format("<<< Saliendo de %s.%s() - Duración: %d ms", 
-                    className, methodName, duration));
+            long duration = (System.nanoTime() - startTime) / 1_000_000;
+            logger.log(logLevel, () -> "<<< Saliendo de " + settings.signature() + " - Duración: " + duration + " ms");
             return result;
         } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            logger.log(Level.SEVERE, String.format("!!! Error en %s.%s() después de %d ms: %s", 
-                    className, methodName, duration, e.getMessage()), e);
+            long duration = (System.nanoTime() - startTime) / 1_000_000;
+            logger.log(Level.SEVERE, e, () -> "!!! Error en " + settings.signature()
+                    + " después de " + duration + " ms: " + e.getMessage());
             throw e;
         }
     }
-}
 
+    private static LogSettings resolveSettings(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+
+        // Obtener el nivel de log del qualifier
+        Loggable loggable = method.getAnnotation(Loggable.class);
+        if (loggable == null) {
+            loggable = declaringClass.getAnnotation(Loggable.class);
+        }
+        Level level = Level.parse(loggable != null ? loggable.value() : "INFO");
+
+        return new LogSettings(declaringClass.getSimpleName() + "." + method.getName() + "()", level);
+    }
+
+    private record LogSettings(String signature, Level level) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.jakartaee.interceptors.exception;
+
+/**
+ * Excepción lanzada cuando un método protegido con @Bulkhead o @RateLimited
+ * no puede aceptar más llamadas.
+ */
+public class CapacityExceededException extends RuntimeException {
+
+    private final boolean rateLimited;
+    private final long retryAfterSeconds;
+
+    public CapacityExceededException(String message, boolean rateLimited, long retryAfterSeconds) {
+        super(message);
+        this.rateLimited = rateLimited;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public boolean isRateLimited() {
+        return rateLimited;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
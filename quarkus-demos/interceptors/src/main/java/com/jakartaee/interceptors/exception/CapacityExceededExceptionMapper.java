@@ -0,0 +1,29 @@
+package com.jakartaee.interceptors.exception;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import java.util.Map;
+
+/**
+ * ExceptionMapper que convierte los rechazos por sobrecarga en respuestas HTTP:
+ * 429 Too Many Requests para @RateLimited y 503 Service Unavailable para @Bulkhead,
+ * ambas con la cabecera Retry-After.
+ */
+@Provider
+public class CapacityExceededExceptionMapper implements ExceptionMapper<CapacityExceededException> {
+
+    @Override
+    public Response toResponse(CapacityExceededException exception) {
+        Response.Status status = exception.isRateLimited()
+                ? Response.Status.TOO_MANY_REQUESTS
+                : Response.Status.SERVICE_UNAVAILABLE;
+
+        return Response.status(status)
+                .header("Retry-After", exception.getRetryAfterSeconds())
+                .entity(Map.of("message", exception.getMessage()))
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.jakartaee.interceptors.interceptor;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Interceptor binding para limitar las ejecuciones concurrentes de un método.
+ * Demuestra el uso de @AroundInvoke para aislar métodos costosos (patrón bulkhead).
+ */
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+    @Nonbinding
+    int value() default 10; // Ejecuciones concurrentes permitidas
+    
+    @Nonbinding
+    int maxWaiting() default 10; // Llamadas que pueden esperar en cola; 0 rechaza de inmediato
+    
+    @Nonbinding
+    long waitingTimeout() default 1000; // Tiempo máximo de espera en cola, en milisegundos
+}
@@ -0,0 +1,44 @@
+package com.jakartaee.interceptors.interceptor;
+
+import com.jakartaee.interceptors.limit.LimitRegistry;
+import com.jakartaee.interceptors.limit.MethodBulkhead;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import java.util.logging.Logger;
+
+/**
+ * Interceptor que limita las ejecuciones concurrentes de métodos marcados con @Bulkhead.
+ * Demuestra el uso de @AroundInvoke para degradar de forma controlada bajo sobrecarga:
+ * las llamadas que exceden la capacidad esperan en una cola acotada y, si no obtienen
+ * permiso a tiempo, se rechazan con CapacityExceededException (HTTP 503).
+ */
+@Bulkhead
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION + 60)
+public class BulkheadInterceptor {
+
+    private static final Logger logger = Logger.getLogger(BulkheadInterceptor.class.getName());
+
+    @Inject
+    LimitRegistry limitRegistry;
+
+    @AroundInvoke
+    public Object limitConcurrency(InvocationContext context) throws Exception {
+        MethodBulkhead bulkhead = limitRegistry.bulkheadFor(context.getMethod());
+
+        try {
+            bulkhead.acquire();
+        } catch (RuntimeException e) {
+            logger.fine(() -> "🚧 [BULKHEAD] " + e.getMessage());
+            throw e;
+        }
+        try {
+            return context.proceed();
+        } finally {
+            bulkhead.release();
+        }
+    }
+}
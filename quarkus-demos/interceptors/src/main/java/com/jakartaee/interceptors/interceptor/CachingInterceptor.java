@@ -1,5 +1,6 @@
 package com.jakartaee.interceptors.interceptor;
 
+import jakarta.annotation.Priority;
 import jakarta.interceptor.AroundInvoke;
 import jakarta.interceptor.Interceptor;
 import jakarta.interceptor.InvocationContext;
@@ -10,9 +11,13 @@ import java.util.logging.Logger;
 /**
  * Interceptor que cachea resultados de métodos marcados con @Cached.
  * Demuestra el uso de @AroundInvoke para implementar caché simple.
+ *
+ * Su prioridad es menor que la de RateLimitInterceptor y BulkheadInterceptor, así que
+ * se ejecuta antes: un hit de caché responde sin consumir tokens ni permisos.
  */
 @Cached
 @Interceptor
+@Priority(Interceptor.Priority.APPLICATION + 40)
 public class CachingInterceptor {
     
     private static final Logger logger = Logger.getLogger(CachingInterceptor.class.getName());
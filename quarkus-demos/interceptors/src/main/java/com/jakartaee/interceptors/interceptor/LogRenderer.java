@@ -0,0 +1,75 @@
+package com.jakartaee.interceptors.interceptor;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Convierte parámetros y retornos a texto para el LoggingInterceptor.
+ * Las colecciones, mapas y arrays se truncan a maxElements para no invocar
+ * toString() sobre listas completas de entidades.
+ */
+final class LogRenderer {
+
+    private LogRenderer() {
+    }
+
+    static String renderParameters(Object[] parameters, int maxElements) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < parameters.length; i++) {
+            if (i > 0) sb.append(", ");
+            render(sb, parameters[i], maxElements);
+        }
+        return sb.append(']').toString();
+    }
+
+    static String render(Object value, int maxElements) {
+        StringBuilder sb = new StringBuilder();
+        render(sb, value, maxElements);
+        return sb.toString();
+    }
+
+    private static void render(StringBuilder sb, Object value, int maxElements) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof Collection<?> collection) {
+            renderElements(sb, collection.iterator(), collection.size(), maxElements);
+        } else if (value instanceof Map<?, ?> map) {
+            renderElements(sb, map.entrySet().iterator(), map.size(), maxElements);
+        } else if (value.getClass().isArray()) {
+            renderArray(sb, value, maxElements);
+        } else {
+            sb.append(value);
+        }
+    }
+
+    private static void renderElements(StringBuilder sb, Iterator<?> iterator, int size, int maxElements) {
+        sb.append('[');
+        int shown = 0;
+        while (iterator.hasNext() && shown < maxElements) {
+            if (shown > 0) sb.append(", ");
+            sb.append(iterator.next());
+            shown++;
+        }
+        appendRemainder(sb, size, shown);
+    }
+
+    private static void renderArray(StringBuilder sb, Object array, int maxElements) {
+        int length = Array.getLength(array);
+        int shown = Math.min(length, maxElements);
+        sb.append('[');
+        for (int i = 0; i < shown; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(Array.get(array, i));
+        }
+        appendRemainder(sb, length, shown);
+    }
+
+    private static void appendRemainder(StringBuilder sb, int size, int shown) {
+        if (size > shown) {
+            sb.append(shown > 0 ? ", " : "").append("... (+").append(size - shown).append(" más)");
+        }
+        sb.append("] (size=").append(size).append(')');
+    }
+}
@@ -1,5 +1,6 @@
 package com.jakartaee.interceptors.interceptor;
 
+import jakarta.enterprise.util.Nonbinding;
 import jakarta.interceptor.InterceptorBinding;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -14,6 +15,10 @@ import java.lang.annotation.Target;
 @Target({ElementType.TYPE, ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Loggable {
+    @Nonbinding
     String value() default "INFO";
+    
+    @Nonbinding
+    int maxElements() default 10; // Elementos de colecciones/arrays incluidos en el log
 }
 
@@ -1,64 +1,83 @@
 package com.jakartaee.interceptors.interceptor;
 
+import jakarta.annotation.Priority;
 import jakarta.interceptor.AroundInvoke;
 import jakarta.interceptor.Interceptor;
 import jakarta.interceptor.InvocationContext;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Interceptor que registra automáticamente las llamadas a métodos marcados con @Loggable.
  * Demuestra el uso de @AroundInvoke para logging.
+ *
+ * El nivel se comprueba antes de renderizar nada: si está deshabilitado no se invoca
+ * ningún toString(). Los mensajes se construyen con Suppliers y las colecciones se
+ * truncan a @Loggable(maxElements).
  */
 @Loggable
 @Interceptor
+@Priority(Interceptor.Priority.APPLICATION + 10)
 public class LoggingInterceptor {
-    
+
     private static final Logger logger = Logger.getLogger(LoggingInterceptor.class.getName());
-    
+
+    // Configuración de @Loggable resuelta una sola vez por método
+    private static final Map<Method, LogSettings> settingsCache = new ConcurrentHashMap<>();
+
     @AroundInvoke
     public Object logMethod(InvocationContext context) throws Exception {
-        String className = context.getTarget().getClass().getSimpleName();
-        String methodName = context.getMethod().getName();
-        
-        // Obtener el nivel de log del qualifier
-        Loggable loggable = context.getMethod().getAnnotation(Loggable.class);
-        if (loggable == null) {
-            loggable = context.getTarget().getClass().getAnnotation(Loggable.class);
-        }
-        String level = loggable != null ? loggable.value() : "INFO";
-        
-        Level logLevel = Level.parse(level);
-        
-        // Log de entrada
-        logger.log(logLevel, String.format(">>> [LOGGING] Entrando a %s.%s()", className, methodName));
-        
-        // Log de parámetros
-        Object[] parameters = context.getParameters();
-        if (parameters != null && parameters.length > 0) {
-            StringBuilder params = new StringBuilder();
-            for (int i = 0; i < parameters.length; i++) {
-                if (i > 0) params.append(", ");
-                params.append(parameters[i] != null ? parameters[i].toString() : "null");
+        LogSettings settings = settingsCache.computeIfAbsent(context.getMethod(), LoggingInterceptor::resolveSettings);
+        Level logLevel = settings.level();
+        boolean enabled = logger.isLoggable(logLevel);
+
+        if (enabled) {
+            // Log de entrada
+            logger.log(logLevel, () -> ">>> [LOGGING] Entrando a " + settings.signature());
+
+            // Log de parámetros
+            Object[] parameters = context.getParameters();
+            if (parameters != null && parameters.length > 0) {
+                logger.log(logLevel, () -> "    Parámetros: "
+                        + LogRenderer.renderParameters(parameters, settings.maxElements()));
             }
-            logger.log(logLevel, String.format("    Parámetros: [%s]", params));
         }
-        
+
         try {
             Object result = context.proceed();
-            
-            // Log de salida
-            logger.log(logLevel, String.format("<<< [LOGGING] Saliendo de %s.%s()", className, methodName));
-            if (result != null) {
-                logger.log(logLevel, String.format("    Retorno: %s", result.toString()));
+
+            if (enabled) {
+                // Log de salida
+                logger.log(logLevel, () -> "<<< [LOGGING] Saliendo de " + settings.signature());
+                if (result != null) {
+                    logger.log(logLevel, () -> "    Retorno: " + LogRenderer.render(result, settings.maxElements()));
+                }
             }
-            
+
             return result;
         } catch (Exception e) {
-            logger.log(Level.SEVERE, String.format("!!! [LOGGING] Error en %s.%s(): %s", 
-                    className, methodName, e.getMessage()), e);
+            logger.log(Level.SEVERE, e, () -> "!!! [LOGGING] Error en " + settings.signature() + ": " + e.getMessage());
             throw e;
         }
     }
-}
 
+    private static LogSettings resolveSettings(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+
+        // Obtener el nivel de log del qualifier
+        Loggable loggable = method.getAnnotation(Loggable.class);
+        if (loggable == null) {
+            loggable = declaringClass.getAnnotation(Loggable.class);
+        }
+        Level level = Level.parse(loggable != null ? loggable.value() : "INFO");
+        int maxElements = loggable != null ? loggable.maxElements() : 10;
+
+        return new LogSettings(declaringClass.getSimpleName() + "." + method.getName() + "()", level, maxElements);
+    }
+
+    private record LogSettings(String signature, Level level, int maxElements) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.jakartaee.interceptors.interceptor;
+
+import com.jakartaee.interceptors.limit.LimitRegistry;
+import com.jakartaee.interceptors.limit.TokenBucket;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import java.util.logging.Logger;
+
+/**
+ * Interceptor que limita la tasa de invocaciones de métodos marcados con @RateLimited.
+ * Demuestra el uso de @AroundInvoke con un token bucket: las llamadas por encima de la
+ * tasa configurada esperan hasta maxWait o se rechazan con CapacityExceededException (HTTP 429).
+ */
+@RateLimited
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION + 50)
+public class RateLimitInterceptor {
+
+    private static final Logger logger = Logger.getLogger(RateLimitInterceptor.class.getName());
+
+    @Inject
+    LimitRegistry limitRegistry;
+
+    @AroundInvoke
+    public Object limitRate(InvocationContext context) throws Exception {
+        TokenBucket bucket = limitRegistry.bucketFor(context.getMethod());
+
+        try {
+            bucket.acquire();
+        } catch (RuntimeException e) {
+            logger.fine(() -> "🚦 [RATE LIMIT] " + e.getMessage());
+            throw e;
+        }
+        return context.proceed();
+    }
+}
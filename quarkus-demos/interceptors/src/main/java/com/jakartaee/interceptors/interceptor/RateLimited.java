@@ -0,0 +1,26 @@
+package com.jakartaee.interceptors.interceptor;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Interceptor binding para limitar la tasa de invocaciones de un método (token bucket).
+ * Demuestra el uso de @AroundInvoke para proteger métodos frente a ráfagas de llamadas.
+ */
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    @Nonbinding
+    int permitsPerSecond() default 10;
+    
+    @Nonbinding
+    int burst() default 10; // Llamadas que se pueden acumular sin esperar
+    
+    @Nonbinding
+    long maxWait() default 0; // Espera máxima por un permiso, en milisegundos; 0 rechaza de inmediato
+}
@@ -1,5 +1,6 @@
 package com.jakartaee.interceptors.interceptor;
 
+import jakarta.enterprise.util.Nonbinding;
 import jakarta.interceptor.InterceptorBinding;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -9,11 +10,18 @@ import java.lang.annotation.Target;
 /**
  * Interceptor binding para medir el tiempo de ejecución de métodos.
  * Demuestra el uso de @AroundInvoke con medición de tiempo.
+ * 
+ * Cada invocación se registra en un histograma HDR por método (ver LatencyRegistry).
+ * El log es opcional: solo se emite para llamadas más lentas que slowThreshold.
  */
 @InterceptorBinding
 @Target({ElementType.TYPE, ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Timed {
+    @Nonbinding
     String unit() default "ms"; // ms, s, ns
+    
+    @Nonbinding
+    long slowThreshold() default -1; // En la unidad indicada; -1 desactiva el log de llamadas lentas
 }
 
@@ -1,5 +1,9 @@
 package com.jakartaee.interceptors.interceptor;
 
+import com.jakartaee.interceptors.metrics.LatencyRegistry;
+import com.jakartaee.interceptors.metrics.MethodLatency;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
 import jakarta.interceptor.AroundInvoke;
 import jakarta.interceptor.Interceptor;
 import jakarta.interceptor.InvocationContext;
@@ -8,47 +12,44 @@ import java.util.logging.Logger;
 /**
  * Interceptor que mide el tiempo de ejecución de métodos marcados con @Timed.
  * Demuestra el uso de @AroundInvoke para medición de rendimiento.
+ *
+ * Las duraciones se registran en histogramas HDR por método (sin locks ni formateo
+ * de strings por llamada) y se consultan en /api/interceptors/metrics/timing o /q/metrics.
+ * Solo se loguean las llamadas que superan @Timed(slowThreshold).
  */
 @Timed
 @Interceptor
+@Priority(Interceptor.Priority.APPLICATION + 20)
 public class TimingInterceptor {
-    
+
     private static final Logger logger = Logger.getLogger(TimingInterceptor.class.getName());
-    
+
+    @Inject
+    LatencyRegistry latencyRegistry;
+
     @AroundInvoke
     public Object timeMethod(InvocationContext context) throws Exception {
-        String className = context.getTarget().getClass().getSimpleName();
-        String methodName = context.getMethod().getName();
-        
-        // Obtener la unidad de tiempo del qualifier
-        Timed timed = context.getMethod().getAnnotation(Timed.class);
-        if (timed == null) {
-            timed = context.getTarget().getClass().getAnnotation(Timed.class);
-        }
-        String unit = timed != null ? timed.unit() : "ms";
-        
+        MethodLatency latency = latencyRegistry.forMethod(context.getMethod());
+
         long startTime = System.nanoTime();
-        
+        boolean failed = true;
         try {
             Object result = context.proceed();
-            long durationNanos = System.nanoTime() - startTime;
-            
-            // Convertir a la unidad solicitada
-            String durationStr = formatDuration(durationNanos, unit);
-            
-            logger.info(String.format("⏱️  [TIMING] %s.%s() ejecutado en %s", 
-                    className, methodName, durationStr));
-            
+            failed = false;
             return result;
-        } catch (Exception e) {
+        } finally {
             long durationNanos = System.nanoTime() - startTime;
-            String durationStr = formatDuration(durationNanos, unit);
-            logger.warning(String.format("⏱️  [TIMING] %s.%s() falló después de %s", 
-                    className, methodName, durationStr));
-            throw e;
+            latency.record(durationNanos, failed);
+
+            if (latency.isSlow(durationNanos)) {
+                logger.warning(String.format("⏱️  [TIMING] Llamada lenta: %s.%s() %s en %s",
+                        latency.getClassName(), latency.getMethodName(),
+                        failed ? "falló" : "ejecutado",
+                        formatDuration(durationNanos, latency.getUnit())));
+            }
         }
     }
-    
+
     private String formatDuration(long nanos, String unit) {
         return switch (unit.toLowerCase()) {
             case "ns" -> nanos + " ns";
@@ -57,4 +58,3 @@ public class TimingInterceptor {
         };
     }
 }
-
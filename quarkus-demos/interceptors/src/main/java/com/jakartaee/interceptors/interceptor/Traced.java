@@ -0,0 +1,17 @@
+package com.jakartaee.interceptors.interceptor;
+
+import jakarta.interceptor.InterceptorBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Interceptor binding para trazar invocaciones como spans anidados.
+ * Demuestra el uso de @AroundInvoke para construir un árbol de llamadas por petición.
+ */
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Traced {
+}
@@ -0,0 +1,62 @@
+package com.jakartaee.interceptors.interceptor;
+
+import com.jakartaee.interceptors.tracing.Span;
+import com.jakartaee.interceptors.tracing.Trace;
+import com.jakartaee.interceptors.tracing.TraceContext;
+import com.jakartaee.interceptors.tracing.Tracer;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Interceptor que registra cada invocación de métodos marcados con @Traced como un span.
+ * Demuestra el uso de @AroundInvoke para propagar contexto entre llamadas anidadas:
+ * la primera invocación de la petición abre la traza y las anidadas cuelgan de ella.
+ *
+ * Si la petición no se muestrea, las llamadas anidadas solo consultan el ThreadLocal
+ * y no crean ningún objeto.
+ */
+@Traced
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class TracingInterceptor {
+
+    @Inject
+    Tracer tracer;
+
+    @AroundInvoke
+    public Object traceMethod(InvocationContext context) throws Exception {
+        Trace trace = TraceContext.current();
+        boolean root = trace == null;
+        if (root) {
+            trace = tracer.beginTrace();
+            TraceContext.set(trace);
+        }
+
+        try {
+            if (!trace.isRecording()) {
+                return context.proceed();
+            }
+
+            Span span = trace.startSpan(tracer.spanName(context.getMethod()));
+            Exception failure = null;
+            try {
+                return context.proceed();
+            } catch (Exception e) {
+                failure = e;
+                throw e;
+            } finally {
+                trace.endSpan(span, failure);
+            }
+        } finally {
+            if (root) {
+                TraceContext.clear();
+                if (trace.isRecording()) {
+                    tracer.complete(trace);
+                }
+            }
+        }
+    }
+}
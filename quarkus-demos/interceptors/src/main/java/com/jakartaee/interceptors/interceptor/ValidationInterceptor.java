@@ -1,53 +1,44 @@
 package com.jakartaee.interceptors.interceptor;
 
+import jakarta.annotation.Priority;
 import jakarta.interceptor.AroundInvoke;
 import jakarta.interceptor.Interceptor;
 import jakarta.interceptor.InvocationContext;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
  * Interceptor que valida parámetros antes de ejecutar métodos marcados con @Validated.
  * Demuestra el uso de @AroundInvoke para validación de parámetros.
+ *
+ * La primera invocación de cada método compila un ValidationPlan a partir de sus
+ * parámetros; las siguientes solo ejecutan el plan cacheado. Las restricciones de
+ * Bean Validation declaradas en los parámetros las valida Hibernate Validator.
  */
 @Validated
 @Interceptor
+@Priority(Interceptor.Priority.APPLICATION + 30)
 public class ValidationInterceptor {
-    
+
     private static final Logger logger = Logger.getLogger(ValidationInterceptor.class.getName());
-    
+
+    private static final Map<Method, ValidationPlan> plans = new ConcurrentHashMap<>();
+
     @AroundInvoke
     public Object validateMethod(InvocationContext context) throws Exception {
-        String className = context.getTarget().getClass().getSimpleName();
-        String methodName = context.getMethod().getName();
-        
-        Object[] parameters = context.getParameters();
-        
-        // Validar que los parámetros no sean null (validación simple de ejemplo)
-        if (parameters != null) {
-            for (int i = 0; i < parameters.length; i++) {
-                if (parameters[i] == null) {
-                    String errorMsg = String.format(
-                            "❌ [VALIDATION] Parámetro %d de %s.%s() es null", 
-                            i, className, methodName);
-                    logger.severe(errorMsg);
-                    throw new IllegalArgumentException(errorMsg);
-                }
-                
-                // Validación adicional: si es String, verificar que no esté vacío
-                if (parameters[i] instanceof String str && str.trim().isEmpty()) {
-                    String errorMsg = String.format(
-                            "❌ [VALIDATION] Parámetro %d de %s.%s() es un String vacío", 
-                            i, className, methodName);
-                    logger.severe(errorMsg);
-                    throw new IllegalArgumentException(errorMsg);
-                }
+        ValidationPlan plan = plans.computeIfAbsent(context.getMethod(), ValidationPlan::compile);
+
+        if (!plan.isEmpty()) {
+            try {
+                plan.validate(context.getParameters());
+            } catch (IllegalArgumentException e) {
+                logger.severe(e.getMessage());
+                throw e;
             }
         }
-        
-        logger.fine(String.format("✅ [VALIDATION] Parámetros de %s.%s() validados correctamente", 
-                className, methodName));
-        
+
         return context.proceed();
     }
 }
-
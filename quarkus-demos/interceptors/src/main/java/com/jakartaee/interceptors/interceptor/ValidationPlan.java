@@ -0,0 +1,133 @@
+package com.jakartaee.interceptors.interceptor;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Valid;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plan de validación precompilado para un método marcado con @Validated.
+ *
+ * Se construye una sola vez por método a partir de los tipos y anotaciones de sus parámetros:
+ * - Parámetros primitivos: no requieren comprobación.
+ * - Parámetros con restricciones de Bean Validation (@NotNull, @Min, @Valid, ...): se omiten.
+ *   Quarkus detecta esas restricciones en build time y las valida con el ExecutableValidator
+ *   de Hibernate Validator; repetirlas aquí duplicaría el trabajo en cada llamada.
+ * - Resto de parámetros: comprobación implícita de null, y de String vacío si el tipo lo admite.
+ *
+ * Los métodos sin nada que comprobar obtienen el plan vacío y el interceptor no hace ningún trabajo.
+ */
+final class ValidationPlan {
+
+    static final ValidationPlan EMPTY = new ValidationPlan("", new ParameterCheck[0], new int[0]);
+
+    private final String signature;
+    private final ParameterCheck[] checks;
+    private final int[] checkedIndexes;
+
+    private ValidationPlan(String signature, ParameterCheck[] checks, int[] checkedIndexes) {
+        this.signature = signature;
+        this.checks = checks;
+        this.checkedIndexes = checkedIndexes;
+    }
+
+    static ValidationPlan compile(Method method) {
+        List<ParameterCheck> checks = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            if (hasConstraints(parameter)) {
+                continue;
+            }
+            ParameterCheck check = implicitCheck(parameter.getType());
+            if (check != null) {
+                checks.add(check);
+                indexes.add(i);
+            }
+        }
+
+        if (checks.isEmpty()) {
+            return EMPTY;
+        }
+        String signature = method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()";
+        return new ValidationPlan(signature,
+                checks.toArray(ParameterCheck[]::new),
+                indexes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    /**
+     * Ejecuta el plan. Lanza IllegalArgumentException con el primer parámetro inválido.
+     */
+    void validate(Object[] arguments) {
+        for (int i = 0; i < checks.length; i++) {
+            int index = checkedIndexes[i];
+            String error = checks[i].check(arguments[index]);
+            if (error != null) {
+                throw new IllegalArgumentException(String.format(
+                        "❌ [VALIDATION] Parámetro %d de %s %s", index, signature, error));
+            }
+        }
+    }
+
+    private static boolean hasConstraints(Parameter parameter) {
+        for (Annotation annotation : parameter.getAnnotations()) {
+            Class<? extends Annotation> type = annotation.annotationType();
+            if (type == Valid.class || type.isAnnotationPresent(Constraint.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ParameterCheck implicitCheck(Class<?> type) {
+        if (type.isPrimitive()) {
+            return null;
+        }
+        if (CharSequence.class.isAssignableFrom(type)) {
+            return ParameterCheck.NOT_BLANK;
+        }
+        // Tipos como Object o Comparable pueden recibir un String en tiempo de ejecución
+        if (type.isAssignableFrom(String.class)) {
+            return ParameterCheck.NOT_NULL_OR_BLANK_STRING;
+        }
+        return ParameterCheck.NOT_NULL;
+    }
+
+    private enum ParameterCheck {
+        NOT_NULL {
+            @Override
+            String check(Object value) {
+                return value == null ? "es null" : null;
+            }
+        },
+        NOT_BLANK {
+            @Override
+            String check(Object value) {
+                if (value == null) {
+                    return "es null";
+                }
+                return value.toString().isBlank() ? "es un String vacío" : null;
+            }
+        },
+        NOT_NULL_OR_BLANK_STRING {
+            @Override
+            String check(Object value) {
+                if (value == null) {
+                    return "es null";
+                }
+                return value instanceof String str && str.isBlank() ? "es un String vacío" : null;
+            }
+        };
+
+        abstract String check(Object value);
+    }
+}
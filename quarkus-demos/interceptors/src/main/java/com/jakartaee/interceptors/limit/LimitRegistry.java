@@ -0,0 +1,129 @@
+package com.jakartaee.interceptors.limit;
+
+import com.jakartaee.interceptors.interceptor.Bulkhead;
+import com.jakartaee.interceptors.interceptor.RateLimited;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de bulkheads y token buckets por método para @Bulkhead y @RateLimited.
+ *
+ * Igual que LatencyRegistry, resuelve la anotación en la primera llamada a cada método
+ * y publica sus métricas (activas, en cola, rechazadas) en Micrometer.
+ */
+@ApplicationScoped
+public class LimitRegistry {
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final Map<Method, MethodBulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final Map<Method, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public MethodBulkhead bulkheadFor(Method method) {
+        MethodBulkhead bulkhead = bulkheads.get(method);
+        if (bulkhead != null) {
+            return bulkhead;
+        }
+        return bulkheads.computeIfAbsent(method, this::createBulkhead);
+    }
+
+    public TokenBucket bucketFor(Method method) {
+        TokenBucket bucket = buckets.get(method);
+        if (bucket != null) {
+            return bucket;
+        }
+        return buckets.computeIfAbsent(method, this::createBucket);
+    }
+
+    public Map<String, Object> snapshot() {
+        List<Map<String, Object>> bulkheadStats = bulkheads.values().stream()
+                .map(b -> {
+                    Map<String, Object> stats = new LinkedHashMap<>();
+                    stats.put("method", b.getName());
+                    stats.put("maxConcurrent", b.getMaxConcurrent());
+                    stats.put("active", b.getActive());
+                    stats.put("waiting", b.getWaiting());
+                    stats.put("rejected", b.getRejected());
+                    return stats;
+                })
+                .toList();
+        List<Map<String, Object>> rateLimitStats = buckets.values().stream()
+                .map(b -> {
+                    Map<String, Object> stats = new LinkedHashMap<>();
+                    stats.put("method", b.getName());
+                    stats.put("permitsPerSecond", b.getPermitsPerSecond());
+                    stats.put("waiting", b.getWaiting());
+                    stats.put("rejected", b.getRejected());
+                    return stats;
+                })
+                .toList();
+        return Map.of("bulkheads", bulkheadStats, "rateLimits", rateLimitStats);
+    }
+
+    private MethodBulkhead createBulkhead(Method method) {
+        Bulkhead annotation = method.getAnnotation(Bulkhead.class);
+        if (annotation == null) {
+            annotation = method.getDeclaringClass().getAnnotation(Bulkhead.class);
+        }
+        int maxConcurrent = annotation != null ? annotation.value() : 10;
+        int maxWaiting = annotation != null ? annotation.maxWaiting() : 10;
+        long waitingTimeout = annotation != null ? annotation.waitingTimeout() : 1000;
+
+        MethodBulkhead bulkhead = new MethodBulkhead(name(method), maxConcurrent, maxWaiting, waitingTimeout);
+        Tags tags = tags(method);
+        Gauge.builder("interceptors.bulkhead.active", bulkhead, MethodBulkhead::getActive)
+                .tags(tags)
+                .description("Ejecuciones concurrentes dentro del bulkhead")
+                .register(meterRegistry);
+        Gauge.builder("interceptors.bulkhead.waiting", bulkhead, MethodBulkhead::getWaiting)
+                .tags(tags)
+                .description("Llamadas esperando un permiso del bulkhead")
+                .register(meterRegistry);
+        FunctionCounter.builder("interceptors.bulkhead.rejected", bulkhead, MethodBulkhead::getRejected)
+                .tags(tags)
+                .description("Llamadas rechazadas por el bulkhead")
+                .register(meterRegistry);
+        return bulkhead;
+    }
+
+    private TokenBucket createBucket(Method method) {
+        RateLimited annotation = method.getAnnotation(RateLimited.class);
+        if (annotation == null) {
+            annotation = method.getDeclaringClass().getAnnotation(RateLimited.class);
+        }
+        int permitsPerSecond = annotation != null ? annotation.permitsPerSecond() : 10;
+        int burst = annotation != null ? annotation.burst() : 10;
+        long maxWait = annotation != null ? annotation.maxWait() : 0;
+
+        TokenBucket bucket = new TokenBucket(name(method), permitsPerSecond, burst, maxWait);
+        Tags tags = tags(method);
+        Gauge.builder("interceptors.ratelimit.waiting", bucket, TokenBucket::getWaiting)
+                .tags(tags)
+                .description("Llamadas esperando un permiso del limitador de tasa")
+                .register(meterRegistry);
+        FunctionCounter.builder("interceptors.ratelimit.rejected", bucket, TokenBucket::getRejected)
+                .tags(tags)
+                .description("Llamadas rechazadas por el limitador de tasa")
+                .register(meterRegistry);
+        return bucket;
+    }
+
+    private static String name(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()";
+    }
+
+    private static Tags tags(Method method) {
+        return Tags.of("class", method.getDeclaringClass().getSimpleName(), "method", method.getName());
+    }
+}
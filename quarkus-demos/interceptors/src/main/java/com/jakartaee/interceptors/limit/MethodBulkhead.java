@@ -0,0 +1,91 @@
+package com.jakartaee.interceptors.limit;
+
+import com.jakartaee.interceptors.exception.CapacityExceededException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulkhead de un método: un semáforo con maxConcurrent permisos y una cola acotada.
+ *
+ * La espera se hace con Semaphore.tryAcquire(timeout), que aparca el hilo sin bloquear
+ * un hilo de plataforma cuando la llamada se ejecuta en un hilo virtual.
+ *
+ * El semáforo es justo y también el intento inmediato usa la variante con timeout:
+ * tryAcquire() sin argumentos se cuela por delante de los que ya esperan. queueSlots
+ * reserva una plaza de la cola antes de esperar, así que nunca hay más de maxWaiting
+ * hilos en espera; el número de los que esperan de verdad lo da getQueueLength().
+ */
+public class MethodBulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long waitingTimeoutMillis;
+
+    private final Semaphore permits;
+    private final AtomicInteger queueSlots = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public MethodBulkhead(String name, int maxConcurrent, int maxWaiting, long waitingTimeoutMillis) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.waitingTimeoutMillis = waitingTimeoutMillis;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Obtiene un permiso o lanza CapacityExceededException si la cola está llena
+     * o se agota el tiempo de espera. Cada acquire() exitoso requiere un release().
+     */
+    public void acquire() throws InterruptedException {
+        if (permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+            return;
+        }
+        if (queueSlots.incrementAndGet() > maxWaiting) {
+            queueSlots.decrementAndGet();
+            throw reject("cola llena");
+        }
+        try {
+            if (!permits.tryAcquire(waitingTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw reject("tiempo de espera agotado");
+            }
+        } finally {
+            queueSlots.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    private CapacityExceededException reject(String reason) {
+        rejected.increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(waitingTimeoutMillis));
+        return new CapacityExceededException(
+                String.format("Bulkhead de %s saturado (%s)", name, reason), false, retryAfterSeconds);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
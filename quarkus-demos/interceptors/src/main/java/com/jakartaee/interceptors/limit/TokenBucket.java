@@ -0,0 +1,82 @@
+package com.jakartaee.interceptors.limit;
+
+import com.jakartaee.interceptors.exception.CapacityExceededException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket sin locks para @RateLimited, implementado como GCRA
+ * (Generic Cell Rate Algorithm): en vez de contar tokens guarda un único instante teórico
+ * de llegada (TAT) que se actualiza con compareAndSet.
+ *
+ * Cada llamada reserva su permiso con el CAS y, si tiene que esperar, duerme fuera de
+ * cualquier sección crítica (Thread.sleep no bloquea un hilo de plataforma en hilos virtuales).
+ */
+public class TokenBucket {
+
+    private final String name;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final long maxWaitNanos;
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public TokenBucket(String name, int permitsPerSecond, int burst, long maxWaitMillis) {
+        this.name = name;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, permitsPerSecond);
+        this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    /**
+     * Obtiene un permiso, esperando como mucho maxWait; si no es posible lanza
+     * CapacityExceededException sin consumir el permiso.
+     */
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long base = tat - now > 0 ? tat : now;
+            long waitNanos = base - toleranceNanos - now;
+
+            if (waitNanos > maxWaitNanos) {
+                rejected.increment();
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+                throw new CapacityExceededException(
+                        String.format("Límite de tasa de %s excedido", name), true, retryAfterSeconds);
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + intervalNanos)) {
+                if (waitNanos > 0) {
+                    waiting.incrementAndGet();
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(waitNanos);
+                    } finally {
+                        waiting.decrementAndGet();
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPermitsPerSecond() {
+        return TimeUnit.SECONDS.toNanos(1) / (double) intervalNanos;
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,102 @@
+package com.jakartaee.interceptors.metrics;
+
+import com.jakartaee.interceptors.interceptor.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro de latencias por método para el TimingInterceptor.
+ *
+ * La primera llamada a un método resuelve su @Timed, crea su MethodLatency y lo publica
+ * en Micrometer; las siguientes solo hacen una búsqueda en el mapa.
+ */
+@ApplicationScoped
+public class LatencyRegistry {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final Map<Method, MethodLatency> latencies = new ConcurrentHashMap<>();
+
+    public MethodLatency forMethod(Method method) {
+        MethodLatency latency = latencies.get(method);
+        if (latency != null) {
+            return latency;
+        }
+        return latencies.computeIfAbsent(method, this::register);
+    }
+
+    public List<Map<String, Object>> snapshots() {
+        return latencies.values().stream()
+                .sorted(Comparator.comparing(MethodLatency::getClassName)
+                        .thenComparing(MethodLatency::getMethodName))
+                .map(MethodLatency::snapshot)
+                .toList();
+    }
+
+    public void reset() {
+        latencies.values().forEach(MethodLatency::reset);
+    }
+
+    private MethodLatency register(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        Timed timed = method.getAnnotation(Timed.class);
+        if (timed == null) {
+            timed = declaringClass.getAnnotation(Timed.class);
+        }
+        String unit = timed != null ? timed.unit() : "ms";
+        long slowThreshold = timed != null ? timed.slowThreshold() : -1;
+        long slowThresholdNanos = slowThreshold < 0 ? -1 : toTimeUnit(unit).toNanos(slowThreshold);
+
+        MethodLatency latency = new MethodLatency(
+                declaringClass.getSimpleName(), method.getName(), unit, slowThresholdNanos);
+        bindMeters(latency);
+        return latency;
+    }
+
+    private void bindMeters(MethodLatency latency) {
+        Tags tags = Tags.of("class", latency.getClassName(), "method", latency.getMethodName());
+
+        FunctionCounter.builder("interceptors.timed.calls", latency, MethodLatency::getCount)
+                .tags(tags)
+                .description("Invocaciones de métodos @Timed")
+                .register(meterRegistry);
+        FunctionCounter.builder("interceptors.timed.errors", latency, MethodLatency::getErrorCount)
+                .tags(tags)
+                .description("Invocaciones de métodos @Timed que lanzaron excepción")
+                .register(meterRegistry);
+
+        for (double percentile : PERCENTILES) {
+            Gauge.builder("interceptors.timed.latency", latency,
+                            l -> l.getValueAtPercentile(percentile) / 1_000_000_000.0)
+                    .tags(tags.and("quantile", String.valueOf(percentile / 100.0)))
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        Gauge.builder("interceptors.timed.latency.max", latency, l -> l.getMaxValue() / 1_000_000_000.0)
+                .tags(tags)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private static TimeUnit toTimeUnit(String unit) {
+        return switch (unit.toLowerCase()) {
+            case "ns" -> TimeUnit.NANOSECONDS;
+            case "s" -> TimeUnit.SECONDS;
+            default -> TimeUnit.MILLISECONDS;
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.jakartaee.interceptors.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias acumuladas de un método marcado con @Timed.
+ *
+ * Usa un ConcurrentHistogram de HdrHistogram: el registro es wait-free, así que
+ * muchos hilos pueden registrar a la vez sin locks ni contención.
+ */
+public class MethodLatency {
+
+    // 2 dígitos significativos = error relativo máximo del 1% por percentil
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String className;
+    private final String methodName;
+    private final String unit;
+    private final long slowThresholdNanos;
+
+    private final ConcurrentHistogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final LongAdder errorCount = new LongAdder();
+
+    public MethodLatency(String className, String methodName, String unit, long slowThresholdNanos) {
+        this.className = className;
+        this.methodName = methodName;
+        this.unit = unit;
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    public void record(long durationNanos, boolean failed) {
+        histogram.recordValue(durationNanos);
+        if (failed) {
+            errorCount.increment();
+        }
+    }
+
+    public boolean isSlow(long durationNanos) {
+        return slowThresholdNanos >= 0 && durationNanos > slowThresholdNanos;
+    }
+
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    /**
+     * Percentil en nanosegundos leído directamente del histograma vivo (usado por los gauges).
+     */
+    public long getValueAtPercentile(double percentile) {
+        return histogram.getValueAtPercentile(percentile);
+    }
+
+    public long getMaxValue() {
+        return histogram.getMaxValue();
+    }
+
+    public void reset() {
+        histogram.reset();
+        errorCount.reset();
+    }
+
+    /**
+     * Copia consistente del histograma convertida a la unidad configurada en @Timed.
+     */
+    public Map<String, Object> snapshot() {
+        Histogram copy = histogram.copy();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("class", className);
+        stats.put("method", methodName);
+        stats.put("unit", unit);
+        stats.put("count", copy.getTotalCount());
+        stats.put("errors", errorCount.sum());
+        stats.put("p50", convert(copy.getValueAtPercentile(50.0)));
+        stats.put("p90", convert(copy.getValueAtPercentile(90.0)));
+        stats.put("p99", convert(copy.getValueAtPercentile(99.0)));
+        stats.put("p999", convert(copy.getValueAtPercentile(99.9)));
+        stats.put("max", convert(copy.getMaxValue()));
+        stats.put("mean", convert(copy.getMean()));
+        return stats;
+    }
+
+    private double convert(double nanos) {
+        return switch (unit.toLowerCase()) {
+            case "ns" -> nanos;
+            case "s" -> nanos / 1_000_000_000.0;
+            default -> nanos / 1_000_000.0;
+        };
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+}
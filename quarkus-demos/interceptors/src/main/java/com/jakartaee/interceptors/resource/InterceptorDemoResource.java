@@ -1,15 +1,18 @@
 package com.jakartaee.interceptors.resource;
 
 import com.jakartaee.common.entities.Hero;
+import com.jakartaee.interceptors.interceptor.Traced;
 import com.jakartaee.interceptors.service.HeroService;
 import com.jakartaee.interceptors.service.PowerAnalysisService;
 import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Recurso REST que demuestra el uso de interceptores.
@@ -18,6 +21,7 @@ import java.util.Map;
 @Path("/api/interceptors")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@Traced // Cada petición abre la traza raíz
 public class InterceptorDemoResource {
     
     @Inject
@@ -53,6 +57,7 @@ public class InterceptorDemoResource {
     /**
      * Endpoint que demuestra: Logging + Timing + Validación
      * Si se envía un parámetro null, el ValidationInterceptor lanzará una excepción.
+     * Si no se cumplen las restricciones (@Min/@Max), Hibernate Validator lanzará ConstraintViolationException.
      */
     @POST
     @Path("/heroes")
@@ -66,6 +71,13 @@ public class InterceptorDemoResource {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity("Validation error: " + e.getMessage())
                     .build();
+        } catch (ConstraintViolationException e) {
+            String violations = e.getConstraintViolations().stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining(", "));
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Validation error: " + violations)
+                    .build();
         }
     }
     
@@ -111,11 +123,17 @@ public class InterceptorDemoResource {
                         Map.of("name", "@Loggable", "type", "@AroundInvoke", 
                                 "description", "Registra llamadas a métodos con parámetros y retornos"),
                         Map.of("name", "@Timed", "type", "@AroundInvoke", 
-                                "description", "Mide el tiempo de ejecución de métodos"),
+                                "description", "Registra latencias en histogramas HDR por método (p50/p90/p99/p999)"),
                         Map.of("name", "@Validated", "type", "@AroundInvoke", 
                                 "description", "Valida parámetros antes de ejecutar métodos"),
                         Map.of("name", "@Cached", "type", "@AroundInvoke", 
                                 "description", "Cachea resultados de métodos"),
+                        Map.of("name", "@RateLimited", "type", "@AroundInvoke", 
+                                "description", "Limita la tasa de invocaciones (token bucket)"),
+                        Map.of("name", "@Bulkhead", "type", "@AroundInvoke", 
+                                "description", "Limita las ejecuciones concurrentes con cola acotada"),
+                        Map.of("name", "@Traced", "type", "@AroundInvoke", 
+                                "description", "Construye un árbol de spans por petición con muestreo de cabecera y de cola"),
                         Map.of("name", "@Tracked", "type", "@AroundConstruct", 
                                 "description", "Rastrea la creación de objetos"),
                         Map.of("name", "@Monitored", "type", "@PostConstruct/@PreDestroy", 
@@ -0,0 +1,52 @@
+package com.jakartaee.interceptors.resource;
+
+import com.jakartaee.interceptors.limit.LimitRegistry;
+import com.jakartaee.interceptors.metrics.LatencyRegistry;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Recurso REST que expone las métricas recolectadas por los interceptores.
+ * Las mismas métricas se publican en formato Prometheus en /q/metrics.
+ */
+@Path("/api/interceptors/metrics")
+@Produces(MediaType.APPLICATION_JSON)
+public class MetricsResource {
+
+    @Inject
+    LatencyRegistry latencyRegistry;
+
+    @Inject
+    LimitRegistry limitRegistry;
+
+    /**
+     * Percentiles (p50/p90/p99/p999), máximo, número de llamadas y errores por método @Timed.
+     */
+    @GET
+    @Path("/timing")
+    public Response getTimingMetrics() {
+        return Response.ok(latencyRegistry.snapshots()).build();
+    }
+
+    /**
+     * Reinicia los histogramas, útil entre ejecuciones de pruebas de carga.
+     */
+    @DELETE
+    @Path("/timing")
+    public Response resetTimingMetrics() {
+        latencyRegistry.reset();
+        return Response.noContent().build();
+    }
+
+    /**
+     * Estado de los bulkheads (@Bulkhead) y limitadores de tasa (@RateLimited):
+     * llamadas activas, en cola y rechazadas.
+     */
+    @GET
+    @Path("/limits")
+    public Response getLimitMetrics() {
+        return Response.ok(limitRegistry.snapshot()).build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.jakartaee.interceptors.resource;
+
+import com.jakartaee.interceptors.tracing.Tracer;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Recurso REST que expone las trazas recolectadas por el TracingInterceptor.
+ */
+@Path("/api/interceptors/traces")
+@Produces(MediaType.APPLICATION_JSON)
+public class TracingResource {
+
+    @Inject
+    Tracer tracer;
+
+    /**
+     * Trazas conservadas por el muestreo, de la más reciente a la más antigua,
+     * con los spans anidados como árbol.
+     */
+    @GET
+    public Response getTraces() {
+        return Response.ok(tracer.recentTraces()).build();
+    }
+
+    @DELETE
+    public Response clearTraces() {
+        tracer.clear();
+        return Response.noContent().build();
+    }
+}
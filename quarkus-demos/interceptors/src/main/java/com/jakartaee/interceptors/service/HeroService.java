@@ -6,6 +6,10 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +20,7 @@ import java.util.Optional;
 @ApplicationScoped
 @Monitored // Interceptor de lifecycle (@PostConstruct, @PreDestroy)
 @Loggable("INFO") // Interceptor de logging
+@Traced // Interceptor de tracing
 public class HeroService {
     
     @Inject
@@ -43,11 +48,14 @@ public class HeroService {
     
     /**
      * Método con Logging + Timing + Validación
+     * Las restricciones de Bean Validation las valida Hibernate Validator; @Validated omite esos parámetros.
      */
     @Timed(unit = "ms")
     @Validated
     @Transactional
-    public Hero createHero(String name, String power, Integer powerLevel) {
+    public Hero createHero(@NotBlank String name,
+                           @NotBlank String power,
+                           @NotNull @Min(1) @Max(100) Integer powerLevel) {
         Hero hero = new Hero(name, power, powerLevel);
         entityManager.persist(hero);
         entityManager.flush();
@@ -17,6 +17,7 @@ import java.util.Map;
 @Monitored
 @Tracked // Interceptor de constructor
 @Loggable("DEBUG")
+@Traced
 public class PowerAnalysisService {
     
     @Inject
@@ -33,10 +34,14 @@ public class PowerAnalysisService {
     
     /**
      * Método con múltiples interceptores encadenados.
+     * Las llamadas de más de 500 ms se loguean como lentas.
+     * Carga todos los héroes, así que como mucho 2 análisis se ejecutan a la vez
+     * (hasta 8 más esperan 2 s en cola; el resto se rechaza).
      */
-    @Timed(unit = "ms")
+    @Timed(unit = "ms", slowThreshold = 500)
     @Validated
     @Cached(ttl = 60)
+    @Bulkhead(value = 2, maxWaiting = 8, waitingTimeout = 2000)
     public Map<String, Object> analyzePowers() {
         analysisCount++;
         
@@ -61,6 +66,7 @@ public class PowerAnalysisService {
     }
     
     @Timed(unit = "ms")
+    @RateLimited(permitsPerSecond = 20, burst = 40, maxWait = 100)
     public List<String> getPowerTypes() {
         return entityManager.createQuery(
                 "SELECT DISTINCT h.power FROM Hero h", String.class)
@@ -0,0 +1,72 @@
+package com.jakartaee.interceptors.tracing;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Listener de sesión de Hibernate que añade spans "JDBC execute", "JDBC batch" y
+ * "Hibernate flush" a la traza activa, para ver dentro de un método qué tiempo es de base de datos.
+ *
+ * Se registra con hibernate.session.events.auto en application.properties; Hibernate crea
+ * una instancia por sesión, así que los campos no se comparten entre hilos.
+ */
+public class JdbcTracingListener implements SessionEventListener {
+
+    private transient Trace statementTrace;
+    private transient Span statementSpan;
+    private transient Trace flushTrace;
+    private transient Span flushSpan;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startStatement("JDBC execute");
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        endStatement();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startStatement("JDBC batch");
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        endStatement();
+    }
+
+    @Override
+    public void flushStart() {
+        Trace trace = TraceContext.current();
+        if (trace != null && trace.isRecording()) {
+            flushTrace = trace;
+            flushSpan = trace.startSpan("Hibernate flush");
+        }
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        if (flushSpan != null) {
+            flushTrace.endSpan(flushSpan, null);
+            flushTrace = null;
+            flushSpan = null;
+        }
+    }
+
+    private void startStatement(String name) {
+        Trace trace = TraceContext.current();
+        if (trace != null && trace.isRecording()) {
+            statementTrace = trace;
+            statementSpan = trace.startSpan(name);
+        }
+    }
+
+    private void endStatement() {
+        if (statementSpan != null) {
+            statementTrace.endSpan(statementSpan, null);
+            statementTrace = null;
+            statementSpan = null;
+        }
+    }
+}
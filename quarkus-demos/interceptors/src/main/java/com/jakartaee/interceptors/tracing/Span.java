@@ -0,0 +1,30 @@
+package com.jakartaee.interceptors.tracing;
+
+/**
+ * Un tramo (span) dentro de una traza: una invocación interceptada o una sentencia JDBC.
+ * Los tiempos se guardan en System.nanoTime(); la conversión a epoch se hace al exportar.
+ */
+public final class Span {
+
+    final long spanId;
+    final Span parent;
+    final String name;
+    final long startNanos;
+    long endNanos;
+    String error;
+
+    Span(long spanId, Span parent, String name, long startNanos) {
+        this.spanId = spanId;
+        this.parent = parent;
+        this.name = name;
+        this.startNanos = startNanos;
+    }
+
+    long parentSpanId() {
+        return parent != null ? parent.spanId : 0L;
+    }
+
+    long durationNanos() {
+        return endNanos - startNanos;
+    }
+}
@@ -0,0 +1,121 @@
+package com.jakartaee.interceptors.tracing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Árbol de spans de una petición. Vive en un único hilo (ver TraceContext), así que no
+ * necesita sincronización: los spans se añaden a una lista plana y el span activo se
+ * sigue con un puntero al padre, sin pilas ni mapas por llamada.
+ */
+public final class Trace {
+
+    /**
+     * Marcador para peticiones descartadas por el muestreo de cabecera: las llamadas
+     * anidadas lo ven en el contexto y no crean ni spans ni trazas nuevas.
+     */
+    static final Trace UNSAMPLED = new Trace(0L, 0L, 0L, false);
+
+    private final long traceIdHigh;
+    private final long traceIdLow;
+    private final long epochStartNanos;
+    private final long startNanos;
+    private final boolean headSampled;
+
+    private final List<Span> spans = new ArrayList<>(8);
+    private Span current;
+    private boolean error;
+
+    Trace(long traceIdHigh, long traceIdLow, long epochStartNanos, boolean headSampled) {
+        this.traceIdHigh = traceIdHigh;
+        this.traceIdLow = traceIdLow;
+        this.epochStartNanos = epochStartNanos;
+        this.startNanos = System.nanoTime();
+        this.headSampled = headSampled;
+    }
+
+    public boolean isRecording() {
+        return this != UNSAMPLED;
+    }
+
+    public Span startSpan(String name) {
+        Span span = new Span(ThreadLocalRandom.current().nextLong() | 1L, current, name, System.nanoTime());
+        spans.add(span);
+        current = span;
+        return span;
+    }
+
+    public void endSpan(Span span, Throwable failure) {
+        span.endNanos = System.nanoTime();
+        if (failure != null) {
+            span.error = failure.getClass().getSimpleName();
+            error = true;
+        }
+        current = span.parent;
+    }
+
+    boolean isHeadSampled() {
+        return headSampled;
+    }
+
+    boolean hasError() {
+        return error;
+    }
+
+    long durationNanos() {
+        return spans.isEmpty() ? 0L : spans.get(0).durationNanos();
+    }
+
+    List<Span> spans() {
+        return spans;
+    }
+
+    String traceId() {
+        return String.format("%016x%016x", traceIdHigh, traceIdLow);
+    }
+
+    long toEpochNanos(long nanoTime) {
+        return epochStartNanos + (nanoTime - startNanos);
+    }
+
+    /**
+     * Representación en árbol (spans anidados en "children") para el endpoint REST.
+     */
+    Map<String, Object> toTree() {
+        Map<Long, Map<String, Object>> nodes = new HashMap<>();
+        Map<String, Object> root = null;
+        for (Span span : spans) {
+            Map<String, Object> node = new LinkedHashMap<>();
+            node.put("name", span.name);
+            node.put("offsetMs", (span.startNanos - startNanos) / 1_000_000.0);
+            node.put("durationMs", span.durationNanos() / 1_000_000.0);
+            if (span.error != null) {
+                node.put("error", span.error);
+            }
+            node.put("children", new ArrayList<Map<String, Object>>());
+            nodes.put(span.spanId, node);
+
+            Map<String, Object> parentNode = span.parent != null ? nodes.get(span.parent.spanId) : null;
+            if (parentNode == null) {
+                root = node;
+            } else {
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> children = (List<Map<String, Object>>) parentNode.get("children");
+                children.add(node);
+            }
+        }
+
+        Map<String, Object> tree = new LinkedHashMap<>();
+        tree.put("traceId", traceId());
+        tree.put("durationMs", durationNanos() / 1_000_000.0);
+        tree.put("sampling", headSampled ? "head" : "tail");
+        tree.put("error", error);
+        tree.put("spanCount", spans.size());
+        tree.put("root", root);
+        return tree;
+    }
+}
@@ -0,0 +1,25 @@
+package com.jakartaee.interceptors.tracing;
+
+/**
+ * Traza activa del hilo actual. Es estático para que componentes que no son beans CDI
+ * (como JdbcTracingListener, instanciado por Hibernate) puedan colgar spans de la traza.
+ */
+public final class TraceContext {
+
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+
+    private TraceContext() {
+    }
+
+    public static Trace current() {
+        return CURRENT.get();
+    }
+
+    public static void set(Trace trace) {
+        CURRENT.set(trace);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,105 @@
+package com.jakartaee.interceptors.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Exporta trazas a un fichero en formato OTLP/JSON (una línea ExportTraceServiceRequest
+ * por traza), compatible con el file exporter del OpenTelemetry Collector.
+ *
+ * La serialización y la escritura se hacen en un hilo virtual dedicado, fuera del hilo
+ * de la petición.
+ */
+class TraceExporter implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(TraceExporter.class.getName());
+
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int STATUS_CODE_ERROR = 2;
+
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+    private final String serviceName;
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("trace-exporter").factory());
+
+    TraceExporter(Path file, String serviceName, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.serviceName = serviceName;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    void export(Trace trace) {
+        try {
+            executor.execute(() -> write(trace));
+        } catch (RejectedExecutionException e) {
+            // El exportador se está cerrando; la traza sigue disponible en memoria
+        }
+    }
+
+    private void write(Trace trace) {
+        try {
+            writer.write(objectMapper.writeValueAsString(toOtlp(trace)));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "No se pudo exportar la traza " + trace.traceId(), e);
+        }
+    }
+
+    private Map<String, Object> toOtlp(Trace trace) {
+        String traceId = trace.traceId();
+        List<Map<String, Object>> spans = new ArrayList<>(trace.spans().size());
+        for (Span span : trace.spans()) {
+            Map<String, Object> otlpSpan = new LinkedHashMap<>();
+            otlpSpan.put("traceId", traceId);
+            otlpSpan.put("spanId", String.format("%016x", span.spanId));
+            if (span.parent != null) {
+                otlpSpan.put("parentSpanId", String.format("%016x", span.parentSpanId()));
+            }
+            otlpSpan.put("name", span.name);
+            otlpSpan.put("kind", SPAN_KIND_INTERNAL);
+            otlpSpan.put("startTimeUnixNano", String.valueOf(trace.toEpochNanos(span.startNanos)));
+            otlpSpan.put("endTimeUnixNano", String.valueOf(trace.toEpochNanos(span.endNanos)));
+            if (span.error != null) {
+                otlpSpan.put("status", Map.of("code", STATUS_CODE_ERROR, "message", span.error));
+            }
+            spans.add(otlpSpan);
+        }
+
+        Map<String, Object> resource = Map.of("attributes", List.of(
+                Map.of("key", "service.name", "value", Map.of("stringValue", serviceName))));
+        Map<String, Object> scopeSpans = Map.of(
+                "scope", Map.of("name", "com.jakartaee.interceptors.tracing"),
+                "spans", spans);
+        return Map.of("resourceSpans", List.of(Map.of(
+                "resource", resource,
+                "scopeSpans", List.of(scopeSpans))));
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Error cerrando el fichero de trazas", e);
+        }
+    }
+}
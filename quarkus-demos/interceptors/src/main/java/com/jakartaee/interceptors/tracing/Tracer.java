@@ -0,0 +1,164 @@
+package com.jakartaee.interceptors.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decide qué peticiones se trazan y recolecta las trazas terminadas.
+ *
+ * Muestreo de cabecera (al empezar la petición): probabilidad head-sample-rate, limitada
+ * además a max-traces-per-second para que bajo carga la tasa efectiva baje sola.
+ * Muestreo de cola (al terminar): si está activo, las peticiones no muestreadas se graban
+ * igualmente y se conservan solo si fallaron o superaron slow-threshold-ms.
+ *
+ * Las trazas conservadas quedan en un buffer circular en memoria y, opcionalmente,
+ * se exportan a un fichero OTLP/JSON.
+ */
+@ApplicationScoped
+public class Tracer {
+
+    private static final Logger logger = Logger.getLogger(Tracer.class.getName());
+
+    @ConfigProperty(name = "interceptors.tracing.head-sample-rate", defaultValue = "0.1")
+    double headSampleRate;
+
+    @ConfigProperty(name = "interceptors.tracing.max-traces-per-second", defaultValue = "50")
+    int maxTracesPerSecond;
+
+    @ConfigProperty(name = "interceptors.tracing.tail.enabled", defaultValue = "true")
+    boolean tailSamplingEnabled;
+
+    @ConfigProperty(name = "interceptors.tracing.tail.slow-threshold-ms", defaultValue = "200")
+    long slowThresholdMs;
+
+    @ConfigProperty(name = "interceptors.tracing.buffer-size", defaultValue = "100")
+    int bufferSize;
+
+    @ConfigProperty(name = "interceptors.tracing.export-file")
+    Optional<String> exportFile;
+
+    @ConfigProperty(name = "quarkus.application.name", defaultValue = "interceptors-demo")
+    String serviceName;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private final Map<Method, String> spanNames = new ConcurrentHashMap<>();
+    private final AtomicLong budgetWindow = new AtomicLong();
+    private final AtomicInteger budgetUsed = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+
+    private long slowThresholdNanos;
+    private AtomicReferenceArray<Trace> buffer;
+    private TraceExporter exporter;
+
+    @PostConstruct
+    void init() {
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        buffer = new AtomicReferenceArray<>(bufferSize);
+        if (exportFile.isPresent()) {
+            try {
+                exporter = new TraceExporter(Path.of(exportFile.get()), serviceName, objectMapper);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "No se pudo abrir el fichero de trazas " + exportFile.get(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (exporter != null) {
+            exporter.close();
+        }
+    }
+
+    /**
+     * Comienza una traza para una petición nueva, o devuelve Trace.UNSAMPLED si no se graba.
+     */
+    public Trace beginTrace() {
+        boolean headSampled = ThreadLocalRandom.current().nextDouble() < headSampleRate && withinBudget();
+        if (!headSampled && !tailSamplingEnabled) {
+            return Trace.UNSAMPLED;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Instant now = Instant.now();
+        long epochNanos = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        return new Trace(random.nextLong(), random.nextLong() | 1L, epochNanos, headSampled);
+    }
+
+    /**
+     * Aplica el muestreo de cola a una traza terminada y la conserva si corresponde.
+     */
+    public void complete(Trace trace) {
+        boolean keep = trace.isHeadSampled()
+                || trace.hasError()
+                || trace.durationNanos() >= slowThresholdNanos;
+        if (!keep) {
+            return;
+        }
+        buffer.set((int) (completed.getAndIncrement() % bufferSize), trace);
+        if (exporter != null) {
+            exporter.export(trace);
+        }
+    }
+
+    public String spanName(Method method) {
+        String name = spanNames.get(method);
+        if (name != null) {
+            return name;
+        }
+        return spanNames.computeIfAbsent(method,
+                m -> m.getDeclaringClass().getSimpleName() + "." + m.getName());
+    }
+
+    /**
+     * Trazas conservadas, de la más reciente a la más antigua.
+     */
+    public List<Map<String, Object>> recentTraces() {
+        List<Map<String, Object>> traces = new ArrayList<>();
+        long last = completed.get();
+        for (long i = last - 1; i >= Math.max(0, last - bufferSize); i--) {
+            Trace trace = buffer.get((int) (i % bufferSize));
+            if (trace != null) {
+                traces.add(trace.toTree());
+            }
+        }
+        return traces;
+    }
+
+    public void clear() {
+        for (int i = 0; i < bufferSize; i++) {
+            buffer.set(i, null);
+        }
+    }
+
+    private boolean withinBudget() {
+        long second = System.nanoTime() / 1_000_000_000L;
+        long window = budgetWindow.get();
+        if (window != second && budgetWindow.compareAndSet(window, second)) {
+            budgetUsed.set(0);
+        }
+        return budgetUsed.incrementAndGet() <= maxTracesPerSecond;
+    }
+}
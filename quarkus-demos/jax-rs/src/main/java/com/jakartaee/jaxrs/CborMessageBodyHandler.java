@@ -0,0 +1,76 @@
+package com.jakartaee.jaxrs;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * MessageBodyReader/Writer para CBOR (application/cbor, RFC 8949).
+ *
+ * Los clientes internos que envían Accept o Content-Type application/cbor intercambian los
+ * HeroDTO/VillainDTO en binario: el mismo modelo de datos que el JSON de Jackson, sin
+ * texto que escapar ni números que formatear. El resto de clientes siguen con JSON.
+ */
+@Provider
+@Produces(CborMessageBodyHandler.APPLICATION_CBOR)
+@Consumes(CborMessageBodyHandler.APPLICATION_CBOR)
+public class CborMessageBodyHandler implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    // Thread-safe; mismas reglas que el ObjectMapper JSON de Quarkus para propiedades desconocidas.
+    // El contenedor es quien abre y cierra los streams de la petición y la respuesta.
+    private static final CBORMapper MAPPER = CBORMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return supports(type);
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        try {
+            return MAPPER.readValue(entityStream, MAPPER.constructType(genericType));
+        } catch (JacksonException e) {
+            throw new BadRequestException(e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return supports(type);
+    }
+
+    @Override
+    public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        MAPPER.writeValue(entityStream, value);
+    }
+
+    private static boolean supports(Class<?> type) {
+        return !StreamingOutput.class.isAssignableFrom(type)
+                && !InputStream.class.isAssignableFrom(type)
+                && type != byte[].class;
+    }
+}
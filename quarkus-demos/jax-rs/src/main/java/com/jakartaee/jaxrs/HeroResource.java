@@ -12,10 +12,12 @@ import java.util.concurrent.atomic.AtomicLong;
 /**
  * Recurso REST para gestionar Heroes de DC Comics.
  * Demuestra el uso de Jakarta RESTful Web Services (JAX-RS).
+ *
+ * Habla JSON por defecto y CBOR (application/cbor) con los clientes que lo negocian.
  */
 @Path("/api/heroes")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyHandler.APPLICATION_CBOR})
+@Consumes({MediaType.APPLICATION_JSON, CborMessageBodyHandler.APPLICATION_CBOR})
 public class HeroResource {
     
     // Almacenamiento en memoria (en producción usaría JPA)
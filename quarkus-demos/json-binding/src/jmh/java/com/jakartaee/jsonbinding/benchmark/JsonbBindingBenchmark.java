@@ -0,0 +1,162 @@
+package com.jakartaee.jsonbinding.benchmark;
+
+import com.jakartaee.jsonbinding.model.HeroWithCustomAdapter;
+import com.jakartaee.jsonbinding.model.HeroWithCustomAdapter_JsonbDeserializer;
+import com.jakartaee.jsonbinding.model.HeroWithCustomAdapter_JsonbSerializer;
+import com.jakartaee.jsonbinding.model.Location;
+import com.jakartaee.jsonbinding.model.Location_Coordinates_JsonbDeserializer;
+import com.jakartaee.jsonbinding.model.Location_Coordinates_JsonbSerializer;
+import com.jakartaee.jsonbinding.model.Location_JsonbDeserializer;
+import com.jakartaee.jsonbinding.model.Location_JsonbSerializer;
+import com.jakartaee.jsonbinding.model.Team;
+import com.jakartaee.jsonbinding.model.TeamMember;
+import com.jakartaee.jsonbinding.model.TeamMember_JsonbDeserializer;
+import com.jakartaee.jsonbinding.model.TeamMember_JsonbSerializer;
+import com.jakartaee.jsonbinding.model.Team_JsonbDeserializer;
+import com.jakartaee.jsonbinding.model.Team_JsonbSerializer;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización de Team y HeroWithCustomAdapter por la ruta reflexiva de JSON-B frente a
+ * los serializadores generados por @GenerateJsonbBinding.
+ *
+ * Los benchmarks *Steady miden el coste por llamada con la instancia Jsonb ya caliente;
+ * firstUse mide crear una instancia y hacer la primera serialización, que es donde JSON-B
+ * recorre las clases por reflexión (el coste que se paga al arrancar).
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonbBindingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Bindings {
+
+        @Param({"reflective", "generated"})
+        String binding;
+
+        Jsonb jsonb;
+        Team team;
+        String teamJson;
+        HeroWithCustomAdapter hero;
+        String heroJson;
+
+        @Setup
+        public void setUp() {
+            jsonb = create(binding);
+            team = sampleTeam();
+            teamJson = jsonb.toJson(team);
+            hero = new HeroWithCustomAdapter("Superman", "Super fuerza", 95);
+            heroJson = jsonb.toJson(hero);
+        }
+
+        @TearDown
+        public void tearDown() throws Exception {
+            jsonb.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FreshInstance {
+
+        @Param({"reflective", "generated"})
+        String binding;
+
+        Team team;
+        Jsonb jsonb;
+
+        @Setup(Level.Trial)
+        public void setUpTeam() {
+            team = sampleTeam();
+        }
+
+        @TearDown(Level.Invocation)
+        public void close() throws Exception {
+            if (jsonb != null) {
+                jsonb.close();
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public String serializeTeamSteady(Bindings state) {
+        return state.jsonb.toJson(state.team);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public Team deserializeTeamSteady(Bindings state) {
+        return state.jsonb.fromJson(state.teamJson, Team.class);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public String serializeHeroSteady(Bindings state) {
+        return state.jsonb.toJson(state.hero);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public HeroWithCustomAdapter deserializeHeroSteady(Bindings state) {
+        return state.jsonb.fromJson(state.heroJson, HeroWithCustomAdapter.class);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 50, batchSize = 1)
+    public String firstUse(FreshInstance state) {
+        state.jsonb = create(state.binding);
+        return state.jsonb.toJson(state.team);
+    }
+
+    private static Jsonb create(String binding) {
+        if ("reflective".equals(binding)) {
+            return JsonbBuilder.create();
+        }
+        return JsonbBuilder.create(new JsonbConfig()
+                .withSerializers(new Team_JsonbSerializer(), new TeamMember_JsonbSerializer(),
+                        new Location_JsonbSerializer(), new Location_Coordinates_JsonbSerializer(),
+                        new HeroWithCustomAdapter_JsonbSerializer())
+                .withDeserializers(new Team_JsonbDeserializer(), new TeamMember_JsonbDeserializer(),
+                        new Location_JsonbDeserializer(), new Location_Coordinates_JsonbDeserializer(),
+                        new HeroWithCustomAdapter_JsonbDeserializer()));
+    }
+
+    private static Team sampleTeam() {
+        Team team = new Team("Justice League", "Los héroes más poderosos de la Tierra");
+        team.setId(1L);
+        team.setFormationDate(LocalDate.of(1960, 3, 1));
+        Location headquarters = new Location("Washington D.C.", "USA");
+        headquarters.setCoordinates(new Location.Coordinates(38.9072, -77.0369));
+        team.setHeadquarters(headquarters);
+        for (int i = 0; i < 7; i++) {
+            TeamMember member = new TeamMember("Hero " + i, 80 + i, i == 0 ? "Leader" : "Member");
+            member.addSpecialAbility("Ability " + i);
+            team.addMember(member);
+        }
+        return team;
+    }
+}
@@ -1,50 +1,80 @@
 package com.jakartaee.jsonbinding.adapter;
 
 import jakarta.json.bind.adapter.JsonbAdapter;
+import jakarta.json.bind.annotation.JsonbCreator;
+import jakarta.json.bind.annotation.JsonbProperty;
 
 /**
  * Custom Adapter para convertir PowerLevel entre diferentes representaciones.
  * Demuestra cómo crear adapters personalizados en JSON-Binding.
+ *
+ * Los niveles válidos (1-100) se resuelven contra una tabla de DTOs inmutables construida
+ * una sola vez, así que serializar héroes no crea ningún objeto por elemento.
  */
 public class PowerLevelAdapter implements JsonbAdapter<Integer, PowerLevelAdapter.PowerLevelDTO> {
-    
+
+    static final int MIN_LEVEL = 1;
+    static final int MAX_LEVEL = 100;
+
+    private static final PowerLevelDTO[] LEVELS = new PowerLevelDTO[MAX_LEVEL + 1];
+
+    static {
+        for (int level = MIN_LEVEL; level <= MAX_LEVEL; level++) {
+            LEVELS[level] = describe(level);
+        }
+    }
+
     @Override
     public PowerLevelDTO adaptToJson(Integer powerLevel) throws Exception {
-        PowerLevelDTO dto = new PowerLevelDTO();
-        dto.value = powerLevel;
-        dto.category = categorizePowerLevel(powerLevel);
-        dto.description = getPowerDescription(powerLevel);
-        return dto;
+        int level = powerLevel;
+        if (level >= MIN_LEVEL && level <= MAX_LEVEL) {
+            return LEVELS[level];
+        }
+        // Fuera de rango no hay entrada en la tabla: se calcula como antes
+        return describe(level);
     }
-    
+
     @Override
     public Integer adaptFromJson(PowerLevelDTO dto) throws Exception {
         return dto.value;
     }
-    
-    private String categorizePowerLevel(Integer powerLevel) {
+
+    private static PowerLevelDTO describe(int powerLevel) {
+        return new PowerLevelDTO(powerLevel, categorizePowerLevel(powerLevel), getPowerDescription(powerLevel));
+    }
+
+    private static String categorizePowerLevel(int powerLevel) {
         if (powerLevel >= 90) return "LEGENDARY";
         if (powerLevel >= 80) return "VERY_HIGH";
         if (powerLevel >= 70) return "HIGH";
         if (powerLevel >= 60) return "MEDIUM";
         return "LOW";
     }
-    
-    private String getPowerDescription(Integer powerLevel) {
+
+    private static String getPowerDescription(int powerLevel) {
         if (powerLevel >= 90) return "Legendary hero with cosmic powers";
         if (powerLevel >= 80) return "Very powerful hero";
         if (powerLevel >= 70) return "Powerful hero";
         if (powerLevel >= 60) return "Moderately powerful hero";
         return "Standard hero";
     }
-    
+
     /**
-     * DTO interno para la representación JSON del nivel de poder.
+     * DTO interno para la representación JSON del nivel de poder. Es inmutable porque las
+     * instancias de la tabla se comparten entre hilos y serializaciones.
      */
     public static class PowerLevelDTO {
-        public Integer value;
-        public String category;
-        public String description;
+        public final Integer value;
+        public final String category;
+        public final String description;
+
+        @JsonbCreator
+        public PowerLevelDTO(@JsonbProperty("value") Integer value,
+                             @JsonbProperty("category") String category,
+                             @JsonbProperty("description") String description) {
+            this.value = value;
+            this.category = category;
+            this.description = description;
+        }
     }
 }
-
@@ -0,0 +1,85 @@
+package com.jakartaee.jsonbinding.cbor;
+
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.jakartaee.jsonbinding.service.JsonbPool;
+import jakarta.inject.Inject;
+import jakarta.json.JsonException;
+import jakarta.json.bind.JsonbException;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.yasson.YassonJsonb;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Lee y escribe entidades JSON-B en CBOR (application/cbor) para las llamadas entre
+ * servicios que lo negocian con Accept/Content-Type.
+ *
+ * La conversión la hace el mismo Jsonb de JsonbPool que sirve el JSON, a través de
+ * CborJsonGenerator y CborJsonParser: los nombres de propiedad (team_id, hero_name...), los
+ * formatos de fecha, los adapters y los serializadores generados son los mismos; solo cambia
+ * la codificación, que es binaria y no necesita escapar ni formatear números como texto.
+ */
+@Provider
+@Produces(CborBodyHandler.APPLICATION_CBOR)
+@Consumes(CborBodyHandler.APPLICATION_CBOR)
+public class CborBodyHandler implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    // El stream de la respuesta lo cierra el contenedor, no el generador
+    private static final CBORFactory CBOR = CBORFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    @Inject
+    JsonbPool jsonbPool;
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return supports(type);
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        YassonJsonb jsonb = (YassonJsonb) jsonbPool.get();
+        try (CborJsonParser parser = new CborJsonParser(CBOR.createParser(entityStream))) {
+            return jsonb.fromJson(parser, genericType);
+        } catch (JsonbException | JsonException e) {
+            throw new BadRequestException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return supports(type);
+    }
+
+    @Override
+    public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        YassonJsonb jsonb = (YassonJsonb) jsonbPool.get();
+        try (CborJsonGenerator generator = new CborJsonGenerator(CBOR.createGenerator(entityStream))) {
+            jsonb.toJson(value, generator);
+        }
+    }
+
+    private static boolean supports(Class<?> type) {
+        return !StreamingOutput.class.isAssignableFrom(type)
+                && !InputStream.class.isAssignableFrom(type)
+                && type != byte[].class;
+    }
+}
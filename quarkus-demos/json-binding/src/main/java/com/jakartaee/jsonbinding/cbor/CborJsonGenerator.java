@@ -0,0 +1,269 @@
+package com.jakartaee.jsonbinding.cbor;
+
+import jakarta.json.JsonException;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonGenerationException;
+import jakarta.json.stream.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * JsonGenerator de JSON-P que escribe CBOR (RFC 8949) con el generador binario de Jackson.
+ *
+ * JSON-B solo sabe escribir sobre un JsonGenerator, así que este adaptador permite que
+ * Yasson, con los mismos nombres de propiedad, adapters y serializadores generados, produzca
+ * CBOR directamente en lugar de texto JSON.
+ */
+public class CborJsonGenerator implements JsonGenerator {
+
+    private final com.fasterxml.jackson.core.JsonGenerator cbor;
+
+    public CborJsonGenerator(com.fasterxml.jackson.core.JsonGenerator cbor) {
+        this.cbor = cbor;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject() {
+        try {
+            cbor.writeStartObject();
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject(String name) {
+        return writeKey(name).writeStartObject();
+    }
+
+    @Override
+    public JsonGenerator writeKey(String name) {
+        try {
+            cbor.writeFieldName(name);
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray() {
+        try {
+            cbor.writeStartArray();
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray(String name) {
+        return writeKey(name).writeStartArray();
+    }
+
+    @Override
+    public JsonGenerator write(String name, JsonValue value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, String value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigInteger value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigDecimal value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, int value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, long value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, double value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, boolean value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator writeNull(String name) {
+        return writeKey(name).writeNull();
+    }
+
+    @Override
+    public JsonGenerator writeEnd() {
+        try {
+            if (cbor.getOutputContext().inArray()) {
+                cbor.writeEndArray();
+            } else if (cbor.getOutputContext().inObject()) {
+                cbor.writeEndObject();
+            } else {
+                throw new JsonGenerationException("writeEnd() called outside of an object or array");
+            }
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(JsonValue value) {
+        switch (value.getValueType()) {
+            case OBJECT:
+                writeStartObject();
+                for (Map.Entry<String, JsonValue> entry : value.asJsonObject().entrySet()) {
+                    write(entry.getKey(), entry.getValue());
+                }
+                return writeEnd();
+            case ARRAY:
+                writeStartArray();
+                for (JsonValue element : value.asJsonArray()) {
+                    write(element);
+                }
+                return writeEnd();
+            case STRING:
+                return write(((JsonString) value).getString());
+            case NUMBER:
+                JsonNumber number = (JsonNumber) value;
+                return number.isIntegral() ? write(number.bigIntegerValue()) : write(number.bigDecimalValue());
+            case TRUE:
+                return write(true);
+            case FALSE:
+                return write(false);
+            default:
+                return writeNull();
+        }
+    }
+
+    @Override
+    public JsonGenerator write(String value) {
+        try {
+            cbor.writeString(value);
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(BigDecimal value) {
+        try {
+            cbor.writeNumber(value);
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(BigInteger value) {
+        try {
+            if (value.bitLength() < Long.SIZE) {
+                cbor.writeNumber(value.longValue());
+            } else {
+                cbor.writeNumber(value);
+            }
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(int value) {
+        try {
+            cbor.writeNumber(value);
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(long value) {
+        try {
+            cbor.writeNumber(value);
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(double value) {
+        // Mismo contrato que JSON-P: NaN e infinito no son números JSON
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new NumberFormatException("Invalid JSON number: " + value);
+        }
+        try {
+            cbor.writeNumber(value);
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(boolean value) {
+        try {
+            cbor.writeBoolean(value);
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNull() {
+        try {
+            cbor.writeNull();
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        try {
+            cbor.close();
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            cbor.flush();
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    private static JsonException failure(IOException e) {
+        return new JsonException("I/O error while writing CBOR", e);
+    }
+}
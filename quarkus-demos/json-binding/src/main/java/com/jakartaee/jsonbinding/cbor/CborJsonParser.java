@@ -0,0 +1,277 @@
+package com.jakartaee.jsonbinding.cbor;
+
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonValue;
+import jakarta.json.spi.JsonProvider;
+import jakarta.json.stream.JsonLocation;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParsingException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.NoSuchElementException;
+
+/**
+ * JsonParser de JSON-P que lee CBOR (RFC 8949) con el parser binario de Jackson.
+ *
+ * Es la contraparte de CborJsonGenerator: Yasson deserializa desde este parser igual que
+ * desde texto JSON, recorriendo los eventos sin construir un árbol intermedio. Solo se
+ * admiten los tipos de CBOR que tienen equivalente en JSON; cadenas de bytes y valores
+ * etiquetados desconocidos producen un JsonParsingException.
+ */
+public class CborJsonParser implements JsonParser {
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    private final com.fasterxml.jackson.core.JsonParser cbor;
+    private JsonToken peeked;
+    private boolean finished;
+    private Event current;
+
+    public CborJsonParser(com.fasterxml.jackson.core.JsonParser cbor) {
+        this.cbor = cbor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (peeked == null && !finished) {
+            try {
+                peeked = cbor.nextToken();
+            } catch (IOException e) {
+                throw failure(e);
+            }
+            finished = peeked == null;
+        }
+        return peeked != null;
+    }
+
+    @Override
+    public Event next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more CBOR data");
+        }
+        JsonToken token = peeked;
+        peeked = null;
+        current = toEvent(token);
+        return current;
+    }
+
+    @Override
+    public Event currentEvent() {
+        return current;
+    }
+
+    @Override
+    public String getString() {
+        try {
+            switch (requireCurrent()) {
+                case KEY_NAME:
+                    return cbor.currentName();
+                case VALUE_STRING:
+                case VALUE_NUMBER:
+                    return cbor.getText();
+                default:
+                    throw new IllegalStateException("getString() not allowed at " + current);
+            }
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    public boolean isIntegralNumber() {
+        requireNumber();
+        return cbor.currentToken() == JsonToken.VALUE_NUMBER_INT;
+    }
+
+    @Override
+    public int getInt() {
+        requireNumber();
+        try {
+            return cbor.currentToken() == JsonToken.VALUE_NUMBER_INT
+                    ? cbor.getIntValue()
+                    : cbor.getDecimalValue().intValue();
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    public long getLong() {
+        requireNumber();
+        try {
+            return cbor.currentToken() == JsonToken.VALUE_NUMBER_INT
+                    ? cbor.getLongValue()
+                    : cbor.getDecimalValue().longValue();
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal() {
+        requireNumber();
+        try {
+            return cbor.getDecimalValue();
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    public JsonLocation getLocation() {
+        long offset = cbor.currentLocation().getByteOffset();
+        return new JsonLocation() {
+            @Override
+            public long getLineNumber() {
+                return -1;
+            }
+
+            @Override
+            public long getColumnNumber() {
+                return -1;
+            }
+
+            @Override
+            public long getStreamOffset() {
+                return offset;
+            }
+        };
+    }
+
+    @Override
+    public JsonValue getValue() {
+        switch (requireCurrent()) {
+            case START_OBJECT:
+                return getObject();
+            case START_ARRAY:
+                return getArray();
+            case KEY_NAME:
+            case VALUE_STRING:
+                return PROVIDER.createValue(getString());
+            case VALUE_NUMBER:
+                return PROVIDER.createValue(getBigDecimal());
+            case VALUE_TRUE:
+                return JsonValue.TRUE;
+            case VALUE_FALSE:
+                return JsonValue.FALSE;
+            case VALUE_NULL:
+                return JsonValue.NULL;
+            default:
+                throw new IllegalStateException("getValue() not allowed at " + current);
+        }
+    }
+
+    @Override
+    public JsonObject getObject() {
+        if (current != Event.START_OBJECT) {
+            throw new IllegalStateException("getObject() not allowed at " + current);
+        }
+        JsonObjectBuilder builder = PROVIDER.createObjectBuilder();
+        while (next() != Event.END_OBJECT) {
+            String key = getString();
+            next();
+            builder.add(key, getValue());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public JsonArray getArray() {
+        if (current != Event.START_ARRAY) {
+            throw new IllegalStateException("getArray() not allowed at " + current);
+        }
+        JsonArrayBuilder builder = PROVIDER.createArrayBuilder();
+        while (next() != Event.END_ARRAY) {
+            builder.add(getValue());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void skipObject() {
+        if (current == Event.START_OBJECT) {
+            skipChildren(Event.END_OBJECT);
+        }
+    }
+
+    @Override
+    public void skipArray() {
+        if (current == Event.START_ARRAY) {
+            skipChildren(Event.END_ARRAY);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            cbor.close();
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    private void skipChildren(Event end) {
+        // Se avanza evento a evento porque hasNext() puede haber leído ya el siguiente token
+        int depth = 1;
+        while (depth > 0) {
+            Event event = next();
+            if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+                depth++;
+            } else if (event == Event.END_OBJECT || event == Event.END_ARRAY) {
+                depth--;
+            }
+        }
+        current = end;
+    }
+
+    private Event requireCurrent() {
+        if (current == null) {
+            throw new IllegalStateException("next() has not been called");
+        }
+        return current;
+    }
+
+    private void requireNumber() {
+        if (current != Event.VALUE_NUMBER) {
+            throw new IllegalStateException("Not a number: " + current);
+        }
+    }
+
+    private Event toEvent(JsonToken token) {
+        switch (token) {
+            case START_OBJECT:
+                return Event.START_OBJECT;
+            case END_OBJECT:
+                return Event.END_OBJECT;
+            case START_ARRAY:
+                return Event.START_ARRAY;
+            case END_ARRAY:
+                return Event.END_ARRAY;
+            case FIELD_NAME:
+                return Event.KEY_NAME;
+            case VALUE_STRING:
+                return Event.VALUE_STRING;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return Event.VALUE_NUMBER;
+            case VALUE_TRUE:
+                return Event.VALUE_TRUE;
+            case VALUE_FALSE:
+                return Event.VALUE_FALSE;
+            case VALUE_NULL:
+                return Event.VALUE_NULL;
+            default:
+                throw new JsonParsingException("Unsupported CBOR data item: " + token, getLocation());
+        }
+    }
+
+    private JsonException failure(IOException e) {
+        return new JsonParsingException("Invalid CBOR: " + e.getMessage(), e, getLocation());
+    }
+}
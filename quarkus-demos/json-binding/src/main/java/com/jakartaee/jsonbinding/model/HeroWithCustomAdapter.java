@@ -1,5 +1,6 @@
 package com.jakartaee.jsonbinding.model;
 
+import com.jakartaee.jsonb.processor.GenerateJsonbBinding;
 import jakarta.json.bind.annotation.JsonbTypeAdapter;
 import com.jakartaee.jsonbinding.adapter.PowerLevelAdapter;
 
@@ -7,6 +8,7 @@ import com.jakartaee.jsonbinding.adapter.PowerLevelAdapter;
  * Modelo Hero que demuestra el uso de Custom Adapters en JSON-Binding.
  * El nivel de poder se serializa como un objeto complejo usando PowerLevelAdapter.
  */
+@GenerateJsonbBinding
 public class HeroWithCustomAdapter {
     
     private String name;
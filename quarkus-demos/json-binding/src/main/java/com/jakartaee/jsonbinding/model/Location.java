@@ -1,10 +1,12 @@
 package com.jakartaee.jsonbinding.model;
 
+import com.jakartaee.jsonb.processor.GenerateJsonbBinding;
 import jakarta.json.bind.annotation.JsonbProperty;
 
 /**
  * Modelo Location que demuestra objetos anidados en JSON-Binding.
  */
+@GenerateJsonbBinding
 public class Location {
     
     @JsonbProperty("city")
@@ -53,6 +55,7 @@ public class Location {
     /**
      * Clase anidada para coordenadas.
      */
+    @GenerateJsonbBinding
     public static class Coordinates {
         private Double latitude;
         private Double longitude;
@@ -1,5 +1,6 @@
 package com.jakartaee.jsonbinding.model;
 
+import com.jakartaee.jsonb.processor.GenerateJsonbBinding;
 import jakarta.json.bind.annotation.JsonbDateFormat;
 import jakarta.json.bind.annotation.JsonbProperty;
 import jakarta.json.bind.annotation.JsonbTransient;
@@ -15,6 +16,7 @@ import java.util.List;
  * - Objetos anidados
  * - Colecciones
  */
+@GenerateJsonbBinding
 public class Team {
     
     @JsonbProperty("team_id")
@@ -1,13 +1,17 @@
 package com.jakartaee.jsonbinding.model;
 
+import com.jakartaee.jsonb.processor.GenerateJsonbBinding;
 import jakarta.json.bind.annotation.JsonbProperty;
 import jakarta.json.bind.annotation.JsonbPropertyOrder;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Modelo TeamMember que demuestra:
  * - @JsonbProperty para renombrar campos
  * - @JsonbPropertyOrder para ordenar campos en JSON
  */
+@GenerateJsonbBinding
 @JsonbPropertyOrder({"role", "hero_name", "power_level"})
 public class TeamMember {
     
@@ -20,7 +24,7 @@ public class TeamMember {
     private String role;
     
     @JsonbProperty("special_abilities")
-    private List<String> specialAbilities = new java.util.ArrayList<>();
+    private List<String> specialAbilities = new ArrayList<>();
     
     // Constructors
     public TeamMember() {
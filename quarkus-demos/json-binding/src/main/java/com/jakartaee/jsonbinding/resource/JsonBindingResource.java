@@ -1,11 +1,13 @@
 package com.jakartaee.jsonbinding.resource;
 
+import com.jakartaee.jsonbinding.cbor.CborBodyHandler;
 import com.jakartaee.jsonbinding.model.*;
 import com.jakartaee.jsonbinding.service.JsonBindingService;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.util.List;
 
 /**
@@ -27,6 +29,7 @@ public class JsonBindingResource {
      */
     @GET
     @Path("/team/example")
+    @Produces({MediaType.APPLICATION_JSON, CborBodyHandler.APPLICATION_CBOR})
     public Response getExampleTeam() {
         Team team = jsonBindingService.createExampleTeam();
         return Response.ok(team).build();
@@ -38,11 +41,30 @@ public class JsonBindingResource {
      */
     @GET
     @Path("/teams/example")
+    @Produces({MediaType.APPLICATION_JSON, CborBodyHandler.APPLICATION_CBOR})
     public Response getExampleTeams() {
         List<Team> teams = jsonBindingService.createExampleTeams();
         return Response.ok(teams).build();
     }
     
+    /**
+     * Exporta count teams generados como un array JSON en streaming: cada team se escribe
+     * en la respuesta en cuanto se produce, con memoria constante.
+     * GET /api/json-binding/teams/export?count=1000000
+     */
+    @GET
+    @Path("/teams/export")
+    public Response exportTeams(@QueryParam("count") @DefaultValue("1000") long count) {
+        if (count < 0) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(java.util.Map.of("error", "'count' must not be negative"))
+                    .build();
+        }
+        StreamingOutput body = output ->
+                jsonBindingService.writeTeams(jsonBindingService.generateTeams(count), output);
+        return Response.ok(body).build();
+    }
+    
     /**
      * Crea un team desde JSON.
      * Demuestra deserialización automática por Quarkus REST.
@@ -50,6 +72,8 @@ public class JsonBindingResource {
      */
     @POST
     @Path("/team")
+    @Consumes({MediaType.APPLICATION_JSON, CborBodyHandler.APPLICATION_CBOR})
+    @Produces({MediaType.APPLICATION_JSON, CborBodyHandler.APPLICATION_CBOR})
     public Response createTeam(Team team) {
         // El team ya está deserializado automáticamente
         String json = jsonBindingService.serializeTeam(team);
@@ -105,6 +129,7 @@ public class JsonBindingResource {
      */
     @GET
     @Path("/hero/adapter-example")
+    @Produces({MediaType.APPLICATION_JSON, CborBodyHandler.APPLICATION_CBOR})
     public Response getHeroWithAdapter() {
         HeroWithCustomAdapter hero = jsonBindingService.createHeroWithAdapter();
         return Response.ok(hero).build();
@@ -1,14 +1,30 @@
 package com.jakartaee.jsonbinding.service;
 
 import com.jakartaee.jsonbinding.model.*;
+import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.json.bind.Jsonb;
-import jakarta.json.bind.JsonbBuilder;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.json.Json;
+import jakarta.json.JsonException;
 import jakarta.json.bind.JsonbConfig;
 import jakarta.json.bind.config.PropertyOrderStrategy;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+import org.eclipse.yasson.YassonJsonb;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * Servicio que demuestra diferentes características de JSON-Binding:
@@ -16,37 +32,59 @@ import java.util.List;
  * - Configuración personalizada de Jsonb
  * - Uso de anotaciones (@JsonbProperty, @JsonbTransient, etc.)
  * - Custom adapters
+ *
+ * Las instancias Jsonb se obtienen de JsonbPool: se crean una vez por configuración y se
+ * comparten entre peticiones.
  */
 @ApplicationScoped
 public class JsonBindingService {
     
+    private static final Logger logger = Logger.getLogger(JsonBindingService.class.getName());
+    
+    /**
+     * Configuración personalizada: orden alfabético, nulos incluidos y salida formateada.
+     */
+    static final JsonbConfig CUSTOM_CONFIG = new JsonbConfig()
+            .withPropertyOrderStrategy(PropertyOrderStrategy.LEXICOGRAPHICAL)
+            .withNullValues(true)
+            .withFormatting(true);
+    
+    // Tipo genérico List<Team>, calculado una vez (JSON-B no tiene un TypeToken propio)
+    private static final Type TEAM_LIST = new ArrayList<Team>() {}.getClass().getGenericSuperclass();
+    
+    private static final JsonGeneratorFactory GENERATORS = Json.createGeneratorFactory(Map.of());
+    
+    /**
+     * Cada cuántos teams se vacía el generador hacia la respuesta.
+     */
+    private static final int FLUSH_EVERY = 100;
+    
+    @Inject
+    JsonbPool jsonbPool;
+    
+    void onStart(@Observes StartupEvent event) {
+        jsonbPool.prewarm(CUSTOM_CONFIG);
+    }
+    
     /**
      * Serializa un objeto Team a JSON usando configuración por defecto.
      */
     public String serializeTeam(Team team) {
-        Jsonb jsonb = JsonbBuilder.create();
-        return jsonb.toJson(team);
+        return jsonbPool.get().toJson(team);
     }
     
     /**
      * Deserializa JSON a un objeto Team.
      */
     public Team deserializeTeam(String json) {
-        Jsonb jsonb = JsonbBuilder.create();
-        return jsonb.fromJson(json, Team.class);
+        return jsonbPool.get().fromJson(json, Team.class);
     }
     
     /**
      * Serializa con configuración personalizada (orden alfabético).
      */
     public String serializeWithCustomConfig(Object obj) {
-        JsonbConfig config = new JsonbConfig()
-                .withPropertyOrderStrategy(PropertyOrderStrategy.LEXICOGRAPHICAL)
-                .withNullValues(true)
-                .withFormatting(true);
-        
-        Jsonb jsonb = JsonbBuilder.create(config);
-        return jsonb.toJson(obj);
+        return jsonbPool.get(CUSTOM_CONFIG).toJson(obj);
     }
     
     /**
@@ -124,17 +162,61 @@ public class JsonBindingService {
      * Serializa una lista de teams.
      */
     public String serializeTeams(List<Team> teams) {
-        Jsonb jsonb = JsonbBuilder.create();
-        return jsonb.toJson(teams);
+        return jsonbPool.get().toJson(teams, TEAM_LIST);
+    }
+    
+    /**
+     * Escribe teams en out como un array JSON a medida que el Stream los produce, con un
+     * único JsonGenerator. La memoria no depende del número de teams y los primeros bytes
+     * salen en cuanto se serializa el primero, sin construir antes el String completo como
+     * serializeTeams(). El Stream (y el cursor que tenga detrás) se cierra al terminar.
+     */
+    public void writeTeams(Stream<Team> teams, OutputStream out) {
+        // Yasson puede serializar un objeto sobre un generador ya abierto, en la posición actual
+        YassonJsonb jsonb = (YassonJsonb) jsonbPool.get();
+        long written = 0;
+        try (teams; JsonGenerator generator = GENERATORS.createGenerator(out, StandardCharsets.UTF_8)) {
+            generator.writeStartArray();
+            Iterator<Team> iterator = teams.iterator();
+            while (iterator.hasNext()) {
+                jsonb.toJson(iterator.next(), generator);
+                if (++written == 1 || written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEnd();
+        } catch (JsonException e) {
+            if (!(e.getCause() instanceof IOException)) {
+                throw e;
+            }
+            // Fallo de escritura en la respuesta: el cliente ha cortado la descarga
+            logger.log(Level.FINE, "Exportación de teams interrumpida tras " + written + " teams", e);
+        }
+    }
+    
+    /**
+     * Genera count teams de forma perezosa: cada uno se crea cuando el consumidor lo pide.
+     */
+    public Stream<Team> generateTeams(long count) {
+        return LongStream.rangeClosed(1, count).mapToObj(this::generateTeam);
+    }
+    
+    private Team generateTeam(long id) {
+        Team team = new Team("Team " + id, "Equipo generado número " + id);
+        team.setId(id);
+        team.setFormationDate(LocalDate.of(1960, 1, 1).plusDays(id % 20_000));
+        team.setIsActive(id % 10 != 0);
+        team.setHeadquarters(new Location("Metropolis", "USA"));
+        team.addMember(new TeamMember("Hero " + id + "-1", (int) (50 + id % 50), "Leader"));
+        team.addMember(new TeamMember("Hero " + id + "-2", (int) (40 + id % 40), "Member"));
+        return team;
     }
     
     /**
      * Deserializa una lista de teams.
      */
     public List<Team> deserializeTeams(String json) {
-        Jsonb jsonb = JsonbBuilder.create();
-        jakarta.json.bind.type.Type<List<Team>> listType = new jakarta.json.bind.type.Type<List<Team>>() {};
-        return jsonb.fromJson(json, listType);
+        return jsonbPool.get().fromJson(json, TEAM_LIST);
     }
     
     /**
@@ -153,16 +235,14 @@ public class JsonBindingService {
      * Serializa un héroe con custom adapter.
      */
     public String serializeHeroWithAdapter(HeroWithCustomAdapter hero) {
-        Jsonb jsonb = JsonbBuilder.create();
-        return jsonb.toJson(hero);
+        return jsonbPool.get().toJson(hero);
     }
     
     /**
      * Deserializa un héroe con custom adapter.
      */
     public HeroWithCustomAdapter deserializeHeroWithAdapter(String json) {
-        Jsonb jsonb = JsonbBuilder.create();
-        return jsonb.fromJson(json, HeroWithCustomAdapter.class);
+        return jsonbPool.get().fromJson(json, HeroWithCustomAdapter.class);
     }
 }
 
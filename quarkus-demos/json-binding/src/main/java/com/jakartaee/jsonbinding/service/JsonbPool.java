@@ -0,0 +1,197 @@
+package com.jakartaee.jsonbinding.service;
+
+import com.jakartaee.jsonbinding.model.HeroWithCustomAdapter;
+import com.jakartaee.jsonbinding.model.HeroWithCustomAdapter_JsonbDeserializer;
+import com.jakartaee.jsonbinding.model.HeroWithCustomAdapter_JsonbSerializer;
+import com.jakartaee.jsonbinding.model.Location;
+import com.jakartaee.jsonbinding.model.Location_Coordinates_JsonbDeserializer;
+import com.jakartaee.jsonbinding.model.Location_Coordinates_JsonbSerializer;
+import com.jakartaee.jsonbinding.model.Location_JsonbDeserializer;
+import com.jakartaee.jsonbinding.model.Location_JsonbSerializer;
+import com.jakartaee.jsonbinding.model.Team;
+import com.jakartaee.jsonbinding.model.TeamMember;
+import com.jakartaee.jsonbinding.model.TeamMember_JsonbDeserializer;
+import com.jakartaee.jsonbinding.model.TeamMember_JsonbSerializer;
+import com.jakartaee.jsonbinding.model.Team_JsonbDeserializer;
+import com.jakartaee.jsonbinding.model.Team_JsonbSerializer;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Instancias Jsonb compartidas, una por configuración.
+ *
+ * Jsonb es thread-safe y guarda internamente el modelo de cada clase (propiedades,
+ * anotaciones, adapters, formatos de fecha). Crear una instancia por llamada, como hacía
+ * JsonBindingService, repite toda esa introspección en cada petición y deja la instancia
+ * sin cerrar. Aquí se crea una sola vez por configuración, se precalientan los modelos de
+ * las clases del demo al arrancar y se cierran todas al parar la aplicación.
+ *
+ * La instancia por defecto registra además los serializadores generados en compilación
+ * por @GenerateJsonbBinding, que producen el mismo JSON sin recorrer las clases por
+ * reflexión. Las configuraciones que cambian el formato de salida (nulos, orden) no los
+ * usan y siguen por la ruta reflexiva de JSON-B.
+ */
+@ApplicationScoped
+public class JsonbPool {
+    
+    private static final Logger logger = Logger.getLogger(JsonbPool.class.getName());
+    
+    /**
+     * Tipos del modelo cuyo mapeo se calcula al arrancar y no en la primera petición.
+     */
+    static final List<Class<?>> MODEL_TYPES = List.of(
+            Team.class, TeamMember.class, Location.class, Location.Coordinates.class, HeroWithCustomAdapter.class);
+    
+    /**
+     * Configuración por defecto con los serializadores generados para MODEL_TYPES.
+     */
+    static final JsonbConfig GENERATED_CONFIG = new JsonbConfig()
+            .withSerializers(new Team_JsonbSerializer(), new TeamMember_JsonbSerializer(),
+                    new Location_JsonbSerializer(), new Location_Coordinates_JsonbSerializer(),
+                    new HeroWithCustomAdapter_JsonbSerializer())
+            .withDeserializers(new Team_JsonbDeserializer(), new TeamMember_JsonbDeserializer(),
+                    new Location_JsonbDeserializer(), new Location_Coordinates_JsonbDeserializer(),
+                    new HeroWithCustomAdapter_JsonbDeserializer());
+    
+    /**
+     * Máximo de configuraciones distintas que se conservan.
+     */
+    static final int MAX_INSTANCES = 32;
+    
+    private static final Object DEFAULT_KEY = keyOf(GENERATED_CONFIG);
+    
+    private final Map<Object, Jsonb> instances = new ConcurrentHashMap<>();
+    private final Queue<Object> creationOrder = new ConcurrentLinkedQueue<>();
+    
+    /**
+     * Jsonb con la configuración por defecto (mismo JSON que JsonbBuilder.create()) y los
+     * serializadores generados.
+     */
+    public Jsonb get() {
+        return get(GENERATED_CONFIG);
+    }
+    
+    /**
+     * Jsonb para config. Dos JsonbConfig con las mismas propiedades comparten instancia.
+     * Los adapters y serializadores se comparan por instancia: una configuración que crea
+     * adapters nuevos en cada llamada obtiene cada vez una instancia Jsonb nueva, así que
+     * debe construirse una vez como constante.
+     *
+     * Se conservan como mucho MAX_INSTANCES configuraciones; al superarlo se descartan las
+     * más antiguas salvo la por defecto. No se cierran porque otro hilo puede estar usándolas;
+     * no retienen recursos externos y las recoge el GC.
+     */
+    public Jsonb get(JsonbConfig config) {
+        Object key = keyOf(config);
+        Jsonb jsonb = instances.get(key);
+        if (jsonb != null) {
+            return jsonb;
+        }
+        boolean[] created = new boolean[1];
+        jsonb = instances.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return config == null ? JsonbBuilder.create() : JsonbBuilder.create(config);
+        });
+        if (created[0]) {
+            creationOrder.add(key);
+            evictOldest();
+        }
+        return jsonb;
+    }
+    
+    /**
+     * Crea la instancia para config y calcula ya los modelos de las clases del demo.
+     */
+    public void prewarm(JsonbConfig config) {
+        warmUp(get(config));
+    }
+    
+    public int size() {
+        return instances.size();
+    }
+    
+    void onStart(@Observes StartupEvent event) {
+        // Con los serializadores generados apenas queda modelo que construir, salvo el del
+        // DTO del adapter, que sigue delegándose en el contexto
+        warmUp(get());
+    }
+    
+    @PreDestroy
+    void close() {
+        instances.values().forEach(jsonb -> {
+            try {
+                jsonb.close();
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Error cerrando una instancia Jsonb", e);
+            }
+        });
+        instances.clear();
+    }
+    
+    private void evictOldest() {
+        while (instances.size() > MAX_INSTANCES) {
+            Object oldest = creationOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            if (!oldest.equals(DEFAULT_KEY)) {
+                instances.remove(oldest);
+            }
+        }
+    }
+    
+    private static void warmUp(Jsonb jsonb) {
+        // Serializar y deserializar una instancia vacía construye el modelo de la clase y
+        // de las que alcanza (p. ej. Team → TeamMember, Location)
+        for (Class<?> type : MODEL_TYPES) {
+            try {
+                jsonb.fromJson(jsonb.toJson(type.getDeclaredConstructor().newInstance()), type);
+            } catch (Exception e) {
+                logger.log(Level.FINE, "No se pudo precalentar " + type.getName(), e);
+            }
+        }
+    }
+    
+    /**
+     * Clave comparable de una configuración: sus propiedades ordenadas, con los arrays
+     * (adapters, serializadores...) convertidos a la lista de sus elementos comparados por
+     * identidad.
+     */
+    private static Object keyOf(JsonbConfig config) {
+        if (config == null) {
+            return Map.of();
+        }
+        Map<String, Object> key = new TreeMap<>();
+        config.getAsMap().forEach((name, value) -> key.put(name,
+                value instanceof Object[] array ? Arrays.stream(array).map(Identity::new).toList() : value));
+        return key;
+    }
+    
+    private record Identity(Object value) {
+        
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Identity identity && identity.value == value;
+        }
+        
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(value);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.jakartaee.jsonprocessing.analytics;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Agregaciones sobre un array de héroes repartidas en el ForkJoinPool común.
+ *
+ * JsonArray es una List de acceso aleatorio, así que cada tarea trabaja sobre un rango de
+ * índices sin copiar elementos: los rangos grandes se parten por la mitad hasta
+ * LEAF_SIZE, cada hoja calcula su resultado parcial (conteo, suma, mínimo, máximo,
+ * grupos por nivel de poder y top-K) y los parciales se combinan de dos en dos.
+ */
+public final class HeroAnalytics {
+
+    /**
+     * Elementos que procesa una tarea sin volver a dividirse.
+     */
+    static final int LEAF_SIZE = 4096;
+
+    /**
+     * Máximo de héroes que se pueden pedir en el top-K; cada hoja mantiene su propio top.
+     */
+    public static final int MAX_TOP_K = 1000;
+
+    /**
+     * Filtro y agregaciones a calcular: héroes con minPowerLevel <= powerLevel <=
+     * maxPowerLevel, agrupados en tramos de bucketSize, y los topK (hasta MAX_TOP_K) de
+     * mayor nivel.
+     */
+    public record Query(int minPowerLevel, int maxPowerLevel, int bucketSize, int topK) {
+
+        public Query {
+            if (minPowerLevel > maxPowerLevel) {
+                throw new IllegalArgumentException("minPowerLevel must not be greater than maxPowerLevel");
+            }
+            if (bucketSize <= 0) {
+                throw new IllegalArgumentException("bucketSize must be positive");
+            }
+            if (topK < 0 || topK > MAX_TOP_K) {
+                throw new IllegalArgumentException("topK must be between 0 and " + MAX_TOP_K);
+            }
+        }
+    }
+
+    /**
+     * Héroe del top-K con su nivel y su posición en el array de entrada.
+     */
+    public record RankedHero(int index, int powerLevel, JsonObject hero) {
+    }
+
+    /**
+     * Resultado de un rango. Los elementos que no son objetos con un powerLevel numérico
+     * cuentan en scanned pero no en matched.
+     */
+    public static final class Result {
+
+        // Mayor nivel primero; a igual nivel, el que aparece antes en el array
+        private static final Comparator<RankedHero> RANKING = Comparator
+                .comparingInt(RankedHero::powerLevel)
+                .thenComparing(Comparator.comparingInt(RankedHero::index).reversed());
+
+        private final int topK;
+        private long scanned;
+        private long matched;
+        private long sum;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+        private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+        // Min-heap con los topK mejores vistos hasta ahora; la cabeza es el peor de ellos
+        private final PriorityQueue<RankedHero> top;
+
+        Result(int topK) {
+            this.topK = topK;
+            this.top = new PriorityQueue<>(RANKING);
+        }
+
+        public long scanned() {
+            return scanned;
+        }
+
+        public long matched() {
+            return matched;
+        }
+
+        public long sum() {
+            return sum;
+        }
+
+        /**
+         * Nivel mínimo de los héroes que cumplen el filtro, o null si no hay ninguno.
+         */
+        public Integer min() {
+            return matched > 0 ? min : null;
+        }
+
+        public Integer max() {
+            return matched > 0 ? max : null;
+        }
+
+        /**
+         * Número de héroes por tramo, indexado por el nivel inicial del tramo.
+         */
+        public Map<Integer, Long> buckets() {
+            return buckets;
+        }
+
+        /**
+         * Los topK héroes de mayor nivel, de mayor a menor.
+         */
+        public List<RankedHero> top() {
+            List<RankedHero> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING.reversed());
+            return ranked;
+        }
+
+        private void accept(int index, JsonObject hero, int powerLevel, int bucketSize) {
+            matched++;
+            sum += powerLevel;
+            min = Math.min(min, powerLevel);
+            max = Math.max(max, powerLevel);
+            buckets.merge(Math.floorDiv(powerLevel, bucketSize) * bucketSize, 1L, Long::sum);
+            offer(new RankedHero(index, powerLevel, hero));
+        }
+
+        private void offer(RankedHero candidate) {
+            if (topK == 0) {
+                return;
+            }
+            if (top.size() < topK) {
+                top.add(candidate);
+            } else if (RANKING.compare(candidate, top.peek()) > 0) {
+                top.poll();
+                top.add(candidate);
+            }
+        }
+
+        private Result combine(Result other) {
+            scanned += other.scanned;
+            matched += other.matched;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            other.buckets.forEach((bucket, count) -> buckets.merge(bucket, count, Long::sum));
+            other.top.forEach(this::offer);
+            return this;
+        }
+    }
+
+    private HeroAnalytics() {
+    }
+
+    /**
+     * Calcula query sobre heroes en el ForkJoinPool común.
+     */
+    public static Result analyze(JsonArray heroes, Query query) {
+        return ForkJoinPool.commonPool().invoke(new RangeTask(heroes, 0, heroes.size(), query));
+    }
+
+    private static final class RangeTask extends RecursiveTask<Result> {
+
+        private final JsonArray heroes;
+        private final int from;
+        private final int to;
+        private final Query query;
+
+        RangeTask(JsonArray heroes, int from, int to, Query query) {
+            this.heroes = heroes;
+            this.from = from;
+            this.to = to;
+            this.query = query;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= LEAF_SIZE) {
+                return computeDirectly();
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask left = new RangeTask(heroes, from, middle, query);
+            left.fork();
+            Result right = new RangeTask(heroes, middle, to, query).compute();
+            return left.join().combine(right);
+        }
+
+        private Result computeDirectly() {
+            Result result = new Result(query.topK());
+            result.scanned = to - from;
+            for (int i = from; i < to; i++) {
+                JsonValue value = heroes.get(i);
+                if (value.getValueType() != JsonValue.ValueType.OBJECT) {
+                    continue;
+                }
+                JsonObject hero = value.asJsonObject();
+                if (!(hero.get("powerLevel") instanceof JsonNumber number)) {
+                    continue;
+                }
+                int powerLevel = number.intValue();
+                if (powerLevel >= query.minPowerLevel() && powerLevel <= query.maxPowerLevel()) {
+                    result.accept(i, hero, powerLevel, query.bucketSize());
+                }
+            }
+            return result;
+        }
+    }
+}
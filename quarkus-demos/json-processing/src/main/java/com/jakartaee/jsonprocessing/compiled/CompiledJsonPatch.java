@@ -0,0 +1,138 @@
+package com.jakartaee.jsonprocessing.compiled;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonPatch;
+import jakarta.json.JsonPointer;
+import jakarta.json.JsonString;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+import jakarta.json.spi.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JsonPatch (RFC 6902) con los JsonPointer de cada operación ya compilados.
+ *
+ * Json.createPatch() guarda el array de operaciones tal cual y vuelve a crear los punteros
+ * de "path" y "from" en cada apply(). Aquí se validan y compilan una sola vez, así que
+ * aplicar el mismo patch a muchos documentos solo recorre los punteros. Es inmutable y se
+ * puede aplicar desde varios hilos a la vez.
+ */
+public final class CompiledJsonPatch implements JsonPatch {
+
+    private record Step(Operation operation, JsonPointer path, String pathText,
+                        JsonPointer from, String fromText, JsonValue value) {
+    }
+
+    private final JsonArray operations;
+    private final List<Step> steps;
+
+    private CompiledJsonPatch(JsonArray operations, List<Step> steps) {
+        this.operations = operations;
+        this.steps = steps;
+    }
+
+    /**
+     * Valida y compila operations.
+     *
+     * @throws JsonException si alguna operación está mal formada
+     */
+    public static CompiledJsonPatch compile(JsonArray operations) {
+        return compile(operations, JsonProvider.provider());
+    }
+    
+    /**
+     * Valida y compila operations creando los punteros con provider.
+     *
+     * @throws JsonException si alguna operación está mal formada
+     */
+    public static CompiledJsonPatch compile(JsonArray operations, JsonProvider provider) {
+        List<Step> steps = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            JsonValue entry = operations.get(i);
+            if (entry.getValueType() != JsonValue.ValueType.OBJECT) {
+                throw new JsonException("Patch operation " + i + " is not an object");
+            }
+            JsonObject operation = entry.asJsonObject();
+            Operation op = Operation.fromOperationName(requiredString(operation, "op", i));
+            String path = requiredString(operation, "path", i);
+            String fromText = op == Operation.MOVE || op == Operation.COPY
+                    ? requiredString(operation, "from", i)
+                    : null;
+            JsonPointer from = fromText != null ? provider.createPointer(fromText) : null;
+            JsonValue value = null;
+            if (op == Operation.ADD || op == Operation.REPLACE || op == Operation.TEST) {
+                value = operation.get("value");
+                if (value == null) {
+                    throw new JsonException("Patch operation " + i + " (" + op.operationName()
+                            + ") requires a 'value' member");
+                }
+            }
+            steps.add(new Step(op, provider.createPointer(path), path, from, fromText, value));
+        }
+        return new CompiledJsonPatch(operations, List.copyOf(steps));
+    }
+
+    @Override
+    public <T extends JsonStructure> T apply(T target) {
+        T result = target;
+        for (Step step : steps) {
+            result = apply(step, result);
+        }
+        return result;
+    }
+
+    @Override
+    public JsonArray toJsonArray() {
+        return operations;
+    }
+
+    private static <T extends JsonStructure> T apply(Step step, T target) {
+        switch (step.operation()) {
+            case ADD:
+                return step.path().add(target, step.value());
+            case REMOVE:
+                return step.path().remove(target);
+            case REPLACE:
+                return step.path().replace(target, step.value());
+            case MOVE: {
+                // Mismas comprobaciones y mensajes que Parsson, en el mismo orden
+                if (step.pathText().startsWith(step.fromText())
+                        && step.fromText().length() < step.pathText().length()) {
+                    throw new JsonException("The '" + step.fromText() + "' path of the patch operation 'move' "
+                            + "is a proper prefix of the '" + step.pathText() + "' path");
+                }
+                if (!step.from().containsValue(target)) {
+                    throw new JsonException("The '" + step.fromText() + "' path of the patch operation 'move' "
+                            + "does not exist in target object");
+                }
+                if (step.from().equals(step.path())) {
+                    return target;
+                }
+                JsonValue moved = step.from().getValue(target);
+                return step.path().add(step.from().remove(target), moved);
+            }
+            case COPY:
+                return step.path().add(target, step.from().getValue(target));
+            case TEST:
+                if (!step.path().getValue(target).equals(step.value())) {
+                    throw new JsonException("The JSON Patch operation 'test' failed for path '"
+                            + step.pathText() + "' and value '" + step.value() + "'");
+                }
+                return target;
+            default:
+                throw new JsonException("Unsupported patch operation " + step.operation());
+        }
+    }
+
+    private static String requiredString(JsonObject operation, String name, int index) {
+        JsonValue value = operation.get(name);
+        if (!(value instanceof JsonString string)) {
+            throw new JsonException("Patch operation " + index + " requires a string '" + name + "' member");
+        }
+        return string.getString();
+    }
+}
@@ -0,0 +1,177 @@
+package com.jakartaee.jsonprocessing.compiled;
+
+import com.jakartaee.jsonprocessing.service.JsonFactories;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonPointer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Punteros y patches compilados, indexados por su texto de origen.
+ *
+ * Las peticiones suelen repetir los mismos punteros ("/powerLevel") y los mismos patches,
+ * así que se compilan una vez y se reutilizan. Cada caché está limitada a max-entries y
+ * descarta las entradas usadas hace más tiempo (LRU aproximado). Un acierto no toma
+ * ningún lock: solo actualiza la marca de último uso de la entrada. Lo que se guarda es
+ * inmutable, así que se comparte sin copias entre hilos.
+ */
+@ApplicationScoped
+public class JsonOperationCache {
+
+    @ConfigProperty(name = "json-processing.operation-cache.max-entries", defaultValue = "1000")
+    int maxEntries;
+    
+    @Inject
+    JsonFactories factories;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private BoundedCache<JsonPointer> pointers;
+    private BoundedCache<CompiledJsonPatch> patches;
+
+    @PostConstruct
+    void init() {
+        pointers = new BoundedCache<>(maxEntries);
+        patches = new BoundedCache<>(maxEntries);
+    }
+
+    /**
+     * JsonPointer compilado para path (RFC 6901).
+     */
+    public JsonPointer pointer(String path) {
+        return lookup(pointers, path, factories.provider()::createPointer);
+    }
+
+    /**
+     * Patch compilado para operations. La clave es el texto del array de operaciones.
+     */
+    public CompiledJsonPatch patch(JsonArray operations) {
+        return patch(operations.toString(), operations);
+    }
+
+    /**
+     * Patch compilado para operations cuando el llamador ya tiene su texto de origen.
+     */
+    public CompiledJsonPatch patch(String source, JsonArray operations) {
+        return lookup(patches, source, key -> CompiledJsonPatch.compile(operations, factories.provider()));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("cachedPointers", pointers.size());
+        stats.put("cachedPatches", patches.size());
+        stats.put("maxEntries", maxEntries);
+        return stats;
+    }
+
+    private <V> V lookup(BoundedCache<V> cache, String key, Function<String, V> compiler) {
+        V value = cache.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        // Si dos hilos compilan la misma clave, se queda la primera
+        V compiled = compiler.apply(key);
+        V previous = cache.putIfAbsent(key, compiled);
+        return previous != null ? previous : compiled;
+    }
+
+    /**
+     * ConcurrentHashMap acotado con LRU aproximado. La marca de último uso se actualiza
+     * como mucho una vez por milisegundo, para que las entradas más leídas no se escriban
+     * en cada acierto. Al superar maxEntries, un solo hilo descarta las más antiguas hasta
+     * dejar un 10 % de margen, de modo que la ordenación no se repite en cada fallo.
+     */
+    private static final class BoundedCache<V> {
+
+        private static final long TOUCH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+        private final ConcurrentHashMap<String, Node<V>> entries = new ConcurrentHashMap<>();
+        private final ReentrantLock evictionLock = new ReentrantLock();
+        private final int maxEntries;
+
+        BoundedCache(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        V get(String key) {
+            Node<V> node = entries.get(key);
+            if (node == null) {
+                return null;
+            }
+            node.touch();
+            return node.value;
+        }
+
+        V putIfAbsent(String key, V value) {
+            Node<V> previous = entries.putIfAbsent(key, new Node<>(value));
+            if (previous != null) {
+                previous.touch();
+                return previous.value;
+            }
+            if (entries.size() > maxEntries) {
+                evict();
+            }
+            return null;
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        private void evict() {
+            // Si otro hilo ya está descartando, este no espera
+            if (!evictionLock.tryLock()) {
+                return;
+            }
+            try {
+                int excess = entries.size() - (maxEntries - maxEntries / 10);
+                if (excess <= 0) {
+                    return;
+                }
+                // Se copian las marcas antes de ordenar: pueden cambiar durante la ordenación
+                List<Map.Entry<String, Long>> byAge = new ArrayList<>(entries.size());
+                entries.forEach((key, node) -> byAge.add(Map.entry(key, node.lastUsed)));
+                byAge.sort(Map.Entry.comparingByValue());
+                for (int i = 0; i < excess && i < byAge.size(); i++) {
+                    entries.remove(byAge.get(i).getKey());
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private static final class Node<V> {
+
+        final V value;
+        volatile long lastUsed = System.nanoTime();
+
+        Node(V value) {
+            this.value = value;
+        }
+
+        void touch() {
+            long now = System.nanoTime();
+            if (now - lastUsed > BoundedCache.TOUCH_INTERVAL_NANOS) {
+                lastUsed = now;
+            }
+        }
+    }
+}
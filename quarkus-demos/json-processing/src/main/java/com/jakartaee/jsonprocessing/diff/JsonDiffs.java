@@ -0,0 +1,184 @@
+package com.jakartaee.jsonprocessing.diff;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonBuilderFactory;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonValue;
+
+import java.util.Map;
+
+/**
+ * JSON Merge Patch (RFC 7396) y diff en formato JSON Patch (RFC 6902) con compartición
+ * estructural.
+ *
+ * mergePatch() solo reconstruye los objetos de las rutas que el patch cambia; el resto de
+ * subárboles del resultado son las mismas instancias del documento original, y si el patch
+ * no cambia nada se devuelve el propio documento. Los diff comparan primero por referencia,
+ * así que comparar un documento con el resultado de parchearlo solo recorre las rutas
+ * modificadas.
+ *
+ * Json.createDiff() compara arrays con una tabla LCS de tamaño n*m. Aquí los arrays se
+ * recortan por el prefijo y el sufijo comunes y el tramo central se compara posición a
+ * posición, en tiempo lineal: inserciones y borrados contiguos dan el patch mínimo, y
+ * reordenaciones dan un patch válido aunque más largo.
+ */
+public final class JsonDiffs {
+
+    private JsonDiffs() {
+    }
+
+    /**
+     * Aplica patch a target según RFC 7396.
+     */
+    public static JsonValue mergePatch(JsonValue target, JsonValue patch, JsonBuilderFactory builders) {
+        if (patch.getValueType() != JsonValue.ValueType.OBJECT) {
+            return patch;
+        }
+        JsonObject source = target.getValueType() == JsonValue.ValueType.OBJECT
+                ? target.asJsonObject()
+                : JsonValue.EMPTY_JSON_OBJECT;
+        JsonObjectBuilder builder = null;
+        for (Map.Entry<String, JsonValue> entry : patch.asJsonObject().entrySet()) {
+            String key = entry.getKey();
+            JsonValue current = source.get(key);
+            if (entry.getValue().getValueType() == JsonValue.ValueType.NULL) {
+                if (current != null) {
+                    builder = builder != null ? builder : builders.createObjectBuilder(source);
+                    builder.remove(key);
+                }
+                continue;
+            }
+            JsonValue merged = mergePatch(current != null ? current : JsonValue.NULL, entry.getValue(), builders);
+            if (current == null || !sameValue(current, merged)) {
+                builder = builder != null ? builder : builders.createObjectBuilder(source);
+                builder.add(key, merged);
+            }
+        }
+        return builder != null ? builder.build() : source;
+    }
+
+    /**
+     * Merge patch mínimo que convierte source en target (RFC 7396). Los miembros null de
+     * target no se pueden expresar en un merge patch y se tratan como ausentes.
+     */
+    public static JsonValue mergeDiff(JsonValue source, JsonValue target, JsonBuilderFactory builders) {
+        if (source.getValueType() != JsonValue.ValueType.OBJECT
+                || target.getValueType() != JsonValue.ValueType.OBJECT) {
+            return target;
+        }
+        JsonObject from = source.asJsonObject();
+        JsonObject to = target.asJsonObject();
+        JsonObjectBuilder patch = builders.createObjectBuilder();
+        for (String key : from.keySet()) {
+            if (!to.containsKey(key)) {
+                patch.addNull(key);
+            }
+        }
+        for (Map.Entry<String, JsonValue> entry : to.entrySet()) {
+            JsonValue before = from.get(entry.getKey());
+            JsonValue after = entry.getValue();
+            if (before == null) {
+                patch.add(entry.getKey(), after);
+            } else if (before.getValueType() == JsonValue.ValueType.OBJECT
+                    && after.getValueType() == JsonValue.ValueType.OBJECT) {
+                JsonObject nested = mergeDiff(before, after, builders).asJsonObject();
+                if (!nested.isEmpty()) {
+                    patch.add(entry.getKey(), nested);
+                }
+            } else if (!sameValue(before, after)) {
+                patch.add(entry.getKey(), after);
+            }
+        }
+        return patch.build();
+    }
+
+    /**
+     * Operaciones JSON Patch que convierten source en target.
+     */
+    public static JsonArray diff(JsonValue source, JsonValue target, JsonBuilderFactory builders) {
+        JsonArrayBuilder operations = builders.createArrayBuilder();
+        diff("", source, target, operations, builders);
+        return operations.build();
+    }
+
+    private static void diff(String path, JsonValue source, JsonValue target,
+                             JsonArrayBuilder operations, JsonBuilderFactory builders) {
+        if (source == target) {
+            return;
+        }
+        JsonValue.ValueType type = source.getValueType();
+        if (type == JsonValue.ValueType.OBJECT && target.getValueType() == type) {
+            diffObjects(path, source.asJsonObject(), target.asJsonObject(), operations, builders);
+        } else if (type == JsonValue.ValueType.ARRAY && target.getValueType() == type) {
+            diffArrays(path, source.asJsonArray(), target.asJsonArray(), operations, builders);
+        } else if (!source.equals(target)) {
+            operations.add(operation(builders, "replace", path).add("value", target));
+        }
+    }
+
+    private static void diffObjects(String path, JsonObject source, JsonObject target,
+                                    JsonArrayBuilder operations, JsonBuilderFactory builders) {
+        for (Map.Entry<String, JsonValue> entry : source.entrySet()) {
+            String childPath = path + "/" + escape(entry.getKey());
+            JsonValue after = target.get(entry.getKey());
+            if (after == null) {
+                operations.add(operation(builders, "remove", childPath));
+            } else {
+                diff(childPath, entry.getValue(), after, operations, builders);
+            }
+        }
+        for (Map.Entry<String, JsonValue> entry : target.entrySet()) {
+            if (!source.containsKey(entry.getKey())) {
+                operations.add(operation(builders, "add", path + "/" + escape(entry.getKey()))
+                        .add("value", entry.getValue()));
+            }
+        }
+    }
+
+    private static void diffArrays(String path, JsonArray source, JsonArray target,
+                                   JsonArrayBuilder operations, JsonBuilderFactory builders) {
+        int prefix = 0;
+        int limit = Math.min(source.size(), target.size());
+        while (prefix < limit && sameValue(source.get(prefix), target.get(prefix))) {
+            prefix++;
+        }
+        int sourceEnd = source.size();
+        int targetEnd = target.size();
+        while (sourceEnd > prefix && targetEnd > prefix
+                && sameValue(source.get(sourceEnd - 1), target.get(targetEnd - 1))) {
+            sourceEnd--;
+            targetEnd--;
+        }
+        // Tramo central: posiciones comunes elemento a elemento, luego borrados o inserciones
+        int common = Math.min(sourceEnd, targetEnd) - prefix;
+        for (int i = prefix; i < prefix + common; i++) {
+            diff(path + "/" + i, source.get(i), target.get(i), operations, builders);
+        }
+        for (int i = sourceEnd - 1; i >= prefix + common; i--) {
+            operations.add(operation(builders, "remove", path + "/" + i));
+        }
+        for (int i = prefix + common; i < targetEnd; i++) {
+            operations.add(operation(builders, "add", path + "/" + i).add("value", target.get(i)));
+        }
+    }
+
+    private static boolean sameValue(JsonValue a, JsonValue b) {
+        return a == b || a.equals(b);
+    }
+
+    private static JsonObjectBuilder operation(JsonBuilderFactory builders, String op, String path) {
+        return builders.createObjectBuilder().add("op", op).add("path", path);
+    }
+
+    /**
+     * Escapa un nombre de miembro como token de JSON Pointer (RFC 6901).
+     */
+    private static String escape(String key) {
+        if (key.indexOf('~') < 0 && key.indexOf('/') < 0) {
+            return key;
+        }
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+}
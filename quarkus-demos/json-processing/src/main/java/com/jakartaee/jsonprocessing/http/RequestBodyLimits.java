@@ -0,0 +1,82 @@
+package com.jakartaee.jsonprocessing.http;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Límite de tamaño del cuerpo por endpoint.
+ *
+ * quarkus.http.limits.max-body-size es un único valor para toda la aplicación. Aquí se
+ * fija como techo de transporte para /stream/heroes, que lee el InputStream de forma
+ * incremental, y este filtro aplica json-processing.http.max-body-size al resto de
+ * peticiones, que cargan el cuerpo entero en un String, JsonObject o JsonArray.
+ * /heroes/analytics recibe lotes de decenas de MB y tiene su propio límite,
+ * json-processing.http.analytics-max-body-size.
+ *
+ * Se ejecuta justo después del filtro de Quarkus y aplica las mismas dos comprobaciones:
+ * Content-Length mayor que el límite responde 413 sin leer el cuerpo, y para los cuerpos
+ * chunked deja el límite en el RoutingContext, donde lo comprueba el InputStream de
+ * Quarkus REST mientras lee. Un Content-Length que no es un número válido responde 400.
+ */
+@ApplicationScoped
+public class RequestBodyLimits {
+
+    static final String STREAMING_PATH = "/api/json-processing/stream/heroes";
+    static final String ANALYTICS_PATH = "/api/json-processing/heroes/analytics";
+
+    // Clave con la que el filtro de Quarkus pasa el límite al InputStream de Quarkus REST
+    private static final String MAX_REQUEST_SIZE = "io.quarkus.max-request-size";
+
+    @ConfigProperty(name = "json-processing.http.max-body-size", defaultValue = "10M")
+    MemorySize maxBodySize;
+
+    @ConfigProperty(name = "json-processing.http.analytics-max-body-size", defaultValue = "100M")
+    MemorySize analyticsMaxBodySize;
+
+    void registerFilter(@Observes Router router) {
+        long limit = maxBodySize.asLongValue();
+        long analyticsLimit = analyticsMaxBodySize.asLongValue();
+        router.route().order(-1).handler(context -> {
+            String path = context.normalizedPath();
+            if (STREAMING_PATH.equals(path)) {
+                context.next();
+            } else {
+                enforce(context, ANALYTICS_PATH.equals(path) ? analyticsLimit : limit);
+            }
+        });
+    }
+
+    private static void enforce(RoutingContext context, long limit) {
+        String contentLength = context.request().getHeader(HttpHeaderNames.CONTENT_LENGTH);
+        if (contentLength == null) {
+            context.put(MAX_REQUEST_SIZE, limit);
+            context.next();
+            return;
+        }
+        long length;
+        try {
+            length = Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            length = -1;
+        }
+        if (length < 0) {
+            context.response().setStatusCode(HttpResponseStatus.BAD_REQUEST.code()).end();
+            return;
+        }
+        if (length > limit) {
+            // Igual que Quarkus: se cierra la conexión para no tener que leer el cuerpo
+            context.response().headers().add(HttpHeaderNames.CONNECTION, "close");
+            context.response().setStatusCode(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code());
+            context.response().endHandler(ignored -> context.request().connection().close());
+            context.response().end();
+            return;
+        }
+        context.next();
+    }
+}
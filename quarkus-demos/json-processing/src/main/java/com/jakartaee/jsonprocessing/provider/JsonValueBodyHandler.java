@@ -0,0 +1,80 @@
+package com.jakartaee.jsonprocessing.provider;
+
+import com.jakartaee.jsonprocessing.service.JsonFactories;
+import jakarta.inject.Inject;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonValue;
+import jakarta.json.JsonWriter;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lee y escribe cuerpos JSON-P (JsonObject, JsonArray, JsonValue) con las factorías
+ * compartidas de JsonFactories.
+ *
+ * Sin este provider, Jackson serializa los JsonValue devueltos por los endpoints como si
+ * fueran beans ({"valueType":"STRING",...}) en lugar de como el JSON que representan.
+ */
+@Provider
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class JsonValueBodyHandler implements MessageBodyReader<JsonValue>, MessageBodyWriter<JsonValue> {
+
+    @Inject
+    JsonFactories factories;
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return JsonValue.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public JsonValue readFrom(Class<JsonValue> type, Type genericType, Annotation[] annotations,
+                              MediaType mediaType, MultivaluedMap<String, String> httpHeaders,
+                              InputStream entityStream) {
+        try (JsonReader reader = factories.readers().createReader(entityStream, StandardCharsets.UTF_8)) {
+            JsonValue value;
+            if (JsonObject.class.isAssignableFrom(type)) {
+                value = reader.readObject();
+            } else if (JsonArray.class.isAssignableFrom(type)) {
+                value = reader.readArray();
+            } else {
+                value = reader.readValue();
+            }
+            if (!type.isInstance(value)) {
+                throw new BadRequestException("Expected " + type.getSimpleName() + " but got " + value.getValueType());
+            }
+            return value;
+        } catch (JsonException | IllegalStateException e) {
+            throw new BadRequestException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return JsonValue.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(JsonValue value, Class<?> type, Type genericType, Annotation[] annotations,
+                        MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) {
+        // El stream de la respuesta lo cierra el contenedor, no el JsonWriter
+        JsonWriter writer = factories.writers().createWriter(entityStream, StandardCharsets.UTF_8);
+        writer.write(value);
+    }
+}
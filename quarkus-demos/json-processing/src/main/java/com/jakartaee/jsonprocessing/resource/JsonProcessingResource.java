@@ -1,12 +1,19 @@
 package com.jakartaee.jsonprocessing.resource;
 
+import com.jakartaee.jsonprocessing.analytics.HeroAnalytics;
+import com.jakartaee.jsonprocessing.compiled.JsonOperationCache;
 import com.jakartaee.jsonprocessing.service.JsonProcessingService;
 import jakarta.inject.Inject;
 import jakarta.json.*;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Recurso REST que demuestra características de JSON-Processing.
@@ -17,9 +24,14 @@ import java.util.Map;
 @Consumes(MediaType.APPLICATION_JSON)
 public class JsonProcessingResource {
     
+    static final String NDJSON = "application/x-ndjson";
+    
     @Inject
     JsonProcessingService jsonProcessingService;
     
+    @Inject
+    JsonOperationCache operationCache;
+    
     /**
      * Crea un JsonObject programáticamente.
      * GET /api/json-processing/hero/object
@@ -106,6 +118,87 @@ public class JsonProcessingResource {
         return Response.ok(transformed).build();
     }
     
+    /**
+     * Aplica un mismo JsonPatch a muchos documentos en paralelo.
+     * POST /api/json-processing/transform/batch
+     * Cuerpo: {"patch": [operaciones], "documents": [objetos]}
+     */
+    @POST
+    @Path("/transform/batch")
+    public Response transformBatch(JsonObject request) {
+        JsonValue patch = request.get("patch");
+        JsonValue documents = request.get("documents");
+        if (patch == null || patch.getValueType() != JsonValue.ValueType.ARRAY
+                || documents == null || documents.getValueType() != JsonValue.ValueType.ARRAY) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "Body must contain 'patch' and 'documents' arrays"))
+                    .build();
+        }
+        try {
+            return Response.ok(jsonProcessingService.applyPatchBatch(patch.asJsonArray(), documents.asJsonArray())).build();
+        } catch (JsonException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", e.getMessage())).build();
+        }
+    }
+    
+    /**
+     * Calcula el patch mínimo entre dos documentos.
+     * POST /api/json-processing/diff?format=json-patch
+     * Cuerpo: {"source": documento, "target": documento}
+     * format: json-patch (RFC 6902, por defecto) o merge-patch (RFC 7396)
+     */
+    @POST
+    @Path("/diff")
+    public Response diffJson(
+            @QueryParam("format") @DefaultValue("json-patch") String format,
+            JsonObject request) {
+        JsonValue source = request.get("source");
+        JsonValue target = request.get("target");
+        if (source == null || target == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "Body must contain 'source' and 'target'"))
+                    .build();
+        }
+        switch (format) {
+            case "json-patch":
+                return Response.ok(jsonProcessingService.diffJson(source, target)).build();
+            case "merge-patch":
+                return Response.ok(jsonProcessingService.mergeDiff(source, target)).build();
+            default:
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(Map.of("error", "format must be 'json-patch' or 'merge-patch'"))
+                        .build();
+        }
+    }
+    
+    /**
+     * Aplica un JSON Merge Patch (RFC 7396) a un documento.
+     * POST /api/json-processing/merge
+     * Cuerpo: {"target": documento, "patch": merge patch}
+     */
+    @POST
+    @Path("/merge")
+    public Response mergePatch(JsonObject request) {
+        JsonValue target = request.get("target");
+        JsonValue patch = request.get("patch");
+        if (target == null || patch == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "Body must contain 'target' and 'patch'"))
+                    .build();
+        }
+        return Response.ok(jsonProcessingService.mergePatch(target, patch)).build();
+    }
+    
+    /**
+     * Aciertos y fallos de la caché de punteros y patches compilados.
+     * GET /api/json-processing/metrics/operation-cache
+     */
+    @GET
+    @Path("/metrics/operation-cache")
+    public Response operationCacheStats() {
+        return Response.ok(operationCache.stats()).build();
+    }
+    
     /**
      * Obtiene operaciones de patch de ejemplo.
      * GET /api/json-processing/patch/example
@@ -129,6 +222,47 @@ public class JsonProcessingResource {
         return Response.ok(result).build();
     }
     
+    /**
+     * Filtra y proyecta héroes de un array JSON arbitrariamente grande, elemento a elemento:
+     * el cuerpo se lee del InputStream y la respuesta se escribe mientras se lee, con memoria
+     * constante.
+     * POST /api/json-processing/stream/heroes?minPowerLevel=90&fields=name,powerLevel
+     */
+    @POST
+    @Path("/stream/heroes")
+    public Response filterHeroesStreaming(
+            InputStream body,
+            @QueryParam("minPowerLevel") @DefaultValue("0") int minPowerLevel,
+            @QueryParam("fields") String fields) {
+        Stream<JsonValue> heroes;
+        try {
+            heroes = jsonProcessingService.readJsonArray(body);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", e.getMessage())).build();
+        }
+        Stream<JsonObject> filtered = jsonProcessingService.filterHeroesStreaming(heroes, minPowerLevel, fieldList(fields));
+        StreamingOutput output = out -> jsonProcessingService.writeJsonArray(filtered, out);
+        return Response.ok(output).build();
+    }
+    
+    /**
+     * Igual que el anterior para NDJSON: un héroe por línea en la entrada y en la salida.
+     * POST /api/json-processing/stream/heroes (Content-Type: application/x-ndjson)
+     */
+    @POST
+    @Path("/stream/heroes")
+    @Consumes(NDJSON)
+    @Produces(NDJSON)
+    public Response filterHeroesNdjson(
+            InputStream body,
+            @QueryParam("minPowerLevel") @DefaultValue("0") int minPowerLevel,
+            @QueryParam("fields") String fields) {
+        Stream<JsonObject> filtered = jsonProcessingService.filterHeroesStreaming(
+                jsonProcessingService.readNdjson(body), minPowerLevel, fieldList(fields));
+        StreamingOutput output = out -> jsonProcessingService.writeNdjson(filtered, out);
+        return Response.ok(output).build();
+    }
+    
     /**
      * Genera JSON usando streaming API.
      * GET /api/json-processing/stream/generate
@@ -153,6 +287,27 @@ public class JsonProcessingResource {
         return Response.ok(filtered).build();
     }
     
+    /**
+     * Filtra, agrupa y ordena un array de héroes subido en el cuerpo, en paralelo.
+     * POST /api/json-processing/heroes/analytics?minPowerLevel=80&maxPowerLevel=100&bucketSize=10&topK=5
+     */
+    @POST
+    @Path("/heroes/analytics")
+    public Response analyzeHeroes(
+            @QueryParam("minPowerLevel") @DefaultValue("0") int minPowerLevel,
+            @QueryParam("maxPowerLevel") @DefaultValue("2147483647") int maxPowerLevel,
+            @QueryParam("bucketSize") @DefaultValue("10") int bucketSize,
+            @QueryParam("topK") @DefaultValue("10") int topK,
+            JsonArray heroes) {
+        HeroAnalytics.Query query;
+        try {
+            query = new HeroAnalytics.Query(minPowerLevel, maxPowerLevel, bucketSize, topK);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", e.getMessage())).build();
+        }
+        return Response.ok(jsonProcessingService.analyzeHeroes(heroes, query)).build();
+    }
+    
     /**
      * Crea un JSON complejo con múltiples niveles.
      * GET /api/json-processing/complex
@@ -207,5 +362,11 @@ public class JsonProcessingResource {
             )
         )).build();
     }
+    
+    private static List<String> fieldList(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(fields.split(",")).map(String::trim).filter(f -> !f.isEmpty()).toList();
+    }
 }
-
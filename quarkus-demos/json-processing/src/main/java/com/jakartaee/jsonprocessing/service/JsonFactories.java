@@ -0,0 +1,69 @@
+package com.jakartaee.jsonprocessing.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.json.JsonBuilderFactory;
+import jakarta.json.JsonReaderFactory;
+import jakarta.json.JsonWriterFactory;
+import jakarta.json.spi.JsonProvider;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+import jakarta.json.stream.JsonParserFactory;
+
+import java.util.Map;
+
+/**
+ * Factorías JSON-P compartidas, ya configuradas.
+ *
+ * Cada llamada estática a Json.createReader(), Json.createWriterFactory(...) o
+ * Json.createObjectBuilder() busca de nuevo el JsonProvider con ServiceLoader, y las
+ * variantes con configuración construyen además una factoría nueva. Aquí el provider se
+ * resuelve una sola vez y cada factoría se crea al arrancar, en versión compacta y con
+ * formato cuando aplica. Todas son thread-safe.
+ */
+@ApplicationScoped
+public class JsonFactories {
+
+    private static final Map<String, ?> PRETTY = Map.of(JsonGenerator.PRETTY_PRINTING, true);
+
+    private final JsonProvider provider = JsonProvider.provider();
+
+    private final JsonReaderFactory readers = provider.createReaderFactory(Map.of());
+    private final JsonParserFactory parsers = provider.createParserFactory(Map.of());
+    private final JsonBuilderFactory builders = provider.createBuilderFactory(Map.of());
+    private final JsonWriterFactory writers = provider.createWriterFactory(Map.of());
+    private final JsonWriterFactory prettyWriters = provider.createWriterFactory(PRETTY);
+    private final JsonGeneratorFactory generators = provider.createGeneratorFactory(Map.of());
+    private final JsonGeneratorFactory prettyGenerators = provider.createGeneratorFactory(PRETTY);
+
+    public JsonProvider provider() {
+        return provider;
+    }
+
+    public JsonReaderFactory readers() {
+        return readers;
+    }
+
+    public JsonParserFactory parsers() {
+        return parsers;
+    }
+
+    public JsonBuilderFactory builders() {
+        return builders;
+    }
+
+    public JsonWriterFactory writers() {
+        return writers;
+    }
+
+    public JsonWriterFactory prettyWriters() {
+        return prettyWriters;
+    }
+
+    public JsonGeneratorFactory generators() {
+        return generators;
+    }
+
+    public JsonGeneratorFactory prettyGenerators() {
+        return prettyGenerators;
+    }
+}
@@ -1,16 +1,35 @@
 package com.jakartaee.jsonprocessing.service;
 
+import com.jakartaee.jsonprocessing.analytics.HeroAnalytics;
+import com.jakartaee.jsonprocessing.compiled.CompiledJsonPatch;
+import com.jakartaee.jsonprocessing.compiled.JsonOperationCache;
+import com.jakartaee.jsonprocessing.diff.JsonDiffs;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.json.*;
 import jakarta.json.stream.JsonGenerator;
 import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParsingException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Servicio que demuestra características de JSON-Processing:
@@ -24,11 +43,32 @@ import java.util.Map;
 @ApplicationScoped
 public class JsonProcessingService {
     
+    /**
+     * Cada cuántos elementos se vacía la salida de los endpoints de streaming.
+     */
+    private static final int FLUSH_EVERY = 100;
+    
+    /**
+     * Por debajo de este número de documentos un lote se aplica en el hilo de la petición.
+     */
+    private static final int PARALLEL_BATCH_THRESHOLD = 64;
+    
+    /**
+     * A partir de este tamaño filterHeroesByPowerLevel reparte el array entre varios hilos.
+     */
+    private static final int PARALLEL_FILTER_THRESHOLD = 10_000;
+    
+    @Inject
+    JsonOperationCache operationCache;
+    
+    @Inject
+    JsonFactories factories;
+    
     /**
      * Crea un JsonObject programáticamente usando JsonObjectBuilder.
      */
     public JsonObject createHeroJsonObject() {
-        JsonObjectBuilder builder = Json.createObjectBuilder();
+        JsonObjectBuilder builder = factories.builders().createObjectBuilder();
         builder.add("name", "Superman")
                .add("power", "Super strength, flight, heat vision")
                .add("powerLevel", 95)
@@ -36,13 +76,13 @@ public class JsonProcessingService {
                .add("description", "El último hijo de Krypton");
         
         // Agregar un objeto anidado
-        JsonObjectBuilder locationBuilder = Json.createObjectBuilder();
+        JsonObjectBuilder locationBuilder = factories.builders().createObjectBuilder();
         locationBuilder.add("city", "Metropolis")
                        .add("planet", "Earth");
         builder.add("location", locationBuilder);
         
         // Agregar un array
-        JsonArrayBuilder abilitiesBuilder = Json.createArrayBuilder();
+        JsonArrayBuilder abilitiesBuilder = factories.builders().createArrayBuilder();
         abilitiesBuilder.add("Super strength")
                        .add("Flight")
                        .add("Heat vision")
@@ -56,24 +96,24 @@ public class JsonProcessingService {
      * Crea un JsonArray de héroes.
      */
     public JsonArray createHeroesJsonArray() {
-        JsonArrayBuilder arrayBuilder = Json.createArrayBuilder();
+        JsonArrayBuilder arrayBuilder = factories.builders().createArrayBuilder();
         
         // Primer héroe
-        JsonObjectBuilder hero1Builder = Json.createObjectBuilder();
+        JsonObjectBuilder hero1Builder = factories.builders().createObjectBuilder();
         hero1Builder.add("name", "Superman")
                     .add("powerLevel", 95)
                     .add("power", "Super strength");
         arrayBuilder.add(hero1Builder);
         
         // Segundo héroe
-        JsonObjectBuilder hero2Builder = Json.createObjectBuilder();
+        JsonObjectBuilder hero2Builder = factories.builders().createObjectBuilder();
         hero2Builder.add("name", "Batman")
                     .add("powerLevel", 85)
                     .add("power", "Intelligence");
         arrayBuilder.add(hero2Builder);
         
         // Tercer héroe
-        JsonObjectBuilder hero3Builder = Json.createObjectBuilder();
+        JsonObjectBuilder hero3Builder = factories.builders().createObjectBuilder();
         hero3Builder.add("name", "Wonder Woman")
                     .add("powerLevel", 90)
                     .add("power", "Super strength");
@@ -86,7 +126,7 @@ public class JsonProcessingService {
      * Parsea un JSON string a JsonObject.
      */
     public JsonObject parseJsonString(String jsonString) {
-        JsonReader reader = Json.createReader(new StringReader(jsonString));
+        JsonReader reader = factories.readers().createReader(new StringReader(jsonString));
         JsonObject jsonObject = reader.readObject();
         reader.close();
         return jsonObject;
@@ -96,7 +136,7 @@ public class JsonProcessingService {
      * Parsea un JSON array string a JsonArray.
      */
     public JsonArray parseJsonArrayString(String jsonArrayString) {
-        JsonReader reader = Json.createReader(new StringReader(jsonArrayString));
+        JsonReader reader = factories.readers().createReader(new StringReader(jsonArrayString));
         JsonArray jsonArray = reader.readArray();
         reader.close();
         return jsonArray;
@@ -107,9 +147,7 @@ public class JsonProcessingService {
      */
     public String jsonObjectToString(JsonObject jsonObject) {
         StringWriter writer = new StringWriter();
-        JsonWriter jsonWriter = Json.createWriterFactory(
-            Map.of(JsonGenerator.PRETTY_PRINTING, true)
-        ).createWriter(writer);
+        JsonWriter jsonWriter = factories.prettyWriters().createWriter(writer);
         jsonWriter.writeObject(jsonObject);
         jsonWriter.close();
         return writer.toString();
@@ -120,19 +158,18 @@ public class JsonProcessingService {
      */
     public String jsonArrayToString(JsonArray jsonArray) {
         StringWriter writer = new StringWriter();
-        JsonWriter jsonWriter = Json.createWriterFactory(
-            Map.of(JsonGenerator.PRETTY_PRINTING, true)
-        ).createWriter(writer);
+        JsonWriter jsonWriter = factories.prettyWriters().createWriter(writer);
         jsonWriter.writeArray(jsonArray);
         jsonWriter.close();
         return writer.toString();
     }
     
     /**
-     * Query JSON usando JsonPointer (RFC 6901).
+     * Query JSON usando JsonPointer (RFC 6901). Los punteros se compilan una vez y se
+     * reutilizan desde JsonOperationCache.
      */
     public JsonValue queryJson(JsonObject jsonObject, String pointerPath) {
-        JsonPointer pointer = Json.createPointer(pointerPath);
+        JsonPointer pointer = operationCache.pointer(pointerPath);
         return pointer.getValue(jsonObject);
     }
     
@@ -140,7 +177,7 @@ public class JsonProcessingService {
      * Modifica JSON usando JsonPointer.
      */
     public JsonObject modifyJson(JsonObject jsonObject, String pointerPath, JsonValue newValue) {
-        JsonPointer pointer = Json.createPointer(pointerPath);
+        JsonPointer pointer = operationCache.pointer(pointerPath);
         return pointer.add(jsonObject, newValue);
     }
     
@@ -148,7 +185,7 @@ public class JsonProcessingService {
      * Elimina un campo usando JsonPointer.
      */
     public JsonObject removeFromJson(JsonObject jsonObject, String pointerPath) {
-        JsonPointer pointer = Json.createPointer(pointerPath);
+        JsonPointer pointer = operationCache.pointer(pointerPath);
         return pointer.remove(jsonObject);
     }
     
@@ -156,25 +193,77 @@ public class JsonProcessingService {
      * Transforma un JsonObject usando JsonPatch (RFC 6902).
      */
     public JsonObject transformJson(JsonObject original, JsonArray patchOperations) {
-        JsonPatch patch = Json.createPatch(patchOperations);
+        JsonPatch patch = operationCache.patch(patchOperations);
         return patch.apply(original);
     }
     
+    /**
+     * Aplica un mismo patch, compilado una sola vez, a todos los documentos de un lote. Los
+     * lotes grandes se reparten entre los hilos del ForkJoinPool común; el resultado
+     * conserva el orden de entrada.
+     *
+     * Un documento que no es un objeto o en el que el patch falla no aborta el lote: queda
+     * como null en "results" y su índice y error se añaden a "errors".
+     *
+     * @throws JsonException si el patch está mal formado
+     */
+    public JsonObject applyPatchBatch(JsonArray patchOperations, JsonArray documents) {
+        CompiledJsonPatch patch = operationCache.patch(patchOperations);
+        IntStream indexes = IntStream.range(0, documents.size());
+        if (documents.size() >= PARALLEL_BATCH_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        JsonValue[] results = new JsonValue[documents.size()];
+        String[] errors = new String[documents.size()];
+        indexes.forEach(i -> {
+            JsonValue document = documents.get(i);
+            if (document.getValueType() != JsonValue.ValueType.OBJECT) {
+                results[i] = JsonValue.NULL;
+                errors[i] = "Document is not a JSON object";
+                return;
+            }
+            try {
+                results[i] = patch.apply(document.asJsonObject());
+            } catch (JsonException e) {
+                results[i] = JsonValue.NULL;
+                errors[i] = e.getMessage();
+            }
+        });
+        
+        JsonArrayBuilder resultsBuilder = factories.builders().createArrayBuilder();
+        JsonArrayBuilder errorsBuilder = factories.builders().createArrayBuilder();
+        int applied = 0;
+        for (int i = 0; i < results.length; i++) {
+            resultsBuilder.add(results[i]);
+            if (errors[i] == null) {
+                applied++;
+            } else {
+                errorsBuilder.add(factories.builders().createObjectBuilder().add("index", i).add("error", errors[i]));
+            }
+        }
+        return factories.builders().createObjectBuilder()
+                .add("applied", applied)
+                .add("failed", results.length - applied)
+                .add("results", resultsBuilder)
+                .add("errors", errorsBuilder)
+                .build();
+    }
+    
     /**
      * Crea operaciones de patch para actualizar un héroe.
      */
     public JsonArray createPatchOperations() {
-        JsonArrayBuilder patchBuilder = Json.createArrayBuilder();
+        JsonArrayBuilder patchBuilder = factories.builders().createArrayBuilder();
         
         // Operación: reemplazar powerLevel
-        JsonObjectBuilder replaceOp = Json.createObjectBuilder();
+        JsonObjectBuilder replaceOp = factories.builders().createObjectBuilder();
         replaceOp.add("op", "replace")
                  .add("path", "/powerLevel")
                  .add("value", 98);
         patchBuilder.add(replaceOp);
         
         // Operación: agregar nuevo campo
-        JsonObjectBuilder addOp = Json.createObjectBuilder();
+        JsonObjectBuilder addOp = factories.builders().createObjectBuilder();
         addOp.add("op", "add")
              .add("path", "/newField")
              .add("value", "newValue");
@@ -192,7 +281,7 @@ public class JsonProcessingService {
         List<String> keys = new ArrayList<>();
         List<Object> values = new ArrayList<>();
         
-        JsonParser parser = Json.createParser(new StringReader(jsonString));
+        JsonParser parser = factories.parsers().createParser(new StringReader(jsonString));
         
         while (parser.hasNext()) {
             JsonParser.Event event = parser.next();
@@ -241,9 +330,7 @@ public class JsonProcessingService {
      */
     public String generateJsonStreaming() {
         StringWriter writer = new StringWriter();
-        JsonGenerator generator = Json.createGeneratorFactory(
-            Map.of(JsonGenerator.PRETTY_PRINTING, true)
-        ).createGenerator(writer);
+        JsonGenerator generator = factories.prettyGenerators().createGenerator(writer);
         
         generator.writeStartObject()
                  .write("name", "Superman")
@@ -267,16 +354,20 @@ public class JsonProcessingService {
      * Filtra héroes de un JsonArray por nivel de poder mínimo.
      */
     public JsonArray filterHeroesByPowerLevel(JsonArray heroesArray, int minPowerLevel) {
-        JsonArrayBuilder filteredBuilder = Json.createArrayBuilder();
+        if (heroesArray.size() >= PARALLEL_FILTER_THRESHOLD) {
+            // JsonArray es de acceso aleatorio: el stream paralelo lo parte por índices y
+            // conserva el orden al recoger
+            List<JsonValue> filtered = heroesArray.parallelStream()
+                    .filter(heroValue -> hasPowerLevel(heroValue, minPowerLevel))
+                    .toList();
+            return factories.builders().createArrayBuilder(filtered).build();
+        }
+        
+        JsonArrayBuilder filteredBuilder = factories.builders().createArrayBuilder();
         
         for (JsonValue heroValue : heroesArray) {
-            if (heroValue.getValueType() == JsonValue.ValueType.OBJECT) {
-                JsonObject hero = heroValue.asJsonObject();
-                int powerLevel = hero.getInt("powerLevel", 0);
-                
-                if (powerLevel >= minPowerLevel) {
-                    filteredBuilder.add(hero);
-                }
+            if (hasPowerLevel(heroValue, minPowerLevel)) {
+                filteredBuilder.add(heroValue);
             }
         }
         
@@ -284,47 +375,229 @@ public class JsonProcessingService {
     }
     
     /**
-     * Combina múltiples JsonObjects.
+     * Filtro por rango de powerLevel, grupos por tramos de nivel y top-K sobre un array de
+     * héroes, calculados en paralelo por HeroAnalytics.
+     */
+    public JsonObject analyzeHeroes(JsonArray heroes, HeroAnalytics.Query query) {
+        HeroAnalytics.Result result = HeroAnalytics.analyze(heroes, query);
+        
+        JsonArrayBuilder groups = factories.builders().createArrayBuilder();
+        result.buckets().forEach((from, count) -> groups.add(factories.builders().createObjectBuilder()
+                .add("from", from)
+                .add("to", from + query.bucketSize() - 1)
+                .add("count", count)));
+        JsonArrayBuilder top = factories.builders().createArrayBuilder();
+        result.top().forEach(ranked -> top.add(ranked.hero()));
+        
+        JsonObjectBuilder builder = factories.builders().createObjectBuilder()
+                .add("scanned", result.scanned())
+                .add("matched", result.matched());
+        if (result.matched() > 0) {
+            builder.add("minPowerLevel", result.min())
+                   .add("maxPowerLevel", result.max())
+                   .add("averagePowerLevel", (double) result.sum() / result.matched());
+        }
+        return builder.add("groups", groups)
+                      .add("top", top)
+                      .build();
+    }
+    
+    /**
+     * true si value es un héroe (objeto) con powerLevel >= minPowerLevel.
+     */
+    public boolean hasPowerLevel(JsonValue value, int minPowerLevel) {
+        return value.getValueType() == JsonValue.ValueType.OBJECT
+                && value.asJsonObject().getInt("powerLevel", 0) >= minPowerLevel;
+    }
+    
+    /**
+     * Copia de hero con solo los campos indicados, en ese orden. Una lista vacía deja el
+     * objeto intacto.
+     */
+    public JsonObject projectFields(JsonObject hero, List<String> fields) {
+        if (fields.isEmpty()) {
+            return hero;
+        }
+        JsonObjectBuilder builder = factories.builders().createObjectBuilder();
+        for (String field : fields) {
+            JsonValue value = hero.get(field);
+            if (value != null) {
+                builder.add(field, value);
+            }
+        }
+        return builder.build();
+    }
+    
+    /**
+     * Lee los elementos de un array JSON de forma incremental: cada elemento se materializa
+     * cuando el Stream lo pide, así que el tamaño del array no influye en la memoria usada.
+     * El primer token se comprueba al llamar; el Stream debe cerrarse para liberar el parser.
+     *
+     * @throws IllegalArgumentException si la entrada no empieza por un array
+     */
+    public Stream<JsonValue> readJsonArray(InputStream input) {
+        JsonParser parser = factories.parsers().createParser(input);
+        boolean array;
+        try {
+            array = parser.hasNext() && parser.next() == JsonParser.Event.START_ARRAY;
+        } catch (JsonParsingException e) {
+            parser.close();
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        if (!array) {
+            parser.close();
+            throw new IllegalArgumentException("Expected a JSON array");
+        }
+        return parser.getArrayStream().onClose(parser::close);
+    }
+    
+    /**
+     * Lee NDJSON (un valor JSON por línea) de forma incremental. Las líneas vacías se ignoran.
+     * El Stream debe cerrarse para liberar la entrada.
+     */
+    public Stream<JsonValue> readNdjson(InputStream input) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long[] lineNumber = {0};
+        return reader.lines()
+                .filter(line -> {
+                    lineNumber[0]++;
+                    return !line.isBlank();
+                })
+                .map(line -> {
+                    try (JsonReader lineReader = factories.readers().createReader(new StringReader(line))) {
+                        return lineReader.readValue();
+                    } catch (JsonParsingException e) {
+                        throw new JsonParsingException("Invalid JSON at line " + lineNumber[0] + ": "
+                                + e.getMessage(), e, e.getLocation());
+                    }
+                })
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+    
+    /**
+     * Filtro y transformación por elemento de los endpoints de streaming: héroes con
+     * powerLevel >= minPowerLevel, proyectados sobre fields.
+     */
+    public Stream<JsonObject> filterHeroesStreaming(Stream<JsonValue> heroes, int minPowerLevel, List<String> fields) {
+        return heroes
+                .filter(hero -> hasPowerLevel(hero, minPowerLevel))
+                .map(hero -> projectFields(hero.asJsonObject(), fields));
+    }
+    
+    /**
+     * Escribe values en output como un array JSON a medida que el Stream los produce, con un
+     * único JsonGenerator. Cierra el Stream al terminar.
+     */
+    public long writeJsonArray(Stream<? extends JsonValue> values, OutputStream output) {
+        long written = 0;
+        try (values; JsonGenerator generator = factories.generators().createGenerator(output, StandardCharsets.UTF_8)) {
+            generator.writeStartArray();
+            Iterator<? extends JsonValue> iterator = values.iterator();
+            while (iterator.hasNext()) {
+                generator.write(iterator.next());
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEnd();
+        }
+        return written;
+    }
+    
+    /**
+     * Escribe values en output como NDJSON, un valor por línea. Cierra el Stream al terminar.
+     */
+    public long writeNdjson(Stream<? extends JsonValue> values, OutputStream output) throws IOException {
+        long written = 0;
+        try (values; Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            Iterator<? extends JsonValue> iterator = values.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next().toString());
+                writer.write('\n');
+                if (++written % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        return written;
+    }
+    
+    /**
+     * Combina múltiples JsonObjects. Las claves de obj2 sustituyen a las de obj1; solo se
+     * construye un objeto nuevo si alguna cambia el valor, si no se devuelve obj1.
      */
     public JsonObject mergeJsonObjects(JsonObject obj1, JsonObject obj2) {
-        JsonObjectBuilder mergedBuilder = Json.createObjectBuilder(obj1);
+        JsonObjectBuilder mergedBuilder = null;
         
         // Agregar campos del segundo objeto
         for (Map.Entry<String, JsonValue> entry : obj2.entrySet()) {
-            mergedBuilder.add(entry.getKey(), entry.getValue());
+            if (!entry.getValue().equals(obj1.get(entry.getKey()))) {
+                if (mergedBuilder == null) {
+                    mergedBuilder = factories.builders().createObjectBuilder(obj1);
+                }
+                mergedBuilder.add(entry.getKey(), entry.getValue());
+            }
         }
         
-        return mergedBuilder.build();
+        return mergedBuilder != null ? mergedBuilder.build() : obj1;
+    }
+    
+    /**
+     * Aplica un JSON Merge Patch (RFC 7396). Los subárboles que el patch no toca se
+     * comparten con target en lugar de copiarse.
+     */
+    public JsonValue mergePatch(JsonValue target, JsonValue patch) {
+        return JsonDiffs.mergePatch(target, patch, factories.builders());
+    }
+    
+    /**
+     * Merge patch (RFC 7396) mínimo que convierte source en target.
+     */
+    public JsonValue mergeDiff(JsonValue source, JsonValue target) {
+        return JsonDiffs.mergeDiff(source, target, factories.builders());
+    }
+    
+    /**
+     * Operaciones JSON Patch (RFC 6902) que convierten source en target.
+     */
+    public JsonArray diffJson(JsonValue source, JsonValue target) {
+        return JsonDiffs.diff(source, target, factories.builders());
     }
     
     /**
      * Crea un JSON complejo con múltiples niveles de anidación.
      */
     public JsonObject createComplexJson() {
-        JsonObjectBuilder teamBuilder = Json.createObjectBuilder();
+        JsonObjectBuilder teamBuilder = factories.builders().createObjectBuilder();
         teamBuilder.add("name", "Justice League")
                    .add("formationDate", "1960-02-01");
         
-        JsonArrayBuilder membersBuilder = Json.createArrayBuilder();
+        JsonArrayBuilder membersBuilder = factories.builders().createArrayBuilder();
         
         // Miembro 1
-        JsonObjectBuilder member1 = Json.createObjectBuilder();
+        JsonObjectBuilder member1 = factories.builders().createObjectBuilder();
         member1.add("name", "Superman")
                .add("powerLevel", 95)
                .add("role", "Leader");
         
-        JsonArrayBuilder abilities1 = Json.createArrayBuilder();
+        JsonArrayBuilder abilities1 = factories.builders().createArrayBuilder();
         abilities1.add("Super strength").add("Flight").add("Heat vision");
         member1.add("abilities", abilities1);
         membersBuilder.add(member1);
         
         // Miembro 2
-        JsonObjectBuilder member2 = Json.createObjectBuilder();
+        JsonObjectBuilder member2 = factories.builders().createObjectBuilder();
         member2.add("name", "Batman")
                .add("powerLevel", 85)
                .add("role", "Strategist");
         
-        JsonArrayBuilder abilities2 = Json.createArrayBuilder();
+        JsonArrayBuilder abilities2 = factories.builders().createArrayBuilder();
         abilities2.add("Intelligence").add("Martial arts").add("Technology");
         member2.add("abilities", abilities2);
         membersBuilder.add(member2);
@@ -332,11 +605,11 @@ public class JsonProcessingService {
         teamBuilder.add("members", membersBuilder);
         
         // Headquarters
-        JsonObjectBuilder hqBuilder = Json.createObjectBuilder();
+        JsonObjectBuilder hqBuilder = factories.builders().createObjectBuilder();
         hqBuilder.add("city", "Washington D.C.")
                  .add("country", "USA");
         
-        JsonObjectBuilder coordsBuilder = Json.createObjectBuilder();
+        JsonObjectBuilder coordsBuilder = factories.builders().createObjectBuilder();
         coordsBuilder.add("latitude", new BigDecimal("38.9072"))
                      .add("longitude", new BigDecimal("-77.0369"));
         hqBuilder.add("coordinates", coordsBuilder);
@@ -2,6 +2,7 @@ package com.jakartaee.transactions.config;
 
 import com.jakartaee.common.entities.Hero;
 import com.jakartaee.common.entities.Villain;
+import com.jakartaee.transactions.service.PowerLedgerService;
 import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
@@ -23,6 +24,9 @@ public class DataInitializer {
     @Inject
     EntityManager entityManager;
     
+    @Inject
+    PowerLedgerService powerLedger;
+    
     @Transactional
     void onStart(@Observes StartupEvent ev) {
         try {
@@ -58,6 +62,11 @@ public class DataInitializer {
             greenLantern.setDescription("Portador del anillo de poder");
             entityManager.persist(greenLantern);
             
+            // Poder inicial de cada héroe en el libro mayor
+            for (Hero hero : new Hero[] {superman, batman, wonderWoman, flash, greenLantern}) {
+                powerLedger.open(hero);
+            }
+            
             // Crear villanos
             Villain joker = new Villain("Joker", "Caos, inteligencia criminal", 80);
             joker.setDescription("El payaso príncipe del crimen");
@@ -8,11 +8,18 @@ import java.time.LocalDateTime;
  * Demuestra transacciones con múltiples operaciones.
  */
 @Entity
-@Table(name = "battles")
+@Table(name = "battles", indexes = {
+    @Index(name = "idx_battles_started", columnList = "started_at, id"),
+    @Index(name = "idx_battles_hero", columnList = "hero_id, started_at, id"),
+    @Index(name = "idx_battles_villain", columnList = "villain_id, started_at, id")
+})
 public class Battle {
     
+    // Secuencia con asignación por bloques: a diferencia de IDENTITY, permite que
+    // Hibernate agrupe los INSERT en lotes JDBC (ver torneos)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "battles_seq")
+    @SequenceGenerator(name = "battles_seq", sequenceName = "battles_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "hero_id", nullable = false)
@@ -48,7 +55,9 @@ public class Battle {
     
     @PrePersist
     protected void onCreate() {
-        startedAt = LocalDateTime.now();
+        if (startedAt == null) {
+            startedAt = LocalDateTime.now();
+        }
     }
     
     // Constructors
@@ -0,0 +1,84 @@
+package com.jakartaee.transactions.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Clave de idempotencia de una petición de escritura (cabecera Idempotency-Key).
+ *
+ * Se inserta antes de ejecutar la operación (resourceId a null: en curso) y se completa
+ * con el id de la transferencia o batalla creada. La clave primaria es la propia clave,
+ * así que dos peticiones con la misma clave no pueden reclamarla a la vez, ni siquiera
+ * desde instancias distintas de la aplicación.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_expires", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+    
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+    
+    @Column(nullable = false, length = 32, updatable = false)
+    private String operation;
+    
+    // Hash de la operación y sus parámetros: la misma clave con otro cuerpo es un error del cliente
+    @Column(nullable = false, updatable = false)
+    private Long fingerprint;
+    
+    @Column(name = "resource_id")
+    private Long resourceId;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    // Constructors
+    public IdempotencyRecord() {
+    }
+    
+    public IdempotencyRecord(String key, String operation, Long fingerprint, LocalDateTime expiresAt) {
+        this.key = key;
+        this.operation = operation;
+        this.fingerprint = fingerprint;
+        this.createdAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+    
+    public String getOperation() {
+        return operation;
+    }
+    
+    public Long getFingerprint() {
+        return fingerprint;
+    }
+    
+    public Long getResourceId() {
+        return resourceId;
+    }
+    
+    public void setResourceId(Long resourceId) {
+        this.resourceId = resourceId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,104 @@
+package com.jakartaee.transactions.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de la bandeja de salida (transactional outbox). Se inserta en la misma
+ * transacción que el cambio que describe, así que existe si y solo si ese cambio se
+ * confirmó. OutboxRelay le asigna un número de secuencia, lo entrega a los suscriptores y
+ * lo marca como publicado.
+ *
+ * Los ids IDENTITY se reservan al insertar, no al confirmar: un id bajo puede confirmarse
+ * después que uno alto. La secuencia la asigna un único hilo a eventos ya confirmados, así
+ * que sigue el orden de publicación y es la que usan los consumidores para ponerse al día.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_published", columnList = "published_at, id"),
+    @Index(name = "idx_outbox_events_sequence", columnList = "relay_sequence", unique = true)
+})
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "aggregate_type", nullable = false, updatable = false, length = 32)
+    private String aggregateType; // PowerTransfer, Battle, Tournament
+    
+    @Column(name = "aggregate_id", updatable = false)
+    private Long aggregateId;
+    
+    @Column(name = "event_type", nullable = false, updatable = false, length = 64)
+    private String eventType;
+    
+    @Column(nullable = false, updatable = false, length = 4000)
+    private String payload; // JSON
+    
+    @Column(name = "relay_sequence")
+    private Long sequence;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public OutboxEvent() {
+    }
+    
+    public OutboxEvent(String aggregateType, Long aggregateId, String eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getAggregateType() {
+        return aggregateType;
+    }
+    
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public Long getSequence() {
+        return sequence;
+    }
+    
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+    
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
@@ -0,0 +1,86 @@
+package com.jakartaee.transactions.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Evento del libro mayor de poder (append-only): cada cambio en el poder de un héroe
+ * se registra como un delta. El saldo de un héroe es la suma de sus deltas, partiendo
+ * del último PowerSnapshot.
+ *
+ * Los eventos nunca se actualizan ni se borran.
+ */
+@Entity
+@Table(name = "power_events", indexes = {
+    @Index(name = "idx_power_events_hero_id", columnList = "hero_id, id"),
+    @Index(name = "idx_power_events_hero_time", columnList = "hero_id, occurred_at")
+})
+public class PowerEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "hero_id", nullable = false, updatable = false)
+    private Long heroId;
+    
+    @Column(nullable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private EventType type;
+    
+    @Column(nullable = false, updatable = false)
+    private Integer delta;
+    
+    @Column(name = "reference_id", updatable = false)
+    private Long referenceId; // Id de la PowerTransfer o Battle que originó el evento
+    
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        if (occurredAt == null) {
+            occurredAt = LocalDateTime.now();
+        }
+    }
+    
+    // Constructors
+    public PowerEvent() {
+    }
+    
+    public PowerEvent(Long heroId, EventType type, Integer delta, Long referenceId) {
+        this.heroId = heroId;
+        this.type = type;
+        this.delta = delta;
+        this.referenceId = referenceId;
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getHeroId() {
+        return heroId;
+    }
+    
+    public EventType getType() {
+        return type;
+    }
+    
+    public Integer getDelta() {
+        return delta;
+    }
+    
+    public Long getReferenceId() {
+        return referenceId;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+    
+    public enum EventType {
+        OPENING, TRANSFER_OUT, TRANSFER_IN, BATTLE, TOURNAMENT, ADJUSTMENT
+    }
+}
@@ -0,0 +1,64 @@
+package com.jakartaee.transactions.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Instantánea del saldo de poder de un héroe tras aplicar todos sus eventos hasta
+ * lastEventId (inclusive). Reconstruir el saldo solo requiere sumar los eventos
+ * posteriores a la instantánea más reciente.
+ */
+@Entity
+@Table(name = "power_snapshots", indexes = {
+    @Index(name = "idx_power_snapshots_hero_event", columnList = "hero_id, last_event_id")
+})
+public class PowerSnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "hero_id", nullable = false, updatable = false)
+    private Long heroId;
+    
+    @Column(name = "last_event_id", nullable = false, updatable = false)
+    private Long lastEventId;
+    
+    @Column(name = "as_of", nullable = false, updatable = false)
+    private LocalDateTime asOf; // occurredAt del último evento incluido
+    
+    @Column(nullable = false, updatable = false)
+    private Integer balance;
+    
+    // Constructors
+    public PowerSnapshot() {
+    }
+    
+    public PowerSnapshot(Long heroId, Long lastEventId, LocalDateTime asOf, Integer balance) {
+        this.heroId = heroId;
+        this.lastEventId = lastEventId;
+        this.asOf = asOf;
+        this.balance = balance;
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getHeroId() {
+        return heroId;
+    }
+    
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+    
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+    
+    public Integer getBalance() {
+        return balance;
+    }
+}
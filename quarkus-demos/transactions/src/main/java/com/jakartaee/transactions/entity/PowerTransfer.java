@@ -8,7 +8,11 @@ import java.time.LocalDateTime;
  * Demuestra operaciones transaccionales complejas.
  */
 @Entity
-@Table(name = "power_transfers")
+@Table(name = "power_transfers", indexes = {
+    @Index(name = "idx_power_transfers_created", columnList = "created_at, id"),
+    @Index(name = "idx_power_transfers_from_hero", columnList = "from_hero_id, created_at, id"),
+    @Index(name = "idx_power_transfers_to_hero", columnList = "to_hero_id, created_at, id")
+})
 public class PowerTransfer {
     
     @Id
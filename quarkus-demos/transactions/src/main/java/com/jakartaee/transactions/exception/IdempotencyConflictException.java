@@ -0,0 +1,12 @@
+package com.jakartaee.transactions.exception;
+
+/**
+ * Se lanza cuando llega una petición con una Idempotency-Key cuya primera ejecución
+ * todavía no ha terminado. El cliente puede repetirla más tarde con la misma clave.
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String key) {
+        super("A request with Idempotency-Key '" + key + "' is still in progress");
+    }
+}
@@ -0,0 +1,12 @@
+package com.jakartaee.transactions.exception;
+
+/**
+ * Se lanza cuando se reutiliza una Idempotency-Key con una operación o unos parámetros
+ * distintos de los de la petición original.
+ */
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    public IdempotencyKeyReuseException(String key) {
+        super("Idempotency-Key '" + key + "' was already used with a different request");
+    }
+}
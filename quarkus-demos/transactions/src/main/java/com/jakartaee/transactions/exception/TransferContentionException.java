@@ -0,0 +1,19 @@
+package com.jakartaee.transactions.exception;
+
+/**
+ * Se lanza cuando una transferencia no consigue los bloqueos de sus héroes tras agotar
+ * los reintentos. El cliente puede repetir la petición más tarde.
+ */
+public class TransferContentionException extends RuntimeException {
+
+    private final int attempts;
+
+    public TransferContentionException(int attempts, Throwable cause) {
+        super("Transfer aborted after " + attempts + " attempts due to lock contention", cause);
+        this.attempts = attempts;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,319 @@
+package com.jakartaee.transactions.idempotency;
+
+import com.jakartaee.transactions.entity.IdempotencyRecord;
+import com.jakartaee.transactions.exception.IdempotencyConflictException;
+import com.jakartaee.transactions.exception.IdempotencyKeyReuseException;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.Transactional;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ejecuta operaciones de escritura como máximo una vez por Idempotency-Key.
+ *
+ * Un cliente que reintenta tras un timeout recibe el resultado de la petición original
+ * (cargado por id) sin volver a ejecutarla. Las claves viven en dos niveles:
+ * - Un mapa concurrente en memoria con entradas compactas (hash de la petición, id del
+ *   recurso y caducidad) que resuelve los reintentos sin tocar la base de datos y frena
+ *   los duplicados concurrentes de esta instancia.
+ * - La tabla idempotency_keys, que es la fuente de verdad: sobrevive a reinicios y su
+ *   clave primaria impide que dos instancias ejecuten la misma clave.
+ *
+ * Las operaciones completan la clave en su propia transacción con completeInTransaction:
+ * el recurso y la clave completada se confirman juntos, así que no hay ventana en la que
+ * la operación exista y la clave siga en curso. Si una operación no lo hace, la clave se
+ * completa después en otra transacción; si esa escritura falla, esta instancia recuerda
+ * igualmente el resultado y la tabla deja la clave en curso hasta caducar (409 en otras
+ * instancias en lugar de un duplicado).
+ */
+@ApplicationScoped
+public class IdempotencyService {
+    
+    private static final Logger logger = Logger.getLogger(IdempotencyService.class.getName());
+    
+    public static final int MAX_KEY_LENGTH = 255;
+    
+    @Inject
+    IdempotencyStore store;
+    
+    @Inject
+    TransactionSynchronizationRegistry synchronizationRegistry;
+    
+    @ConfigProperty(name = "transactions.idempotency.ttl-minutes", defaultValue = "60")
+    long ttlMinutes;
+    
+    @ConfigProperty(name = "transactions.idempotency.max-entries", defaultValue = "100000")
+    int maxEntries;
+    
+    @ConfigProperty(name = "transactions.idempotency.sweep-interval-seconds", defaultValue = "60")
+    long sweepIntervalSeconds;
+    
+    /**
+     * resourceId a null mientras la primera ejecución está en curso.
+     */
+    private record Entry(long fingerprint, Long resourceId, long expiresAtMillis) {
+        boolean isExpired(long nowMillis) {
+            return expiresAtMillis <= nowMillis;
+        }
+    }
+    
+    /**
+     * Clave que se está ejecutando en este hilo; completed pasa a true cuando la
+     * transacción que la completó confirma.
+     */
+    private static final class InFlight {
+        final String key;
+        volatile boolean completed;
+        
+        InFlight(String key) {
+            this.key = key;
+        }
+    }
+    
+    private static final ThreadLocal<InFlight> IN_FLIGHT = new ThreadLocal<>();
+    
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder inProgressConflicts = new LongAdder();
+    private final LongAdder keyReuses = new LongAdder();
+    private final LongAdder storeLookups = new LongAdder();
+    
+    private volatile boolean running;
+    private Thread sweeper;
+    
+    void onStart(@Observes StartupEvent event) {
+        running = true;
+        sweeper = Thread.ofVirtual().name("idempotency-sweeper").start(this::sweepLoop);
+    }
+    
+    void onStop(@Observes ShutdownEvent event) {
+        running = false;
+        if (sweeper != null) {
+            sweeper.interrupt();
+        }
+    }
+    
+    /**
+     * Ejecuta action una sola vez para key, o devuelve el resultado original cargado con
+     * loader si la clave ya se usó. Sin clave, simplemente ejecuta action.
+     *
+     * @param fingerprint hash de la operación y sus parámetros (ver fingerprint)
+     * @param idOf        id del recurso creado, que es lo único que se guarda
+     */
+    public <T> IdempotentResult<T> execute(String key, String operation, long fingerprint,
+                                           Supplier<T> action, Function<T, Long> idOf,
+                                           Function<Long, Optional<T>> loader) {
+        if (key == null) {
+            return new IdempotentResult<>(action.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        
+        long now = System.currentTimeMillis();
+        long expiresAt = now + TimeUnit.MINUTES.toMillis(ttlMinutes);
+        Entry pending = new Entry(fingerprint, null, expiresAt);
+        Entry existing = entries.putIfAbsent(key, pending);
+        if (existing != null && existing.isExpired(now) && entries.replace(key, existing, pending)) {
+            existing = null;
+        }
+        if (existing != null) {
+            return replay(key, existing, fingerprint, loader);
+        }
+        
+        // Reclamada en esta instancia; la base de datos decide entre instancias
+        IdempotencyRecord claimed;
+        try {
+            claimed = store.claim(key, operation, fingerprint, toDateTime(expiresAt));
+        } catch (PersistenceException e) {
+            // Otra instancia insertó la misma clave a la vez
+            entries.remove(key, pending);
+            claimed = store.find(key);
+            if (claimed == null) {
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            entries.remove(key, pending);
+            throw e;
+        }
+        if (claimed != null) {
+            storeLookups.increment();
+            Entry stored = new Entry(claimed.getFingerprint(), claimed.getResourceId(), toMillis(claimed.getExpiresAt()));
+            if (stored.resourceId() != null) {
+                remember(key, stored);
+            } else {
+                entries.remove(key, pending);
+            }
+            return replay(key, stored, fingerprint, loader);
+        }
+        
+        T value;
+        InFlight inFlight = new InFlight(key);
+        IN_FLIGHT.set(inFlight);
+        try {
+            value = action.get();
+        } catch (RuntimeException e) {
+            entries.remove(key, pending);
+            release(key);
+            throw e;
+        } finally {
+            IN_FLIGHT.remove();
+        }
+        Long resourceId = idOf.apply(value);
+        if (!inFlight.completed) {
+            try {
+                store.complete(key, resourceId);
+            } catch (RuntimeException e) {
+                // La operación ya está confirmada: el cliente recibe su resultado y esta
+                // instancia lo recuerda para los reintentos
+                logger.log(Level.WARNING, "No se pudo completar la clave de idempotencia " + key, e);
+            }
+        }
+        remember(key, new Entry(fingerprint, resourceId, expiresAt));
+        executed.increment();
+        return new IdempotentResult<>(value, false);
+    }
+    
+    /**
+     * Completa la clave que se está ejecutando en este hilo, si la hay, dentro de la
+     * transacción actual. Las operaciones lo llaman en cuanto conocen el id del recurso.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void completeInTransaction(Long resourceId) {
+        InFlight inFlight = IN_FLIGHT.get();
+        if (inFlight == null) {
+            return;
+        }
+        store.completeInTransaction(inFlight.key, resourceId);
+        synchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    inFlight.completed = true;
+                }
+            }
+        });
+    }
+    
+    /**
+     * Hash de 64 bits (FNV-1a) de la operación y sus parámetros.
+     */
+    public static long fingerprint(String operation, Object... parameters) {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, operation);
+        for (Object parameter : parameters) {
+            hash = mix(hash, String.valueOf(parameter));
+        }
+        return hash;
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("executed", executed.sum());
+        stats.put("replayed", replayed.sum());
+        stats.put("inProgressConflicts", inProgressConflicts.sum());
+        stats.put("keyReuses", keyReuses.sum());
+        stats.put("storeLookups", storeLookups.sum());
+        stats.put("cachedKeys", entries.size());
+        stats.put("ttlMinutes", ttlMinutes);
+        return stats;
+    }
+    
+    private <T> IdempotentResult<T> replay(String key, Entry entry, long fingerprint,
+                                           Function<Long, Optional<T>> loader) {
+        if (entry.fingerprint() != fingerprint) {
+            keyReuses.increment();
+            throw new IdempotencyKeyReuseException(key);
+        }
+        if (entry.resourceId() == null) {
+            inProgressConflicts.increment();
+            throw new IdempotencyConflictException(key);
+        }
+        T value = loader.apply(entry.resourceId())
+                .orElseThrow(() -> new IllegalStateException("Resource " + entry.resourceId()
+                        + " for Idempotency-Key '" + key + "' no longer exists"));
+        replayed.increment();
+        return new IdempotentResult<>(value, true);
+    }
+    
+    private void remember(String key, Entry entry) {
+        // Por encima del límite la memoria solo guarda las claves en curso; la tabla sigue
+        // resolviendo los reintentos de las demás
+        if (entries.size() < maxEntries) {
+            entries.put(key, entry);
+        } else {
+            entries.remove(key);
+        }
+    }
+    
+    private void release(String key) {
+        try {
+            store.release(key);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "No se pudo liberar la clave de idempotencia " + key, e);
+        }
+    }
+    
+    private void sweepLoop() {
+        while (running) {
+            try {
+                TimeUnit.SECONDS.sleep(sweepIntervalSeconds);
+                long now = System.currentTimeMillis();
+                entries.values().removeIf(entry -> entry.isExpired(now));
+                int purged = store.purgeExpired(toDateTime(now));
+                if (purged > 0) {
+                    logger.fine(() -> "Claves de idempotencia caducadas eliminadas: " + purged);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Error purgando claves de idempotencia caducadas", e);
+            }
+        }
+    }
+    
+    private static long mix(long hash, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        // Separador para que ("ab", "c") y ("a", "bc") no coincidan
+        hash ^= 0xff;
+        return hash * 0x100000001b3L;
+    }
+    
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+    
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,85 @@
+package com.jakartaee.transactions.idempotency;
+
+import com.jakartaee.transactions.entity.IdempotencyRecord;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistencia de las claves de idempotencia. La reclamación y la liberación se confirman
+ * en su propia transacción: la reclamación tiene que ser visible para otras instancias
+ * antes de ejecutar la operación, independientemente de cómo termine esta. La
+ * finalización se escribe, siempre que se puede, en la transacción de la operación.
+ */
+@ApplicationScoped
+public class IdempotencyStore {
+    
+    @Inject
+    EntityManager entityManager;
+    
+    /**
+     * Reclama la clave. Devuelve null si se ha reclamado, o el registro vigente si ya
+     * existía. Si otra instancia la inserta a la vez, el flush falla por clave primaria
+     * duplicada y el llamador debe volver a leerla con find.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public IdempotencyRecord claim(String key, String operation, long fingerprint, LocalDateTime expiresAt) {
+        IdempotencyRecord existing = entityManager.find(IdempotencyRecord.class, key);
+        if (existing != null) {
+            if (!existing.isExpired(LocalDateTime.now())) {
+                return existing;
+            }
+            entityManager.remove(existing);
+            entityManager.flush();
+        }
+        entityManager.persist(new IdempotencyRecord(key, operation, fingerprint, expiresAt));
+        entityManager.flush();
+        return null;
+    }
+    
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void complete(String key, Long resourceId) {
+        setResourceId(key, resourceId);
+    }
+    
+    /**
+     * Completa la clave dentro de la transacción de la operación: la clave y el recurso
+     * se confirman o se revierten juntos.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void completeInTransaction(String key, Long resourceId) {
+        setResourceId(key, resourceId);
+    }
+    
+    /**
+     * Libera una clave cuya operación falló, para que el cliente pueda reintentarla.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void release(String key) {
+        entityManager.createQuery("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.resourceId IS NULL")
+                .setParameter("key", key)
+                .executeUpdate();
+    }
+    
+    private void setResourceId(String key, Long resourceId) {
+        IdempotencyRecord record = entityManager.find(IdempotencyRecord.class, key);
+        if (record != null) {
+            record.setResourceId(resourceId);
+        }
+    }
+    
+    @Transactional
+    public IdempotencyRecord find(String key) {
+        return entityManager.find(IdempotencyRecord.class, key);
+    }
+    
+    @Transactional
+    public int purgeExpired(LocalDateTime now) {
+        return entityManager.createQuery("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+                .setParameter("now", now)
+                .executeUpdate();
+    }
+}
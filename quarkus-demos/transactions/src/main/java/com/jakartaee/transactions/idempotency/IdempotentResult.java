@@ -0,0 +1,8 @@
+package com.jakartaee.transactions.idempotency;
+
+/**
+ * Resultado de una operación idempotente. replayed indica que no se ha ejecutado de nuevo
+ * sino que se devuelve el resultado de la petición original.
+ */
+public record IdempotentResult<T>(T value, boolean replayed) {
+}
@@ -0,0 +1,97 @@
+package com.jakartaee.transactions.interceptor;
+
+import com.jakartaee.transactions.metrics.TransactionMetrics;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Transactional;
+
+/**
+ * Mide cada método @Transactional. Se ejecuta justo dentro del interceptor de Narayana
+ * (prioridad 200), así que ve la transacción que este ya inició o a la que se unió.
+ *
+ * El atributo value de @Transactional es vinculante, por lo que, igual que Narayana,
+ * hace falta un interceptor por tipo de transacción; todos comparten esta lógica.
+ */
+public abstract class TransactionMetricsInterceptor {
+
+    static final int PRIORITY = Interceptor.Priority.PLATFORM_BEFORE + 201;
+
+    @Inject
+    TransactionMetrics metrics;
+
+    private final Transactional.TxType txType;
+
+    protected TransactionMetricsInterceptor(Transactional.TxType txType) {
+        this.txType = txType;
+    }
+
+    @AroundInvoke
+    public Object measure(InvocationContext context) throws Exception {
+        TransactionMetrics.TxState state = metrics.enter(context.getMethod(), txType);
+        try {
+            return context.proceed();
+        } catch (Exception e) {
+            if (state != null) {
+                state.failed(e);
+            }
+            throw e;
+        }
+    }
+
+    @Interceptor
+    @Transactional(Transactional.TxType.REQUIRED)
+    @Priority(PRIORITY)
+    public static class Required extends TransactionMetricsInterceptor {
+        public Required() {
+            super(Transactional.TxType.REQUIRED);
+        }
+    }
+
+    @Interceptor
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    @Priority(PRIORITY)
+    public static class RequiresNew extends TransactionMetricsInterceptor {
+        public RequiresNew() {
+            super(Transactional.TxType.REQUIRES_NEW);
+        }
+    }
+
+    @Interceptor
+    @Transactional(Transactional.TxType.MANDATORY)
+    @Priority(PRIORITY)
+    public static class Mandatory extends TransactionMetricsInterceptor {
+        public Mandatory() {
+            super(Transactional.TxType.MANDATORY);
+        }
+    }
+
+    @Interceptor
+    @Transactional(Transactional.TxType.SUPPORTS)
+    @Priority(PRIORITY)
+    public static class Supports extends TransactionMetricsInterceptor {
+        public Supports() {
+            super(Transactional.TxType.SUPPORTS);
+        }
+    }
+
+    @Interceptor
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    @Priority(PRIORITY)
+    public static class NotSupported extends TransactionMetricsInterceptor {
+        public NotSupported() {
+            super(Transactional.TxType.NOT_SUPPORTED);
+        }
+    }
+
+    @Interceptor
+    @Transactional(Transactional.TxType.NEVER)
+    @Priority(PRIORITY)
+    public static class Never extends TransactionMetricsInterceptor {
+        public Never() {
+            super(Transactional.TxType.NEVER);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.jakartaee.transactions.metrics;
+
+import io.quarkus.arc.Arc;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Listener de sesión de Hibernate que avisa a TransactionMetrics del primer flush de
+ * cada transacción medida.
+ *
+ * Se registra con hibernate.session.events.auto en application.properties. Hibernate lo
+ * instancia fuera de CDI, por eso obtiene TransactionMetrics a través de Arc.
+ */
+public class TransactionFlushListener implements SessionEventListener {
+
+    private transient TransactionMetrics metrics;
+
+    @Override
+    public void flushStart() {
+        if (metrics == null) {
+            metrics = Arc.container().instance(TransactionMetrics.class).get();
+        }
+        metrics.onFlush();
+    }
+}
@@ -0,0 +1,188 @@
+package com.jakartaee.transactions.metrics;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.PessimisticLockException;
+import jakarta.transaction.RollbackException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import jakarta.transaction.Transactional;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.LockAcquisitionException;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Métricas por método @Transactional: transacciones iniciadas y unidas, commits, rollbacks
+ * clasificados por causa, timeouts, duración y tiempo hasta el primer flush.
+ *
+ * El método que inicia una transacción registra una Synchronization; su afterCompletion
+ * indica si la transacción confirmó o se revirtió y cierra la medición de duración, que
+ * incluye el flush y el commit. Un rollback sin excepción del método es rollbackOnly si
+ * nunca se intentó el commit y commitFailure si falló el flush o el commit: Narayana solo
+ * llama a beforeCompletion cuando va a confirmar. El estado de la transacción en curso se guarda como
+ * recurso del TransactionSynchronizationRegistry, así que viaja con la transacción y no
+ * con el hilo.
+ */
+@ApplicationScoped
+public class TransactionMetrics {
+
+    static final String CAUSE_TIMEOUT = "timeout";
+    static final String CAUSE_ROLLBACK_ONLY = "rollbackOnly";
+    static final String CAUSE_COMMIT = "commitFailure";
+    static final String CAUSE_BUSINESS = "business";
+    static final String CAUSE_LOCK_CONFLICT = "lockConflict";
+    static final String CAUSE_CONSTRAINT = "constraintViolation";
+    static final String CAUSE_PERSISTENCE = "persistence";
+    static final String CAUSE_ERROR = "error";
+
+    private static final Object STATE_KEY = new Object();
+
+    @Inject
+    TransactionSynchronizationRegistry registry;
+
+    @Inject
+    TransactionManager transactionManager;
+
+    private final Map<Method, TransactionStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Llamado por el interceptor al entrar en un método @Transactional, ya dentro de la
+     * transacción que haya decidido Narayana. Devuelve el estado si este método la inició.
+     */
+    public TxState enter(Method method, Transactional.TxType txType) {
+        TransactionStats methodStats = statsFor(method, txType);
+        if (registry.getTransactionKey() == null) {
+            methodStats.recordWithoutTransaction();
+            return null;
+        }
+        if (registry.getResource(STATE_KEY) != null) {
+            methodStats.recordJoined();
+            return null;
+        }
+
+        methodStats.recordStarted();
+        TxState state = new TxState(methodStats);
+        registry.putResource(STATE_KEY, state);
+        try {
+            // No interpuesta: Narayana las llama antes que las interpuestas, como la de la
+            // sesión de Hibernate, así que beforeCompletion se ejecuta antes del flush
+            transactionManager.getTransaction().registerSynchronization(state);
+        } catch (RollbackException | SystemException e) {
+            registry.registerInterposedSynchronization(state);
+        }
+        return state;
+    }
+
+    /**
+     * Llamado por el listener de sesión de Hibernate al empezar un flush.
+     */
+    public void onFlush() {
+        if (registry.getTransactionKey() == null) {
+            return;
+        }
+        TxState state = (TxState) registry.getResource(STATE_KEY);
+        if (state != null && state.firstFlushNanos == 0L) {
+            state.firstFlushNanos = System.nanoTime();
+            state.stats.recordFirstFlush(state.firstFlushNanos - state.startNanos);
+        }
+    }
+
+    public List<Map<String, Object>> snapshots() {
+        List<Map<String, Object>> snapshots = new ArrayList<>();
+        for (TransactionStats methodStats : stats.values()) {
+            snapshots.add(methodStats.snapshot());
+        }
+        snapshots.sort(Comparator.comparing(s -> s.get("class") + "." + s.get("method")));
+        return snapshots;
+    }
+
+    public void reset() {
+        stats.values().forEach(TransactionStats::reset);
+    }
+
+    private TransactionStats statsFor(Method method, Transactional.TxType txType) {
+        TransactionStats methodStats = stats.get(method);
+        if (methodStats != null) {
+            return methodStats;
+        }
+        return stats.computeIfAbsent(method, m -> new TransactionStats(
+                m.getDeclaringClass().getSimpleName(), m.getName(), txType.name()));
+    }
+
+    static String classify(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof PessimisticLockException || t instanceof LockTimeoutException
+                    || t instanceof OptimisticLockException || t instanceof LockAcquisitionException) {
+                return CAUSE_LOCK_CONFLICT;
+            }
+            if (t instanceof ConstraintViolationException) {
+                return CAUSE_CONSTRAINT;
+            }
+        }
+        if (failure instanceof IllegalArgumentException || failure instanceof IllegalStateException) {
+            return CAUSE_BUSINESS;
+        }
+        if (failure instanceof PersistenceException) {
+            return CAUSE_PERSISTENCE;
+        }
+        return CAUSE_ERROR;
+    }
+
+    /**
+     * Estado de la transacción iniciada por un método medido.
+     */
+    public static final class TxState implements Synchronization {
+
+        final TransactionStats stats;
+        final long startNanos = System.nanoTime();
+        final Thread owner = Thread.currentThread();
+        long firstFlushNanos;
+        volatile Throwable failure;
+        volatile boolean commitStarted;
+
+        TxState(TransactionStats stats) {
+            this.stats = stats;
+        }
+
+        public void failed(Throwable failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public void beforeCompletion() {
+            commitStarted = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            boolean committed = status == Status.STATUS_COMMITTED;
+            String cause = null;
+            if (!committed) {
+                // Solo el reaper de Narayana completa la transacción desde otro hilo,
+                // y lo hace al vencer el timeout
+                if (Thread.currentThread() != owner) {
+                    cause = CAUSE_TIMEOUT;
+                } else if (failure != null) {
+                    cause = classify(failure);
+                } else if (commitStarted) {
+                    cause = CAUSE_COMMIT;
+                } else {
+                    cause = CAUSE_ROLLBACK_ONLY;
+                }
+            }
+            stats.recordCompletion(committed, cause, System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.jakartaee.transactions.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estadísticas acumuladas de un método @Transactional.
+ *
+ * Las duraciones y el tiempo hasta el primer flush solo se registran cuando el método
+ * inició la transacción (REQUIRED sin transacción previa, REQUIRES_NEW): si se unió a una
+ * existente, su coste ya está contado en el método que la inició.
+ */
+public class TransactionStats {
+
+    // 2 dígitos significativos = error relativo máximo del 1% por percentil
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String className;
+    private final String methodName;
+    private final String txType;
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder withoutTransaction = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder rollbacks = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final Map<String, LongAdder> rollbackCauses = new ConcurrentHashMap<>();
+
+    private final ConcurrentHistogram duration = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final ConcurrentHistogram timeToFirstFlush = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+    public TransactionStats(String className, String methodName, String txType) {
+        this.className = className;
+        this.methodName = methodName;
+        this.txType = txType;
+    }
+
+    void recordStarted() {
+        started.increment();
+    }
+
+    void recordJoined() {
+        joined.increment();
+    }
+
+    void recordWithoutTransaction() {
+        withoutTransaction.increment();
+    }
+
+    void recordFirstFlush(long nanosSinceStart) {
+        timeToFirstFlush.recordValue(nanosSinceStart);
+    }
+
+    void recordCompletion(boolean committed, String rollbackCause, long durationNanos) {
+        duration.recordValue(durationNanos);
+        if (committed) {
+            commits.increment();
+            return;
+        }
+        rollbacks.increment();
+        rollbackCauses.computeIfAbsent(rollbackCause, cause -> new LongAdder()).increment();
+        if (TransactionMetrics.CAUSE_TIMEOUT.equals(rollbackCause)) {
+            timeouts.increment();
+        }
+    }
+
+    public void reset() {
+        started.reset();
+        joined.reset();
+        withoutTransaction.reset();
+        commits.reset();
+        rollbacks.reset();
+        timeouts.reset();
+        rollbackCauses.clear();
+        duration.reset();
+        timeToFirstFlush.reset();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> causes = new LinkedHashMap<>();
+        rollbackCauses.forEach((cause, count) -> causes.put(cause, count.sum()));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("class", className);
+        stats.put("method", methodName);
+        stats.put("txType", txType);
+        stats.put("started", started.sum());
+        stats.put("joined", joined.sum());
+        stats.put("withoutTransaction", withoutTransaction.sum());
+        stats.put("commits", commits.sum());
+        stats.put("rollbacks", rollbacks.sum());
+        stats.put("timeouts", timeouts.sum());
+        stats.put("rollbackCauses", causes);
+        stats.put("durationMs", percentiles(duration.copy()));
+        stats.put("timeToFirstFlushMs", percentiles(timeToFirstFlush.copy()));
+        return stats;
+    }
+
+    private static Map<String, Object> percentiles(Histogram copy) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("count", copy.getTotalCount());
+        values.put("p50", copy.getValueAtPercentile(50.0) / 1_000_000.0);
+        values.put("p90", copy.getValueAtPercentile(90.0) / 1_000_000.0);
+        values.put("p99", copy.getValueAtPercentile(99.0) / 1_000_000.0);
+        values.put("max", copy.getMaxValue() / 1_000_000.0);
+        values.put("mean", copy.getMean() / 1_000_000.0);
+        return values;
+    }
+}
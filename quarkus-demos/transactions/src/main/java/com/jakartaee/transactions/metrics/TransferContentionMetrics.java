@@ -0,0 +1,89 @@
+package com.jakartaee.transactions.metrics;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de contención de las transferencias de poder: cuánto se espera por los
+ * bloqueos de fila, cuántas transferencias chocan y cuántas se reintentan o se abandonan.
+ *
+ * Todos los contadores son LongAdder para que registrar una métrica no añada a su vez
+ * contención entre los hilos que compiten por los mismos héroes.
+ */
+@ApplicationScoped
+public class TransferContentionMetrics {
+
+    private final LongAdder lockAcquisitions = new LongAdder();
+    private final LongAdder lockWaitNanos = new LongAdder();
+    private final LongAccumulator maxLockWaitNanos = new LongAccumulator(Math::max, 0L);
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder lockConflicts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public void recordLockWait(long nanos) {
+        lockAcquisitions.increment();
+        lockWaitNanos.add(nanos);
+        maxLockWaitNanos.accumulate(nanos);
+    }
+
+    public void recordCompleted() {
+        completed.increment();
+    }
+
+    /**
+     * Transferencia rechazada por reglas de negocio (héroe inexistente, poder insuficiente...).
+     */
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    /**
+     * Timeout de bloqueo o deadlock detectado por la base de datos.
+     */
+    public void recordLockConflict() {
+        lockConflicts.increment();
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordExhausted() {
+        exhausted.increment();
+    }
+
+    public Map<String, Object> snapshot() {
+        long acquisitions = lockAcquisitions.sum();
+        Map<String, Object> lockWait = new LinkedHashMap<>();
+        lockWait.put("acquisitions", acquisitions);
+        lockWait.put("meanMs", acquisitions == 0 ? 0.0 : lockWaitNanos.sum() / (double) acquisitions / 1_000_000.0);
+        lockWait.put("maxMs", maxLockWaitNanos.get() / 1_000_000.0);
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("completed", completed.sum());
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("lockConflicts", lockConflicts.sum());
+        snapshot.put("retries", retries.sum());
+        snapshot.put("exhausted", exhausted.sum());
+        snapshot.put("lockWait", lockWait);
+        return snapshot;
+    }
+
+    public void reset() {
+        lockAcquisitions.reset();
+        lockWaitNanos.reset();
+        maxLockWaitNanos.reset();
+        completed.reset();
+        rejected.reset();
+        lockConflicts.reset();
+        retries.reset();
+        exhausted.reset();
+    }
+}
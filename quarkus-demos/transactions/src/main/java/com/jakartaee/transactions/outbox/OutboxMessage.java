@@ -0,0 +1,26 @@
+package com.jakartaee.transactions.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.jakartaee.transactions.entity.OutboxEvent;
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado por el relay. Se entrega a los observadores CDI
+ * ({@code @Observes OutboxMessage}) y a los clientes del stream SSE.
+ *
+ * sequence es el orden de publicación: crece siempre y es lo que los consumidores guardan
+ * para reanudar (afterSequence, Last-Event-ID). id es la clave del evento en la tabla.
+ */
+public record OutboxMessage(Long sequence,
+                            Long id,
+                            String aggregateType,
+                            Long aggregateId,
+                            String eventType,
+                            @JsonRawValue String payload,
+                            LocalDateTime createdAt) {
+
+    static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getSequence(), event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,157 @@
+package com.jakartaee.transactions.outbox;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Relay de la bandeja de salida: un único hilo que drena los eventos pendientes en lotes
+ * y los publica como eventos CDI ({@code @Observes OutboxMessage}).
+ *
+ * Cada lote se hace en tres pasos: asignar secuencia y confirmar, entregar y marcar como
+ * publicado. Al ser un solo hilo y asignar la secuencia solo a eventos ya confirmados, la
+ * secuencia sigue el orden de publicación aunque los ids se confirmen desordenados.
+ *
+ * Se despierta al confirmar cualquier transacción que haya escrito en la bandeja y, como
+ * red de seguridad, cada poll-interval-ms. Los eventos publicados se purgan pasada la
+ * retención configurada.
+ */
+@ApplicationScoped
+public class OutboxRelay {
+    
+    private static final Logger logger = Logger.getLogger(OutboxRelay.class.getName());
+    
+    @Inject
+    OutboxService outboxService;
+    
+    @Inject
+    Event<OutboxMessage> publisher;
+    
+    @ConfigProperty(name = "transactions.outbox.batch-size", defaultValue = "500")
+    int batchSize;
+    
+    @ConfigProperty(name = "transactions.outbox.poll-interval-ms", defaultValue = "1000")
+    long pollIntervalMs;
+    
+    @ConfigProperty(name = "transactions.outbox.retention-minutes", defaultValue = "60")
+    long retentionMinutes;
+    
+    private final Semaphore wakeUps = new Semaphore(0);
+    private final LongAdder published = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder subscriberErrors = new LongAdder();
+    private final AtomicLong lastPublishedId = new AtomicLong();
+    private final AtomicLong lastSequence = new AtomicLong();
+    
+    private volatile boolean running;
+    private Thread worker;
+    
+    void onStart(@Observes StartupEvent event) {
+        running = true;
+        worker = Thread.ofPlatform().name("outbox-relay").daemon().start(this::relayLoop);
+    }
+    
+    void onStop(@Observes ShutdownEvent event) {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+    
+    void wakeUp() {
+        if (wakeUps.availablePermits() == 0) {
+            wakeUps.release();
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("published", published.sum());
+        stats.put("batches", batches.sum());
+        stats.put("lastPublishedId", lastPublishedId.get());
+        stats.put("lastSequence", lastSequence.get());
+        stats.put("subscriberErrors", subscriberErrors.sum());
+        return stats;
+    }
+    
+    private void relayLoop() {
+        long nextPurge = System.nanoTime();
+        boolean sequenceLoaded = false;
+        while (running) {
+            try {
+                if (!sequenceLoaded) {
+                    lastSequence.set(outboxService.maxSequence());
+                    sequenceLoaded = true;
+                }
+                
+                int relayed;
+                do {
+                    relayed = relayBatch();
+                } while (relayed == batchSize && running);
+                
+                if (System.nanoTime() - nextPurge >= 0) {
+                    outboxService.purgePublishedBefore(LocalDateTime.now().minusMinutes(retentionMinutes));
+                    nextPurge = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+                }
+                
+                wakeUps.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                wakeUps.drainPermits();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Error en el relay de la bandeja de salida, se reintentará", e);
+                sleepQuietly();
+            }
+        }
+    }
+    
+    private int relayBatch() {
+        // Si la asignación hace rollback quedan huecos en la secuencia, pero nunca retrocede
+        List<OutboxMessage> messages = outboxService.claimBatch(batchSize, lastSequence::incrementAndGet);
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        deliver(messages);
+        outboxService.markPublished(messages.stream().map(OutboxMessage::id).toList());
+        return messages.size();
+    }
+    
+    private void deliver(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            try {
+                publisher.fire(message);
+            } catch (RuntimeException e) {
+                // Un suscriptor que falla no debe bloquear al resto ni repetir todo el lote
+                subscriberErrors.increment();
+                logger.log(Level.WARNING, "Un suscriptor falló procesando el evento " + message.id(), e);
+            }
+        }
+        batches.increment();
+        published.add(messages.size());
+        lastPublishedId.set(messages.getLast().id());
+    }
+    
+    private void sleepQuietly() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
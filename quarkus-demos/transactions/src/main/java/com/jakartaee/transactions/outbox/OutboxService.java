@@ -0,0 +1,145 @@
+package com.jakartaee.transactions.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jakartaee.transactions.entity.OutboxEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.Transactional;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Escritura y lectura de la bandeja de salida (transactional outbox).
+ */
+@ApplicationScoped
+public class OutboxService {
+    
+    private static final Object RELAY_NOTIFICATION_KEY = new Object();
+    
+    @Inject
+    EntityManager entityManager;
+    
+    @Inject
+    ObjectMapper objectMapper;
+    
+    @Inject
+    TransactionSynchronizationRegistry synchronizationRegistry;
+    
+    @Inject
+    OutboxRelay relay;
+    
+    /**
+     * Añade un evento a la bandeja de salida dentro de la transacción actual. Cuando esa
+     * transacción confirma, se avisa al relay para que lo publique sin esperar al sondeo.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void append(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload for " + eventType, e);
+        }
+        entityManager.persist(new OutboxEvent(aggregateType, aggregateId, eventType, json));
+        
+        // Una sola notificación por transacción, aunque añada varios eventos
+        if (synchronizationRegistry.getResource(RELAY_NOTIFICATION_KEY) == null) {
+            synchronizationRegistry.putResource(RELAY_NOTIFICATION_KEY, Boolean.TRUE);
+            synchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        relay.wakeUp();
+                    }
+                }
+            });
+        }
+    }
+    
+    /**
+     * Reserva hasta max eventos aún no publicados y les asigna número de secuencia con
+     * nextSequence, en su propia transacción: al volver, la secuencia ya es visible para
+     * los consumidores que se ponen al día, antes de que el relay entregue los eventos.
+     * Los eventos con secuencia de una vuelta anterior sin terminar se devuelven primero y
+     * conservan su número.
+     */
+    @Transactional
+    public List<OutboxMessage> claimBatch(int max, LongSupplier nextSequence) {
+        List<OutboxEvent> events = entityManager.createQuery(
+                "SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL "
+                        + "ORDER BY e.sequence NULLS LAST, e.id", OutboxEvent.class)
+                .setMaxResults(max)
+                .getResultList();
+        
+        List<OutboxMessage> messages = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            if (event.getSequence() == null) {
+                event.setSequence(nextSequence.getAsLong());
+            }
+            messages.add(OutboxMessage.of(event));
+        }
+        return messages;
+    }
+    
+    /**
+     * Marca como publicados los eventos ya entregados. Si no llega a ejecutarse, la
+     * siguiente vuelta los vuelve a entregar con la misma secuencia (at-least-once).
+     */
+    @Transactional
+    public void markPublished(List<Long> ids) {
+        entityManager.createQuery("UPDATE OutboxEvent e SET e.publishedAt = :now WHERE e.id IN :ids")
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+    
+    /**
+     * Mayor secuencia asignada hasta ahora (0 si no hay ninguna).
+     */
+    @Transactional
+    public long maxSequence() {
+        Long max = entityManager.createQuery("SELECT MAX(e.sequence) FROM OutboxEvent e", Long.class)
+                .getSingleResult();
+        return max == null ? 0 : max;
+    }
+    
+    /**
+     * Eventos con secuencia mayor que afterSequence, en orden de publicación, para
+     * consumidores que se ponen al día. A diferencia del id, la secuencia nunca aparece
+     * por detrás de una ya vista, así que no se pierde un evento que confirmó tarde.
+     */
+    @Transactional
+    public List<OutboxMessage> after(long afterSequence, int limit) {
+        return entityManager.createQuery(
+                "SELECT e FROM OutboxEvent e WHERE e.sequence > :afterSequence ORDER BY e.sequence",
+                OutboxEvent.class)
+                .setParameter("afterSequence", afterSequence)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(OutboxMessage::of)
+                .toList();
+    }
+    
+    /**
+     * Borra los eventos publicados antes de cutoff.
+     */
+    @Transactional
+    public int purgePublishedBefore(LocalDateTime cutoff) {
+        return entityManager.createQuery("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+                .setParameter("cutoff", cutoff)
+                .executeUpdate();
+    }
+}
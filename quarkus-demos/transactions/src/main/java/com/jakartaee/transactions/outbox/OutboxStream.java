@@ -0,0 +1,149 @@
+package com.jakartaee.transactions.outbox;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Suscriptor del relay que reenvía cada evento publicado a los clientes SSE conectados.
+ *
+ * Un cliente que reconecta con Last-Event-ID se registra antes de leer lo que se perdió:
+ * los eventos en vivo que llegan mientras tanto se guardan y se envían después, y los que
+ * ya salieron en la recuperación se descartan por secuencia. Así no hay hueco entre la
+ * consulta y el registro ni eventos repetidos.
+ *
+ * La recuperación va por páginas: cada página se envía y se espera a que se escriba antes
+ * de leer la siguiente, de modo que un cliente lento frena la lectura en lugar de
+ * acumular en memoria todo lo pendiente.
+ */
+@ApplicationScoped
+public class OutboxStream {
+
+    private static final int REPLAY_PAGE = 1000;
+
+    @Inject
+    OutboxService outboxService;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registra el cliente y le envía primero los eventos con secuencia mayor que
+     * afterSequence (si no es null) y luego los eventos en vivo.
+     */
+    public void subscribe(SseEventSink sink, Sse sse, Long afterSequence) {
+        Subscriber subscriber = new Subscriber(sink, sse, afterSequence == null ? 0 : afterSequence);
+        subscribers.add(subscriber);
+
+        if (afterSequence != null) {
+            long after = afterSequence;
+            List<OutboxMessage> page;
+            do {
+                page = outboxService.after(after, REPLAY_PAGE);
+                if (!subscriber.replay(page)) {
+                    subscribers.remove(subscriber);
+                    return;
+                }
+                if (!page.isEmpty()) {
+                    after = page.getLast().sequence();
+                }
+            } while (page.size() == REPLAY_PAGE);
+        }
+        subscriber.caughtUp();
+    }
+
+    public int clients() {
+        return subscribers.size();
+    }
+
+    void onMessage(@Observes OutboxMessage message) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sink.isClosed()) {
+                subscribers.remove(subscriber);
+            } else {
+                subscriber.offer(message);
+            }
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEventSink sink;
+        private final Sse sse;
+        private long lastSequence;
+        // Eventos en vivo recibidos durante la recuperación; null cuando ya está al día
+        private List<OutboxMessage> pending = new ArrayList<>();
+
+        Subscriber(SseEventSink sink, Sse sse, long lastSequence) {
+            this.sink = sink;
+            this.sse = sse;
+            this.lastSequence = lastSequence;
+        }
+
+        synchronized void offer(OutboxMessage message) {
+            if (pending != null) {
+                pending.add(message);
+            } else {
+                send(message);
+            }
+        }
+
+        /**
+         * Envía una página de la recuperación y espera a que se escriba. Devuelve false si
+         * el cliente se ha desconectado.
+         */
+        boolean replay(List<OutboxMessage> page) {
+            CompletionStage<?> last = null;
+            synchronized (this) {
+                for (OutboxMessage message : page) {
+                    CompletionStage<?> sent = send(message);
+                    if (sent != null) {
+                        last = sent;
+                    }
+                }
+            }
+            if (last == null) {
+                return !sink.isClosed();
+            }
+            try {
+                // Los envíos sobre la misma conexión se completan en orden
+                last.toCompletableFuture().join();
+                return true;
+            } catch (CompletionException e) {
+                return false;
+            }
+        }
+
+        synchronized void caughtUp() {
+            pending.forEach(this::send);
+            pending = null;
+        }
+
+        private CompletionStage<?> send(OutboxMessage message) {
+            if (message.sequence() <= lastSequence) {
+                return null;
+            }
+            lastSequence = message.sequence();
+            OutboundSseEvent event = sse.newEventBuilder()
+                    .id(String.valueOf(message.sequence()))
+                    .name(message.eventType())
+                    .data(message)
+                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                    .build();
+            return sink.send(event).whenComplete((ignored, failure) -> {
+                if (failure != null) {
+                    subscribers.remove(this);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.jakartaee.transactions.resource;
+
+import com.jakartaee.transactions.service.PowerLedgerService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Recurso REST del libro mayor de poder (event sourcing): saldos reconstruidos,
+ * saldos históricos, eventos e instantáneas.
+ */
+@Path("/api/transactions/ledger")
+@Produces(MediaType.APPLICATION_JSON)
+public class LedgerResource {
+    
+    @Inject
+    PowerLedgerService powerLedger;
+    
+    /**
+     * Saldo de un héroe reconstruido desde el libro mayor, opcionalmente en un instante pasado.
+     * GET /api/transactions/ledger/heroes/1/balance?at=2025-01-01T10:00:00
+     */
+    @GET
+    @Path("/heroes/{heroId}/balance")
+    public Response getBalance(@PathParam("heroId") Long heroId, @QueryParam("at") String at) {
+        if (at == null) {
+            return Response.ok(powerLedger.balance(heroId)).build();
+        }
+        try {
+            return Response.ok(powerLedger.balanceAt(heroId, LocalDateTime.parse(at))).build();
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "Invalid 'at' timestamp, expected ISO-8601 local date-time"))
+                    .build();
+        }
+    }
+    
+    /**
+     * Eventos de un héroe posteriores a afterId.
+     * GET /api/transactions/ledger/heroes/1/events?afterId=0&limit=100
+     */
+    @GET
+    @Path("/heroes/{heroId}/events")
+    public Response getEvents(
+            @PathParam("heroId") Long heroId,
+            @QueryParam("afterId") @DefaultValue("0") long afterId,
+            @QueryParam("limit") @DefaultValue("100") int limit) {
+        return Response.ok(powerLedger.events(heroId, afterId, Math.clamp(limit, 1, 1000))).build();
+    }
+    
+    /**
+     * Fuerza una instantánea del saldo actual de un héroe.
+     * POST /api/transactions/ledger/heroes/1/snapshot
+     */
+    @POST
+    @Path("/heroes/{heroId}/snapshot")
+    public Response takeSnapshot(@PathParam("heroId") Long heroId) {
+        return powerLedger.takeSnapshot(heroId)
+                .map(snapshot -> Response.ok(snapshot).build())
+                .orElse(Response.noContent().build());
+    }
+    
+    /**
+     * Comprueba que Hero.powerLevel coincide con el saldo del libro mayor para todos los héroes.
+     * GET /api/transactions/ledger/verify
+     */
+    @GET
+    @Path("/verify")
+    public Response verify() {
+        var mismatches = powerLedger.verify();
+        return Response.ok(Map.of("consistent", mismatches.isEmpty(), "mismatches", mismatches)).build();
+    }
+}
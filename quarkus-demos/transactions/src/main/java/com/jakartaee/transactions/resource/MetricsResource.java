@@ -0,0 +1,138 @@
+package com.jakartaee.transactions.resource;
+
+import com.jakartaee.transactions.idempotency.IdempotencyService;
+import com.jakartaee.transactions.metrics.TransactionMetrics;
+import com.jakartaee.transactions.metrics.TransferContentionMetrics;
+import com.jakartaee.transactions.outbox.OutboxRelay;
+import com.jakartaee.transactions.outbox.OutboxStream;
+import com.jakartaee.transactions.routing.ReadRouting;
+import com.jakartaee.transactions.service.AsyncBattleProcessor;
+import com.jakartaee.transactions.service.TransferGroupCommitter;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.Map;
+
+/**
+ * Recurso REST que expone las métricas de las operaciones transaccionales.
+ */
+@Path("/api/transactions/metrics")
+@Produces(MediaType.APPLICATION_JSON)
+public class MetricsResource {
+
+    @Inject
+    TransactionMetrics transactionMetrics;
+
+    @Inject
+    TransferContentionMetrics contentionMetrics;
+
+    @Inject
+    TransferGroupCommitter groupCommitter;
+
+    @Inject
+    AsyncBattleProcessor asyncBattles;
+
+    @Inject
+    OutboxRelay outboxRelay;
+
+    @Inject
+    OutboxStream outboxStream;
+
+    @Inject
+    ReadRouting readRouting;
+
+    @Inject
+    IdempotencyService idempotency;
+
+    /**
+     * Métricas por método @Transactional (transacciones iniciadas y unidas, commits,
+     * rollbacks por causa, timeouts, duración y tiempo hasta el primer flush), junto con
+     * la espera por bloqueos de las transferencias.
+     */
+    @GET
+    public Response getTransactionMetrics() {
+        return Response.ok(Map.of(
+                "methods", transactionMetrics.snapshots(),
+                "lockWait", contentionMetrics.snapshot().get("lockWait")
+        )).build();
+    }
+
+    /**
+     * Reinicia las métricas por método.
+     */
+    @DELETE
+    public Response resetTransactionMetrics() {
+        transactionMetrics.reset();
+        return Response.noContent().build();
+    }
+
+    /**
+     * Contención en transferencias: espera por bloqueos, conflictos, reintentos y abandonos.
+     */
+    @GET
+    @Path("/contention")
+    public Response getContentionMetrics() {
+        return Response.ok(contentionMetrics.snapshot()).build();
+    }
+
+    /**
+     * Reinicia los contadores de contención, útil entre ejecuciones de pruebas de carga.
+     */
+    @DELETE
+    @Path("/contention")
+    public Response resetContentionMetrics() {
+        contentionMetrics.reset();
+        return Response.noContent().build();
+    }
+
+    /**
+     * Estadísticas del group commit: lotes aplicados, tamaño medio y máximo, reintentos
+     * individuales tras fallos de lote y peticiones en cola.
+     */
+    @GET
+    @Path("/group-commit")
+    public Response getGroupCommitStats() {
+        return Response.ok(groupCommitter.stats()).build();
+    }
+
+    /**
+     * Estado del pipeline asíncrono de batallas: workers, cola, en curso, terminadas y rechazadas.
+     */
+    @GET
+    @Path("/battles/async")
+    public Response getAsyncBattleStats() {
+        return Response.ok(asyncBattles.stats()).build();
+    }
+
+    /**
+     * Estado del relay de la bandeja de salida: eventos y lotes publicados, último id,
+     * errores de suscriptores y clientes SSE conectados.
+     */
+    @GET
+    @Path("/outbox")
+    public Response getOutboxStats() {
+        var stats = outboxRelay.stats();
+        stats.put("sseClients", outboxStream.clients());
+        return Response.ok(stats).build();
+    }
+
+    /**
+     * Lecturas @ReadOnly por destino: réplica, primaria o unidas a una transacción.
+     */
+    @GET
+    @Path("/read-routing")
+    public Response getReadRoutingMetrics() {
+        return Response.ok(readRouting.stats()).build();
+    }
+
+    /**
+     * Claves de idempotencia: operaciones ejecutadas, reintentos resueltos sin volver a
+     * ejecutar, conflictos con peticiones en curso y claves reutilizadas con otro cuerpo.
+     */
+    @GET
+    @Path("/idempotency")
+    public Response getIdempotencyStats() {
+        return Response.ok(idempotency.stats()).build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.jakartaee.transactions.resource;
+
+import com.jakartaee.transactions.outbox.OutboxService;
+import com.jakartaee.transactions.outbox.OutboxStream;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+/**
+ * Recurso REST de la bandeja de salida: consulta incremental por secuencia y stream SSE de
+ * los eventos de transferencias, batallas y torneos confirmados.
+ */
+@Path("/api/transactions/outbox")
+@Produces(MediaType.APPLICATION_JSON)
+public class OutboxResource {
+    
+    private static final int MAX_REPLAY = 1000;
+    
+    @Inject
+    OutboxService outboxService;
+    
+    @Inject
+    OutboxStream outboxStream;
+    
+    /**
+     * Eventos publicados después de afterSequence, en orden de publicación. El consumidor
+     * guarda la secuencia del último evento recibido y la usa en la siguiente llamada.
+     * GET /api/transactions/outbox?afterSequence=0&limit=100
+     */
+    @GET
+    public Response getEvents(
+            @QueryParam("afterSequence") @DefaultValue("0") long afterSequence,
+            @QueryParam("limit") @DefaultValue("100") int limit) {
+        return Response.ok(outboxService.after(afterSequence, Math.clamp(limit, 1, MAX_REPLAY))).build();
+    }
+    
+    /**
+     * Stream SSE de eventos publicados. El id de cada evento es su secuencia; al reconectar
+     * con Last-Event-ID se reenvían primero los eventos posteriores, sin huecos ni repetidos.
+     * GET /api/transactions/outbox/stream
+     */
+    @GET
+    @Path("/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void stream(@HeaderParam(HttpHeaders.LAST_EVENT_ID_HEADER) Long lastEventId,
+                       @Context SseEventSink eventSink,
+                       @Context Sse sse) {
+        outboxStream.subscribe(eventSink, sse, lastEventId);
+    }
+}
@@ -2,13 +2,37 @@ package com.jakartaee.transactions.resource;
 
 import com.jakartaee.transactions.entity.Battle;
 import com.jakartaee.transactions.entity.PowerTransfer;
+import com.jakartaee.transactions.exception.IdempotencyConflictException;
+import com.jakartaee.transactions.exception.IdempotencyKeyReuseException;
+import com.jakartaee.transactions.exception.TransferContentionException;
+import com.jakartaee.transactions.idempotency.IdempotencyService;
+import com.jakartaee.transactions.idempotency.IdempotentResult;
+import com.jakartaee.transactions.service.AsyncBattleProcessor;
+import com.jakartaee.transactions.service.BattleJob;
+import com.jakartaee.transactions.service.HistoryService;
+import com.jakartaee.transactions.service.Pairing;
+import com.jakartaee.transactions.service.PowerTransferEngine;
+import com.jakartaee.transactions.service.TournamentService;
 import com.jakartaee.transactions.service.TransactionDemoService;
+import com.jakartaee.transactions.service.TransferGroupCommitter;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Recurso REST que demuestra diferentes características de transacciones.
@@ -18,9 +42,30 @@ import java.util.Map;
 @Consumes(MediaType.APPLICATION_JSON)
 public class TransactionResource {
     
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    
     @Inject
     TransactionDemoService transactionService;
     
+    @Inject
+    PowerTransferEngine transferEngine;
+    
+    @Inject
+    TransferGroupCommitter groupCommitter;
+    
+    @Inject
+    AsyncBattleProcessor asyncBattles;
+    
+    @Inject
+    TournamentService tournamentService;
+    
+    @Inject
+    HistoryService historyService;
+    
+    @Inject
+    IdempotencyService idempotency;
+    
     /**
      * Crea un héroe usando transacción básica.
      * GET /api/transactions/hero/create?name=Superman&power=Super strength&powerLevel=95
@@ -41,24 +86,56 @@ public class TransactionResource {
         }
     }
     
+    /**
+     * Obtiene un héroe. Lectura SUPPORTS @ReadOnly: sin transacción, se sirve desde la réplica.
+     * GET /api/transactions/hero/1
+     */
+    @GET
+    @Path("/hero/{id}")
+    public Response getHero(@PathParam("id") Long id) {
+        var hero = transactionService.findHero(id);
+        if (hero == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(Map.of("error", "Hero not found"))
+                    .build();
+        }
+        return Response.ok(hero).build();
+    }
+    
     /**
      * Transfiere poder entre héroes.
      * Demuestra transacción con múltiples operaciones atómicas.
+     * Bloquea ambos héroes en orden de id y reintenta ante contención; si se agotan
+     * los reintentos responde 409 para que el cliente repita la petición.
+     * Con la cabecera Idempotency-Key, un reintento devuelve la transferencia original.
      * POST /api/transactions/power-transfer
      */
     @POST
     @Path("/power-transfer")
-    public Response transferPower(TransferPowerRequest request) {
+    public Response transferPower(TransferPowerRequest request,
+                                  @HeaderParam(IDEMPOTENCY_KEY) String idempotencyKey) {
         try {
-            PowerTransfer transfer = transactionService.transferPower(
-                    request.getFromHeroId(),
-                    request.getToHeroId(),
-                    request.getAmount());
-            return Response.ok(transfer).build();
+            IdempotentResult<PowerTransfer> transfer = idempotency.execute(idempotencyKey, "power-transfer",
+                    IdempotencyService.fingerprint("power-transfer",
+                            request.getFromHeroId(), request.getToHeroId(), request.getAmount()),
+                    () -> transferEngine.transfer(
+                            request.getFromHeroId(),
+                            request.getToHeroId(),
+                            request.getAmount()),
+                    PowerTransfer::getId,
+                    transactionService::getTransferById);
+            return idempotentResponse(transfer);
+        } catch (IdempotencyConflictException | IdempotencyKeyReuseException e) {
+            return idempotencyError(e);
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity(Map.of("error", e.getMessage()))
                     .build();
+        } catch (TransferContentionException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .header("Retry-After", 1)
+                    .entity(Map.of("error", e.getMessage(), "attempts", e.getAttempts()))
+                    .build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(Map.of("error", e.getMessage()))
@@ -66,6 +143,72 @@ public class TransactionResource {
         }
     }
     
+    /**
+     * Transfiere poder mediante group commit: la petición se encola y se aplica junto
+     * con otras en una única transacción. La respuesta llega tras el commit del lote,
+     * sin bloquear el hilo HTTP mientras tanto.
+     * POST /api/transactions/power-transfer/batched
+     */
+    @POST
+    @Path("/power-transfer/batched")
+    public CompletionStage<Response> transferPowerBatched(TransferPowerRequest request) {
+        CompletionStage<PowerTransfer> transfer;
+        try {
+            transfer = groupCommitter.submit(
+                    request.getFromHeroId(),
+                    request.getToHeroId(),
+                    request.getAmount());
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(transferError(e));
+        }
+        return transfer.handle((result, failure) -> failure == null
+                ? Response.ok(result).build()
+                : transferError(failure instanceof CompletionException ? failure.getCause() : failure));
+    }
+    
+    private Response transferError(Throwable e) {
+        if (e instanceof IllegalArgumentException) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
+        if (e instanceof RejectedExecutionException) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", 1)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
+        if (e instanceof TransferContentionException contention) {
+            return Response.status(Response.Status.CONFLICT)
+                    .header("Retry-After", 1)
+                    .entity(Map.of("error", contention.getMessage(), "attempts", contention.getAttempts()))
+                    .build();
+        }
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity(Map.of("error", String.valueOf(e.getMessage())))
+                .build();
+    }
+    
+    private static Response idempotentResponse(IdempotentResult<?> result) {
+        Response.ResponseBuilder response = Response.ok(result.value());
+        if (result.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED, true);
+        }
+        return response.build();
+    }
+    
+    private static Response idempotencyError(RuntimeException e) {
+        // Clave en curso: 409, el cliente puede reintentar. Clave reutilizada con otro cuerpo: 422
+        return e instanceof IdempotencyConflictException
+                ? Response.status(Response.Status.CONFLICT)
+                        .header("Retry-After", 1)
+                        .entity(Map.of("error", e.getMessage()))
+                        .build()
+                : Response.status(422)
+                        .entity(Map.of("error", e.getMessage()))
+                        .build();
+    }
+    
     /**
      * Transfiere poder que falla intencionalmente.
      * Demuestra rollback automático.
@@ -121,12 +264,19 @@ public class TransactionResource {
      */
     @POST
     @Path("/battle")
-    public Response executeBattle(BattleRequest request) {
+    public Response executeBattle(BattleRequest request,
+                                  @HeaderParam(IDEMPOTENCY_KEY) String idempotencyKey) {
         try {
-            Battle battle = transactionService.executeBattle(
-                    request.getHeroId(),
-                    request.getVillainId());
-            return Response.ok(battle).build();
+            IdempotentResult<Battle> battle = idempotency.execute(idempotencyKey, "battle",
+                    IdempotencyService.fingerprint("battle", request.getHeroId(), request.getVillainId()),
+                    () -> transactionService.executeBattle(
+                            request.getHeroId(),
+                            request.getVillainId()),
+                    Battle::getId,
+                    transactionService::getBattleById);
+            return idempotentResponse(battle);
+        } catch (IdempotencyConflictException | IdempotencyKeyReuseException e) {
+            return idempotencyError(e);
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity(Map.of("error", e.getMessage()))
@@ -138,6 +288,158 @@ public class TransactionResource {
         }
     }
     
+    /**
+     * Acepta una batalla para ejecutarla en segundo plano y devuelve 202 con su trackingId.
+     * Con la cola llena responde 503 para que el cliente reduzca el ritmo.
+     * POST /api/transactions/battles/async
+     */
+    @POST
+    @Path("/battles/async")
+    public Response executeBattleAsync(BattleRequest request) {
+        try {
+            BattleJob job = asyncBattles.submit(request.getHeroId(), request.getVillainId());
+            return Response.accepted(job)
+                    .location(URI.create("/api/transactions/battles/async/" + job.getTrackingId()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        } catch (RejectedExecutionException e) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", 1)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
+    }
+    
+    /**
+     * Estado de una batalla asíncrona (polling).
+     * GET /api/transactions/battles/async/{trackingId}
+     */
+    @GET
+    @Path("/battles/async/{trackingId}")
+    public Response getAsyncBattle(@PathParam("trackingId") String trackingId) {
+        return asyncBattles.find(trackingId)
+                .map(job -> Response.ok(job).build())
+                .orElse(Response.status(Response.Status.NOT_FOUND)
+                        .entity(Map.of("error", "Battle job not found"))
+                        .build());
+    }
+    
+    /**
+     * Estado de una batalla asíncrona como Server-Sent Events: un evento por cambio de
+     * estado; el stream se cierra cuando la batalla termina.
+     * GET /api/transactions/battles/async/{trackingId}/events
+     */
+    @GET
+    @Path("/battles/async/{trackingId}/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void streamAsyncBattle(@PathParam("trackingId") String trackingId,
+                                  @Context SseEventSink eventSink,
+                                  @Context Sse sse) {
+        BattleJob battleJob = asyncBattles.find(trackingId)
+                .orElseThrow(() -> new WebApplicationException(Response.status(Response.Status.NOT_FOUND)
+                        .type(MediaType.APPLICATION_JSON)
+                        .entity(Map.of("error", "Battle job not found"))
+                        .build()));
+        
+        // El hilo de la petición y el worker pueden notificar a la vez: los envíos se
+        // serializan en el observador y el evento final sale una sola vez
+        AtomicBoolean finished = new AtomicBoolean();
+        Consumer<BattleJob> listener = new Consumer<>() {
+            private BattleJob.Status lastSent;
+            
+            @Override
+            public synchronized void accept(BattleJob current) {
+                if (finished.get()) {
+                    return;
+                }
+                if (eventSink.isClosed()) {
+                    finished.set(true);
+                    current.removeListener(this);
+                    return;
+                }
+                BattleJob.Status status = current.getStatus();
+                if (status == lastSent) {
+                    return;
+                }
+                if (status.isTerminal() && !finished.compareAndSet(false, true)) {
+                    return;
+                }
+                lastSent = status;
+                var sent = eventSink.send(sse.newEventBuilder()
+                        .name(status.name())
+                        .data(current)
+                        .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                        .build());
+                if (status.isTerminal()) {
+                    current.removeListener(this);
+                    // Cerrar solo cuando el último evento se haya escrito
+                    sent.whenComplete((ignored, failure) -> eventSink.close());
+                }
+            }
+        };
+        if (!battleJob.isDone()) {
+            // Estado actual; si termina antes de registrar el observador, este lo notifica
+            listener.accept(battleJob);
+        }
+        battleJob.onChange(listener);
+    }
+    
+    /**
+     * Ejecuta un torneo: todas las batallas de la lista, en orden, en una sola transacción.
+     * Con includeBattles=true la respuesta incluye cada batalla además del resumen.
+     * POST /api/transactions/tournaments
+     */
+    @POST
+    @Path("/tournaments")
+    public Response runTournament(TournamentRequest request,
+                                  @QueryParam("includeBattles") @DefaultValue("false") boolean includeBattles) {
+        try {
+            List<Pairing> pairings = request == null || request.getPairings() == null
+                    ? List.of()
+                    : request.getPairings().stream()
+                            .map(p -> p == null ? null : new Pairing(p.getHeroId(), p.getVillainId()))
+                            .toList();
+            return Response.ok(tournamentService.runTournament(pairings, includeBattles)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of("error", String.valueOf(e.getMessage())))
+                    .build();
+        }
+    }
+    
+    /**
+     * Ejecuta una operación que supera el timeout de su transacción (5 s).
+     * Tarda unos 6 segundos y termina con rollback; aparece como timeout en las métricas.
+     * POST /api/transactions/timeout-demo
+     */
+    @POST
+    @Path("/timeout-demo")
+    public Response timeoutDemo() {
+        try {
+            transactionService.longRunningOperation();
+            return Response.ok(Map.of("message", "Operation completed")).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of("error", "Interrupted"))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of(
+                        "error", "Transaction timed out and rolled back",
+                        "message", String.valueOf(e.getMessage())
+                    ))
+                    .build();
+        }
+    }
+    
     /**
      * Obtiene todas las transferencias de poder.
      * GET /api/transactions/transfers
@@ -160,6 +462,68 @@ public class TransactionResource {
         return Response.ok(battles).build();
     }
     
+    /**
+     * Historial paginado de transferencias, de la más reciente a la más antigua.
+     * heroId filtra por origen o destino; from/to acotan la ventana [from, to).
+     * GET /api/transactions/transfers/history?heroId=1&from=2025-01-01T00:00:00&limit=50&cursor=...
+     */
+    @GET
+    @Path("/transfers/history")
+    public Response getTransferHistory(
+            @QueryParam("fromHeroId") Long fromHeroId,
+            @QueryParam("toHeroId") Long toHeroId,
+            @QueryParam("heroId") Long heroId,
+            @QueryParam("from") String from,
+            @QueryParam("to") String to,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") @DefaultValue("50") int limit) {
+        try {
+            return Response.ok(historyService.transfers(fromHeroId, toHeroId, heroId,
+                    parseTimestamp(from), parseTimestamp(to), cursor, limit)).build();
+        } catch (DateTimeParseException e) {
+            return invalidTimestamp();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
+    }
+    
+    /**
+     * Historial paginado de batallas, filtrable por héroe, villano y ventana de tiempo.
+     * GET /api/transactions/battles/history?heroId=1&limit=50&cursor=...
+     */
+    @GET
+    @Path("/battles/history")
+    public Response getBattleHistory(
+            @QueryParam("heroId") Long heroId,
+            @QueryParam("villainId") Long villainId,
+            @QueryParam("from") String from,
+            @QueryParam("to") String to,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") @DefaultValue("50") int limit) {
+        try {
+            return Response.ok(historyService.battles(heroId, villainId,
+                    parseTimestamp(from), parseTimestamp(to), cursor, limit)).build();
+        } catch (DateTimeParseException e) {
+            return invalidTimestamp();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
+    }
+    
+    private static LocalDateTime parseTimestamp(String value) {
+        return value == null || value.isBlank() ? null : LocalDateTime.parse(value);
+    }
+    
+    private static Response invalidTimestamp() {
+        return Response.status(Response.Status.BAD_REQUEST)
+                .entity(Map.of("error", "Invalid 'from'/'to' timestamp, expected ISO-8601 local date-time"))
+                .build();
+    }
+    
     /**
      * Obtiene una transferencia por ID.
      * GET /api/transactions/transfers/{id}
@@ -208,6 +572,13 @@ public class TransactionResource {
                 "Automatic rollback on exceptions",
                 "Manual rollback with TransactionManager",
                 "Transaction timeout",
+                "Deadlock-free ordered row locking (PESSIMISTIC_WRITE)",
+                "Group commit of batched power transfers",
+                "Asynchronous battle pipeline with back-pressure (polling and SSE)",
+                "Bulk tournaments resolved in a single transaction",
+                "Keyset-paginated transfer and battle history",
+                "Read-only routing of non-transactional reads to a replica datasource",
+                "Idempotency keys for transfers and battles",
                 "Custom rollback conditions (rollbackOn, dontRollbackOn)",
                 "Nested transactions",
                 "Atomic operations",
@@ -272,5 +643,19 @@ public class TransactionResource {
             this.villainId = villainId;
         }
     }
+    
+    /**
+     * DTO para torneo: lista ordenada de emparejamientos.
+     */
+    public static class TournamentRequest {
+        private List<BattleRequest> pairings;
+        
+        public List<BattleRequest> getPairings() {
+            return pairings;
+        }
+        
+        public void setPairings(List<BattleRequest> pairings) {
+            this.pairings = pairings;
+        }
+    }
 }
-
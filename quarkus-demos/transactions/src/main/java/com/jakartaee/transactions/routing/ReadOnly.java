@@ -0,0 +1,21 @@
+package com.jakartaee.transactions.routing;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un método (o todos los de una clase) como de solo lectura. Las lecturas que no
+ * se ejecutan dentro de una transacción se envían a la réplica, con la sesión de
+ * Hibernate en modo solo lectura y sin flush (ver ReadRouting).
+ *
+ * El método debe obtener el EntityManager con ReadRouting.entityManager().
+ */
+@InterceptorBinding
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnly {
+}
@@ -0,0 +1,26 @@
+package com.jakartaee.transactions.routing;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Aplica el enrutado de solo lectura a los métodos @ReadOnly. Se ejecuta dentro del
+ * interceptor de Narayana, así que ya ve si el método corre en una transacción
+ * (SUPPORTS con transacción, REQUIRED...) o sin ella (NOT_SUPPORTED, NEVER...).
+ */
+@ReadOnly
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 202)
+public class ReadOnlyInterceptor {
+
+    @Inject
+    ReadRouting routing;
+
+    @AroundInvoke
+    public Object route(InvocationContext context) throws Exception {
+        return routing.readOnly(context::proceed);
+    }
+}
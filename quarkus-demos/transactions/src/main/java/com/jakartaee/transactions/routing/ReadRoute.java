@@ -0,0 +1,13 @@
+package com.jakartaee.transactions.routing;
+
+/**
+ * Destino de una lectura @ReadOnly.
+ */
+public enum ReadRoute {
+    /** Sin transacción activa: réplica, sesión de solo lectura. */
+    REPLICA,
+    /** Sin transacción activa y réplica desactivada: primaria, sesión de solo lectura. */
+    PRIMARY,
+    /** Dentro de una transacción: se une a ella en la primaria para leer sus propias escrituras. */
+    TRANSACTION
+}
@@ -0,0 +1,109 @@
+package com.jakartaee.transactions.routing;
+
+import io.quarkus.hibernate.orm.PersistenceUnit;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Enrutado de lecturas entre la base de datos primaria y la réplica.
+ *
+ * Una lectura @ReadOnly sin transacción activa va a la unidad de persistencia "replica",
+ * que usa su propio datasource y pool de conexiones: el tráfico de lectura escala sin
+ * competir por las conexiones de las escrituras. Su sesión se marca de solo lectura
+ * (Hibernate no guarda la copia del estado cargado para el dirty checking) y con flush
+ * MANUAL.
+ *
+ * Si ya hay una transacción, la lectura se une a ella en la primaria: solo ahí se ven
+ * las escrituras aún no confirmadas, y las entidades de la sesión del llamador no se
+ * marcan de solo lectura.
+ */
+@ApplicationScoped
+public class ReadRouting {
+
+    @ConfigProperty(name = "transactions.read-routing.replica-enabled", defaultValue = "true")
+    boolean replicaEnabled;
+
+    @Inject
+    EntityManager primary;
+
+    @Inject
+    @PersistenceUnit("replica")
+    EntityManager replica;
+
+    @Inject
+    TransactionSynchronizationRegistry synchronizationRegistry;
+
+    private final ThreadLocal<ReadRoute> currentRoute = new ThreadLocal<>();
+    private final Map<ReadRoute, LongAdder> reads = new EnumMap<>(ReadRoute.class);
+
+    public ReadRouting() {
+        for (ReadRoute route : ReadRoute.values()) {
+            reads.put(route, new LongAdder());
+        }
+    }
+
+    /**
+     * EntityManager para la lectura en curso: la réplica dentro de una lectura enrutada a
+     * ella y la primaria en cualquier otro caso.
+     */
+    public EntityManager entityManager() {
+        return currentRoute.get() == ReadRoute.REPLICA ? replica : primary;
+    }
+
+    /**
+     * Ejecuta work como lectura de solo lectura. Las llamadas anidadas conservan la ruta
+     * de la más externa.
+     */
+    public <T> T readOnly(Callable<T> work) throws Exception {
+        if (currentRoute.get() != null) {
+            return work.call();
+        }
+        ReadRoute route = resolve();
+        reads.get(route).increment();
+        currentRoute.set(route);
+        try {
+            if (route == ReadRoute.TRANSACTION) {
+                return work.call();
+            }
+            Session session = entityManager().unwrap(Session.class);
+            boolean wasReadOnly = session.isDefaultReadOnly();
+            FlushMode previousFlushMode = session.getHibernateFlushMode();
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            try {
+                return work.call();
+            } finally {
+                session.setDefaultReadOnly(wasReadOnly);
+                session.setHibernateFlushMode(previousFlushMode);
+            }
+        } finally {
+            currentRoute.remove();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("replicaEnabled", replicaEnabled);
+        reads.forEach((route, count) -> stats.put(route.name().toLowerCase(), count.sum()));
+        return stats;
+    }
+
+    private ReadRoute resolve() {
+        if (synchronizationRegistry.getTransactionStatus() != Status.STATUS_NO_TRANSACTION) {
+            return ReadRoute.TRANSACTION;
+        }
+        return replicaEnabled ? ReadRoute.REPLICA : ReadRoute.PRIMARY;
+    }
+}
@@ -0,0 +1,158 @@
+package com.jakartaee.transactions.service;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pipeline asíncrono de batallas.
+ *
+ * Las peticiones se aceptan en una cola acotada y se devuelven al instante con un
+ * trackingId; un número fijo de workers en hilos virtuales las ejecuta con
+ * TransactionDemoService.executeBattle. El número de workers limita las transacciones
+ * concurrentes (y por tanto las conexiones del pool que se usan); cuando la cola se
+ * llena, submit rechaza la petición para que el cliente reduzca el ritmo.
+ *
+ * Las batallas terminadas se conservan en memoria hasta max-tracked para poder
+ * consultar su estado; al superarlo se descartan las más antiguas ya terminadas.
+ */
+@ApplicationScoped
+public class AsyncBattleProcessor {
+    
+    private static final Logger logger = Logger.getLogger(AsyncBattleProcessor.class.getName());
+    
+    @Inject
+    TransactionDemoService transactionService;
+    
+    @ConfigProperty(name = "transactions.battle.async.workers", defaultValue = "8")
+    int workerCount;
+    
+    @ConfigProperty(name = "transactions.battle.async.queue-capacity", defaultValue = "10000")
+    int queueCapacity;
+    
+    @ConfigProperty(name = "transactions.battle.async.max-tracked", defaultValue = "50000")
+    int maxTracked;
+    
+    private final Map<String, BattleJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> submissionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    private BlockingQueue<BattleJob> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean accepting;
+    
+    void onStart(@Observes StartupEvent event) {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        accepting = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofVirtual().name("battle-worker-" + i).start(this::workLoop));
+        }
+    }
+    
+    void onStop(@Observes ShutdownEvent event) {
+        accepting = false;
+        workers.forEach(Thread::interrupt);
+    }
+    
+    /**
+     * Acepta una batalla para ejecutarla en segundo plano.
+     *
+     * @throws RejectedExecutionException si la cola está llena
+     */
+    public BattleJob submit(Long heroId, Long villainId) {
+        if (heroId == null || villainId == null) {
+            throw new IllegalArgumentException("heroId and villainId are required");
+        }
+        BattleJob job = new BattleJob(UUID.randomUUID().toString(), heroId, villainId);
+        if (!accepting || !queue.offer(job)) {
+            rejected.increment();
+            throw new RejectedExecutionException("Battle queue is full");
+        }
+        jobs.put(job.getTrackingId(), job);
+        submissionOrder.add(job.getTrackingId());
+        evictFinished();
+        return job;
+    }
+    
+    public Optional<BattleJob> find(String trackingId) {
+        return Optional.ofNullable(jobs.get(trackingId));
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("workers", workerCount);
+        stats.put("queued", queue != null ? queue.size() : 0);
+        stats.put("running", running.get());
+        stats.put("completed", completed.sum());
+        stats.put("failed", failed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("tracked", jobs.size());
+        return stats;
+    }
+    
+    private void workLoop() {
+        while (accepting) {
+            BattleJob job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            running.incrementAndGet();
+            job.running();
+            try {
+                job.completed(transactionService.executeBattle(job.getHeroId(), job.getVillainId()));
+                completed.increment();
+            } catch (Throwable e) {
+                // Cualquier fallo termina la batalla: si no, quedaría RUNNING para siempre
+                if (!(e instanceof IllegalArgumentException)) {
+                    logger.log(Level.WARNING, "Falló la batalla " + job.getTrackingId(), e);
+                }
+                job.failed(e.getMessage());
+                failed.increment();
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+    }
+    
+    /**
+     * Descarta las batallas terminadas más antiguas hasta volver a max-tracked. Las que
+     * siguen en curso se saltan (como mucho queue-capacity + workers).
+     */
+    private void evictFinished() {
+        Iterator<String> oldestFirst = submissionOrder.iterator();
+        while (jobs.size() > maxTracked && oldestFirst.hasNext()) {
+            String trackingId = oldestFirst.next();
+            BattleJob job = jobs.get(trackingId);
+            if (job == null || job.isDone()) {
+                oldestFirst.remove();
+                jobs.remove(trackingId);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.jakartaee.transactions.service;
+
+import com.jakartaee.transactions.entity.Battle;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Batalla aceptada por el pipeline asíncrono, identificada por su trackingId.
+ * Se serializa tal cual como respuesta de los endpoints de estado.
+ */
+public class BattleJob {
+    
+    private final String trackingId;
+    private final Long heroId;
+    private final Long villainId;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    
+    private volatile Status status = Status.QUEUED;
+    private volatile Battle battle;
+    private volatile String error;
+    private volatile LocalDateTime completedAt;
+    
+    private final List<Consumer<BattleJob>> listeners = new CopyOnWriteArrayList<>();
+    
+    BattleJob(String trackingId, Long heroId, Long villainId) {
+        this.trackingId = trackingId;
+        this.heroId = heroId;
+        this.villainId = villainId;
+    }
+    
+    /**
+     * Registra un observador de los cambios de estado. Si la batalla ya terminó, se le
+     * notifica inmediatamente.
+     */
+    public void onChange(Consumer<BattleJob> listener) {
+        listeners.add(listener);
+        if (isDone()) {
+            listener.accept(this);
+        }
+    }
+    
+    public void removeListener(Consumer<BattleJob> listener) {
+        listeners.remove(listener);
+    }
+    
+    void running() {
+        transition(Status.RUNNING);
+    }
+    
+    void completed(Battle battle) {
+        this.battle = battle;
+        this.completedAt = LocalDateTime.now();
+        transition(Status.COMPLETED);
+    }
+    
+    void failed(String error) {
+        this.error = error;
+        this.completedAt = LocalDateTime.now();
+        transition(Status.FAILED);
+    }
+    
+    private void transition(Status next) {
+        status = next;
+        for (Consumer<BattleJob> listener : listeners) {
+            listener.accept(this);
+        }
+    }
+    
+    public boolean isDone() {
+        return status.isTerminal();
+    }
+    
+    // Getters
+    public String getTrackingId() {
+        return trackingId;
+    }
+    
+    public Long getHeroId() {
+        return heroId;
+    }
+    
+    public Long getVillainId() {
+        return villainId;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public Battle getBattle() {
+        return battle;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED;
+        
+        public boolean isTerminal() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.jakartaee.transactions.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor de paginación por clave (keyset): la marca de tiempo y el id de la última fila
+ * devuelta. La página siguiente empieza justo después de esa fila, sin OFFSET, así que el
+ * coste no crece con la profundidad de la página.
+ *
+ * Se serializa como Base64 URL-safe para que el cliente lo trate como un valor opaco.
+ */
+public record HistoryCursor(LocalDateTime timestamp, long id) {
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
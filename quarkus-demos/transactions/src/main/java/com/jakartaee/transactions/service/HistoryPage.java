@@ -0,0 +1,9 @@
+package com.jakartaee.transactions.service;
+
+import java.util.List;
+
+/**
+ * Página de historial. nextCursor es null cuando no hay más resultados.
+ */
+public record HistoryPage<T>(List<T> items, String nextCursor, int limit) {
+}
@@ -0,0 +1,156 @@
+package com.jakartaee.transactions.service;
+
+import com.jakartaee.transactions.entity.Battle;
+import com.jakartaee.transactions.entity.PowerTransfer;
+import com.jakartaee.transactions.routing.ReadOnly;
+import com.jakartaee.transactions.routing.ReadRouting;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Historial paginado de transferencias y batallas, de la más reciente a la más antigua.
+ *
+ * Usa paginación por clave sobre (marca de tiempo, id) en lugar de OFFSET: cada página es
+ * un rango del índice que empieza en el cursor, con el mismo coste en la página 1 que en
+ * la 100.000. Los filtros por héroe/villano y por ventana de tiempo usan los índices
+ * (participante, marca de tiempo, id) declarados en las entidades.
+ *
+ * Es de solo lectura: fuera de una transacción las consultas van a la réplica.
+ */
+@ReadOnly
+@ApplicationScoped
+public class HistoryService {
+    
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+    
+    @Inject
+    ReadRouting readRouting;
+    
+    /**
+     * Transferencias filtradas por héroe origen, destino o cualquiera de los dos (heroId),
+     * dentro de [from, to).
+     *
+     * Con heroId no se usa un OR entre columnas, que impediría usar los índices: se leen
+     * por separado las salientes y las entrantes, cada una por su índice, y se mezclan.
+     */
+    public HistoryPage<PowerTransfer> transfers(Long fromHeroId, Long toHeroId, Long heroId,
+                                                LocalDateTime from, LocalDateTime to,
+                                                String cursor, int limit) {
+        if (heroId == null) {
+            return page(transferQuery(fromHeroId, toHeroId).fetch(PowerTransfer.class, from, to, cursor, limit),
+                    limit, HistoryService::transferCursor);
+        }
+        List<PowerTransfer> outgoing = transferQuery(heroId, toHeroId).fetch(PowerTransfer.class, from, to, cursor, limit);
+        List<PowerTransfer> incoming = transferQuery(fromHeroId, heroId).fetch(PowerTransfer.class, from, to, cursor, limit);
+        
+        Map<Long, PowerTransfer> merged = new HashMap<>();
+        outgoing.forEach(transfer -> merged.put(transfer.getId(), transfer));
+        incoming.forEach(transfer -> merged.put(transfer.getId(), transfer));
+        List<PowerTransfer> rows = merged.values().stream()
+                .sorted(Comparator.comparing(PowerTransfer::getCreatedAt)
+                        .thenComparing(PowerTransfer::getId)
+                        .reversed())
+                .toList();
+        return page(rows, limit, HistoryService::transferCursor);
+    }
+    
+    /**
+     * Batallas filtradas por héroe y/o villano dentro de [from, to).
+     */
+    public HistoryPage<Battle> battles(Long heroId, Long villainId,
+                                       LocalDateTime from, LocalDateTime to,
+                                       String cursor, int limit) {
+        Query query = new Query("SELECT b FROM Battle b", "b.startedAt", "b.id");
+        query.filter("b.heroId = :heroId", "heroId", heroId);
+        query.filter("b.villainId = :villainId", "villainId", villainId);
+        return page(query.fetch(Battle.class, from, to, cursor, limit), limit,
+                battle -> new HistoryCursor(battle.getStartedAt(), battle.getId()));
+    }
+    
+    private Query transferQuery(Long fromHeroId, Long toHeroId) {
+        Query query = new Query("SELECT t FROM PowerTransfer t", "t.createdAt", "t.id");
+        query.filter("t.fromHeroId = :fromHeroId", "fromHeroId", fromHeroId);
+        query.filter("t.toHeroId = :toHeroId", "toHeroId", toHeroId);
+        return query;
+    }
+    
+    private static HistoryCursor transferCursor(PowerTransfer transfer) {
+        return new HistoryCursor(transfer.getCreatedAt(), transfer.getId());
+    }
+    
+    /**
+     * Recorta las filas leídas (hasta limit + 1, ya ordenadas) a una página. La fila
+     * sobrante solo indica que existe página siguiente, sin necesidad de un COUNT.
+     */
+    private static <T> HistoryPage<T> page(List<T> rows, int limit, Function<T, HistoryCursor> cursorOf) {
+        int pageSize = pageSize(limit);
+        if (rows.size() <= pageSize) {
+            return new HistoryPage<>(rows, null, pageSize);
+        }
+        List<T> items = List.copyOf(rows.subList(0, pageSize));
+        return new HistoryPage<>(items, cursorOf.apply(items.getLast()).encode(), pageSize);
+    }
+    
+    private static int pageSize(int limit) {
+        return Math.clamp(limit, 1, MAX_LIMIT);
+    }
+    
+    /**
+     * Construye la consulta keyset: filtros opcionales + ventana de tiempo + cursor,
+     * ordenada por (marca de tiempo, id) descendente.
+     */
+    private final class Query {
+        private final StringBuilder jpql;
+        private final String timeColumn;
+        private final String idColumn;
+        private final Map<String, Object> parameters = new HashMap<>();
+        private boolean hasWhere;
+        
+        Query(String select, String timeColumn, String idColumn) {
+            this.jpql = new StringBuilder(select);
+            this.timeColumn = timeColumn;
+            this.idColumn = idColumn;
+        }
+        
+        void filter(String condition, String name, Object value) {
+            if (value != null) {
+                where(condition);
+                parameters.put(name, value);
+            }
+        }
+        
+        private void where(String condition) {
+            jpql.append(hasWhere ? " AND " : " WHERE ").append(condition);
+            hasWhere = true;
+        }
+        
+        <T> List<T> fetch(Class<T> type, LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+            if (from != null && to != null && !from.isBefore(to)) {
+                throw new IllegalArgumentException("'from' must be before 'to'");
+            }
+            filter(timeColumn + " >= :from", "from", from);
+            filter(timeColumn + " < :to", "to", to);
+            if (cursor != null && !cursor.isBlank()) {
+                HistoryCursor after = HistoryCursor.decode(cursor);
+                where("(" + timeColumn + " < :cursorTime OR (" + timeColumn + " = :cursorTime AND "
+                        + idColumn + " < :cursorId))");
+                parameters.put("cursorTime", after.timestamp());
+                parameters.put("cursorId", after.id());
+            }
+            jpql.append(" ORDER BY ").append(timeColumn).append(" DESC, ").append(idColumn).append(" DESC");
+            
+            TypedQuery<T> query = readRouting.entityManager().createQuery(jpql.toString(), type);
+            parameters.forEach(query::setParameter);
+            return query.setMaxResults(pageSize(limit) + 1).getResultList();
+        }
+    }
+}
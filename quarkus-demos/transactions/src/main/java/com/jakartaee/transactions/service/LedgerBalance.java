@@ -0,0 +1,15 @@
+package com.jakartaee.transactions.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Saldo de poder reconstruido desde el libro mayor.
+ *
+ * @param snapshotEventId último evento cubierto por la instantánea usada (null si no había)
+ * @param eventsReplayed  eventos sumados después de la instantánea
+ * @param lastEventId     último evento incluido en el saldo
+ * @param asOf            instante del último evento incluido
+ */
+public record LedgerBalance(Long heroId, int balance, Long snapshotEventId, long eventsReplayed,
+                            Long lastEventId, LocalDateTime asOf) {
+}
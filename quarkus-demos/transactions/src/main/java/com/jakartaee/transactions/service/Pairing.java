@@ -0,0 +1,7 @@
+package com.jakartaee.transactions.service;
+
+/**
+ * Emparejamiento héroe contra villano dentro de un torneo.
+ */
+public record Pairing(Long heroId, Long villainId) {
+}
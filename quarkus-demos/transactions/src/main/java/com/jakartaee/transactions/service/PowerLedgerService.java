@@ -0,0 +1,191 @@
+package com.jakartaee.transactions.service;
+
+import com.jakartaee.common.entities.Hero;
+import com.jakartaee.transactions.entity.PowerEvent;
+import com.jakartaee.transactions.entity.PowerSnapshot;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Libro mayor de poder basado en eventos (event sourcing).
+ *
+ * Cada cambio de poder de un héroe se añade como un PowerEvent; el saldo se reconstruye
+ * desde la instantánea más reciente sumando solo los eventos posteriores, con coste
+ * O(eventos desde la instantánea). Cada snapshot-every eventos de un héroe se guarda una
+ * instantánea nueva dentro de la misma transacción que añadió el evento.
+ *
+ * Hero.powerLevel se mantiene como proyección del libro mayor para las lecturas habituales;
+ * GET /api/transactions/ledger/verify comprueba que ambos coinciden.
+ */
+@ApplicationScoped
+public class PowerLedgerService {
+    
+    @Inject
+    EntityManager entityManager;
+    
+    @ConfigProperty(name = "transactions.ledger.snapshot-every", defaultValue = "100")
+    int snapshotEvery;
+    
+    // Eventos añadidos por héroe desde la última instantánea. Solo decide cuándo tomar
+    // una instantánea: si un rollback lo desajusta, la instantánea se adelanta o retrasa.
+    private final Map<Long, AtomicInteger> eventsSinceSnapshot = new ConcurrentHashMap<>();
+    
+    /**
+     * Añade un evento al libro mayor. Debe llamarse dentro de la transacción que cambia
+     * el poder del héroe, con la fila del héroe ya bloqueada, para que los eventos de un
+     * mismo héroe se añadan en serie.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void record(Long heroId, PowerEvent.EventType type, int delta, Long referenceId) {
+        entityManager.persist(new PowerEvent(heroId, type, delta, referenceId));
+        
+        AtomicInteger counter = eventsSinceSnapshot.computeIfAbsent(heroId, id -> new AtomicInteger());
+        if (counter.incrementAndGet() >= snapshotEvery) {
+            counter.set(0);
+            takeSnapshot(heroId);
+        }
+    }
+    
+    /**
+     * Registra el poder inicial de un héroe recién creado.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void open(Hero hero) {
+        record(hero.getId(), PowerEvent.EventType.OPENING, hero.getPowerLevel(), null);
+    }
+    
+    /**
+     * Saldo actual: última instantánea + eventos posteriores.
+     */
+    @Transactional
+    public LedgerBalance balance(Long heroId) {
+        return replay(heroId, latestSnapshot(heroId, null), null);
+    }
+    
+    /**
+     * Saldo del héroe en un instante pasado: la última instantánea anterior a ese instante
+     * más los eventos posteriores a ella que ocurrieron antes de él.
+     */
+    @Transactional
+    public LedgerBalance balanceAt(Long heroId, LocalDateTime at) {
+        return replay(heroId, latestSnapshot(heroId, at), at);
+    }
+    
+    /**
+     * Guarda una instantánea con el saldo actual del héroe.
+     *
+     * Bloquea antes la fila del héroe, igual que quien llama a record(): los ids de los
+     * eventos se reservan al insertar, y sin el bloqueo la instantánea podría fijar
+     * lastEventId por encima de un evento aún sin confirmar, que replay() ya no leería.
+     */
+    @Transactional
+    public Optional<PowerSnapshot> takeSnapshot(Long heroId) {
+        if (entityManager.find(Hero.class, heroId, LockModeType.PESSIMISTIC_WRITE) == null) {
+            return Optional.empty();
+        }
+        LedgerBalance current = balance(heroId);
+        if (current.lastEventId() == null || current.eventsReplayed() == 0) {
+            return Optional.empty();
+        }
+        PowerSnapshot snapshot = new PowerSnapshot(heroId, current.lastEventId(), current.asOf(), current.balance());
+        entityManager.persist(snapshot);
+        return Optional.of(snapshot);
+    }
+    
+    /**
+     * Eventos de un héroe posteriores a afterId, en orden de llegada.
+     */
+    @Transactional
+    public List<PowerEvent> events(Long heroId, long afterId, int limit) {
+        return entityManager.createQuery(
+                "SELECT e FROM PowerEvent e WHERE e.heroId = :heroId AND e.id > :afterId ORDER BY e.id",
+                PowerEvent.class)
+                .setParameter("heroId", heroId)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    /**
+     * Compara Hero.powerLevel con el saldo del libro mayor para todos los héroes y
+     * devuelve los que no coinciden.
+     *
+     * Es una sola consulta sin bloqueos: poder, última instantánea y eventos posteriores se
+     * leen en la misma sentencia, que ve un único estado confirmado, así que una
+     * transferencia en curso no aparece como desajuste y las transferencias no esperan a
+     * que termine la comprobación. Un héroe borrado a mitad simplemente no aparece.
+     */
+    @Transactional
+    public List<Map<String, Object>> verify() {
+        List<Object[]> rows = entityManager.createQuery(
+                "SELECT h.id, h.powerLevel, COALESCE(s.balance, 0) + COALESCE("
+                        + "(SELECT SUM(e.delta) FROM PowerEvent e "
+                        + "WHERE e.heroId = h.id AND e.id > COALESCE(s.lastEventId, 0)), 0) "
+                        + "FROM Hero h LEFT JOIN PowerSnapshot s ON s.heroId = h.id AND s.lastEventId = "
+                        + "(SELECT MAX(s2.lastEventId) FROM PowerSnapshot s2 WHERE s2.heroId = h.id) "
+                        + "ORDER BY h.id", Object[].class)
+                .getResultList();
+        
+        List<Map<String, Object>> mismatches = new ArrayList<>();
+        for (Object[] row : rows) {
+            int powerLevel = ((Number) row[1]).intValue();
+            int ledgerBalance = ((Number) row[2]).intValue();
+            if (ledgerBalance != powerLevel) {
+                Map<String, Object> mismatch = new LinkedHashMap<>();
+                mismatch.put("heroId", row[0]);
+                mismatch.put("powerLevel", powerLevel);
+                mismatch.put("ledgerBalance", ledgerBalance);
+                mismatches.add(mismatch);
+            }
+        }
+        return mismatches;
+    }
+    
+    private PowerSnapshot latestSnapshot(Long heroId, LocalDateTime at) {
+        String jpql = at == null
+                ? "SELECT s FROM PowerSnapshot s WHERE s.heroId = :heroId ORDER BY s.lastEventId DESC"
+                : "SELECT s FROM PowerSnapshot s WHERE s.heroId = :heroId AND s.asOf <= :at ORDER BY s.lastEventId DESC";
+        var query = entityManager.createQuery(jpql, PowerSnapshot.class)
+                .setParameter("heroId", heroId)
+                .setMaxResults(1);
+        if (at != null) {
+            query.setParameter("at", at);
+        }
+        return query.getResultStream().findFirst().orElse(null);
+    }
+    
+    private LedgerBalance replay(Long heroId, PowerSnapshot snapshot, LocalDateTime at) {
+        long afterId = snapshot != null ? snapshot.getLastEventId() : 0L;
+        String jpql = "SELECT COALESCE(SUM(e.delta), 0), COUNT(e), MAX(e.id), MAX(e.occurredAt) FROM PowerEvent e "
+                + "WHERE e.heroId = :heroId AND e.id > :afterId"
+                + (at != null ? " AND e.occurredAt <= :at" : "");
+        var query = entityManager.createQuery(jpql, Object[].class)
+                .setParameter("heroId", heroId)
+                .setParameter("afterId", afterId);
+        if (at != null) {
+            query.setParameter("at", at);
+        }
+        Object[] row = query.getSingleResult();
+        
+        int replayedSum = ((Number) row[0]).intValue();
+        long replayed = ((Number) row[1]).longValue();
+        int base = snapshot != null ? snapshot.getBalance() : 0;
+        Long lastEventId = replayed > 0 ? (Long) row[2] : (snapshot != null ? snapshot.getLastEventId() : null);
+        LocalDateTime asOf = replayed > 0 ? (LocalDateTime) row[3] : (snapshot != null ? snapshot.getAsOf() : null);
+        return new LedgerBalance(heroId, base + replayedSum, snapshot != null ? snapshot.getLastEventId() : null,
+                replayed, lastEventId, asOf);
+    }
+}
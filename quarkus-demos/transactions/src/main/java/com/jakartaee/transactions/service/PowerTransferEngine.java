@@ -0,0 +1,93 @@
+package com.jakartaee.transactions.service;
+
+import com.jakartaee.transactions.entity.PowerTransfer;
+import com.jakartaee.transactions.exception.TransferContentionException;
+import com.jakartaee.transactions.metrics.TransferContentionMetrics;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.LockAcquisitionException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Ejecuta transferencias de poder reintentando cuando la base de datos aborta la
+ * transacción por contención (timeout de bloqueo o deadlock).
+ *
+ * El reintento tiene que ocurrir fuera de la transacción: cada intento llama a
+ * TransactionDemoService.transferPower a través del proxy CDI, que abre una transacción
+ * nueva. Entre intentos se espera un backoff exponencial con jitter para que los hilos
+ * que chocaron no vuelvan a llegar a la vez.
+ */
+@ApplicationScoped
+public class PowerTransferEngine {
+
+    private static final Logger logger = Logger.getLogger(PowerTransferEngine.class.getName());
+
+    @Inject
+    TransactionDemoService transactionService;
+
+    @Inject
+    TransferContentionMetrics metrics;
+
+    @ConfigProperty(name = "transactions.transfer.max-attempts", defaultValue = "5")
+    int maxAttempts;
+
+    @ConfigProperty(name = "transactions.transfer.backoff-ms", defaultValue = "5")
+    long initialBackoffMs;
+
+    @ConfigProperty(name = "transactions.transfer.max-backoff-ms", defaultValue = "200")
+    long maxBackoffMs;
+
+    public PowerTransfer transfer(Long fromHeroId, Long toHeroId, Integer amount) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                PowerTransfer transfer = transactionService.transferPower(fromHeroId, toHeroId, amount);
+                metrics.recordCompleted();
+                return transfer;
+            } catch (IllegalArgumentException e) {
+                metrics.recordRejected();
+                throw e;
+            } catch (RuntimeException e) {
+                if (!isLockConflict(e)) {
+                    throw e;
+                }
+                metrics.recordLockConflict();
+                if (attempt >= maxAttempts) {
+                    metrics.recordExhausted();
+                    throw new TransferContentionException(attempt, e);
+                }
+                metrics.recordRetry();
+                logger.fine(() -> "Conflicto de bloqueo en transferencia " + fromHeroId + " -> " + toHeroId
+                        + ", reintentando");
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 16));
+        long sleepMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            TimeUnit.MILLISECONDS.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransferContentionException(attempt, e);
+        }
+    }
+
+    private static boolean isLockConflict(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof PessimisticLockException
+                    || t instanceof LockTimeoutException
+                    || t instanceof LockAcquisitionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.jakartaee.transactions.service;
+
+import com.jakartaee.transactions.entity.Battle;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumen de un torneo: recuento de resultados, rango de ids de las batallas creadas y
+ * poder final de cada participante. La lista de batallas solo se incluye si se pide.
+ */
+public record TournamentResult(int battles,
+                               long heroWins,
+                               long villainWins,
+                               long draws,
+                               Long firstBattleId,
+                               Long lastBattleId,
+                               Map<Long, Integer> heroPower,
+                               Map<Long, Integer> villainPower,
+                               double durationMs,
+                               List<Battle> battleList) {
+}
@@ -0,0 +1,168 @@
+package com.jakartaee.transactions.service;
+
+import com.jakartaee.common.entities.Hero;
+import com.jakartaee.common.entities.Villain;
+import com.jakartaee.transactions.entity.Battle;
+import com.jakartaee.transactions.entity.PowerEvent;
+import com.jakartaee.transactions.outbox.OutboxService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Torneos: muchas batallas resueltas en una sola transacción.
+ *
+ * En lugar de una transacción por batalla (dos find, un persist, dos merge y un flush),
+ * el torneo carga y bloquea a todos los participantes con una consulta IN por tipo,
+ * resuelve las batallas en memoria en el orden recibido (cada una ve el poder que dejaron
+ * las anteriores) y hace un único flush: las batallas se insertan en lotes JDBC (su id
+ * sale de una secuencia, no de IDENTITY) y cada participante cuyo poder cambió recibe
+ * un solo UPDATE.
+ */
+@ApplicationScoped
+public class TournamentService {
+    
+    @Inject
+    EntityManager entityManager;
+    
+    @Inject
+    PowerLedgerService powerLedger;
+    
+    @Inject
+    OutboxService outbox;
+    
+    @ConfigProperty(name = "transactions.tournament.max-battles", defaultValue = "10000")
+    int maxBattles;
+    
+    @Transactional
+    public TournamentResult runTournament(List<Pairing> pairings, boolean includeBattles) {
+        long start = System.nanoTime();
+        validate(pairings);
+        
+        Set<Long> heroIds = new TreeSet<>();
+        Set<Long> villainIds = new TreeSet<>();
+        for (Pairing pairing : pairings) {
+            heroIds.add(pairing.heroId());
+            villainIds.add(pairing.villainId());
+        }
+        
+        // Mismo orden que executeBattle: primero héroes, luego villanos, cada grupo por id
+        Map<Long, Hero> heroes = new HashMap<>();
+        for (Hero hero : lockAll("SELECT h FROM Hero h WHERE h.id IN :ids ORDER BY h.id", Hero.class, heroIds)) {
+            heroes.put(hero.getId(), hero);
+        }
+        Map<Long, Villain> villains = new HashMap<>();
+        for (Villain villain : lockAll("SELECT v FROM Villain v WHERE v.id IN :ids ORDER BY v.id", Villain.class, villainIds)) {
+            villains.put(villain.getId(), villain);
+        }
+        checkParticipants(heroIds, heroes.keySet(), villainIds, villains.keySet());
+        
+        Map<Long, Integer> heroPowerBefore = new HashMap<>();
+        heroes.forEach((id, hero) -> heroPowerBefore.put(id, hero.getPowerLevel()));
+        
+        List<Battle> battles = includeBattles ? new ArrayList<>(pairings.size()) : null;
+        long heroWins = 0;
+        long villainWins = 0;
+        Long firstBattleId = null;
+        Long lastBattleId = null;
+        
+        for (Pairing pairing : pairings) {
+            Battle battle = TransactionDemoService.fight(heroes.get(pairing.heroId()), villains.get(pairing.villainId()));
+            entityManager.persist(battle);
+            switch (battle.getResult()) {
+                case HERO_WIN -> heroWins++;
+                case VILLAIN_WIN -> villainWins++;
+                case DRAW -> { }
+            }
+            if (firstBattleId == null) {
+                firstBattleId = battle.getId();
+            }
+            lastBattleId = battle.getId();
+            if (battles != null) {
+                battles.add(battle);
+            }
+        }
+        
+        // Un evento por héroe con el cambio neto del torneo: todas las batallas se
+        // confirman juntas, así que no hay saldos intermedios observables
+        for (Map.Entry<Long, Hero> entry : heroes.entrySet()) {
+            int delta = entry.getValue().getPowerLevel() - heroPowerBefore.get(entry.getKey());
+            if (delta != 0) {
+                powerLedger.record(entry.getKey(), PowerEvent.EventType.TOURNAMENT, delta, firstBattleId);
+            }
+        }
+        
+        // Un único flush: los INSERT de las batallas salen en lotes de statement-batch-size
+        // y cada participante con cambios recibe un solo UPDATE con su poder final
+        entityManager.flush();
+        
+        Map<Long, Integer> heroPower = new TreeMap<>();
+        heroes.forEach((id, hero) -> heroPower.put(id, hero.getPowerLevel()));
+        Map<Long, Integer> villainPower = new TreeMap<>();
+        villains.forEach((id, villain) -> villainPower.put(id, villain.getPowerLevel()));
+        
+        TournamentResult result = new TournamentResult(pairings.size(), heroWins, villainWins,
+                pairings.size() - heroWins - villainWins, firstBattleId, lastBattleId,
+                heroPower, villainPower, (System.nanoTime() - start) / 1_000_000.0, battles);
+        
+        // Un solo evento para todo el torneo y de tamaño fijo: las batallas se consultan por
+        // rango de ids y el poder final de cada participante en sus tablas
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("battles", result.battles());
+        payload.put("heroWins", heroWins);
+        payload.put("villainWins", villainWins);
+        payload.put("draws", result.draws());
+        payload.put("firstBattleId", firstBattleId);
+        payload.put("lastBattleId", lastBattleId);
+        payload.put("heroes", heroPower.size());
+        payload.put("villains", villainPower.size());
+        outbox.append("Tournament", firstBattleId, "TournamentCompleted", payload);
+        return result;
+    }
+    
+    private void validate(List<Pairing> pairings) {
+        if (pairings == null || pairings.isEmpty()) {
+            throw new IllegalArgumentException("A tournament needs at least one pairing");
+        }
+        if (pairings.size() > maxBattles) {
+            throw new IllegalArgumentException("A tournament can have at most " + maxBattles + " battles");
+        }
+        for (Pairing pairing : pairings) {
+            if (pairing == null || pairing.heroId() == null || pairing.villainId() == null) {
+                throw new IllegalArgumentException("Every pairing needs heroId and villainId");
+            }
+        }
+    }
+    
+    private <T> List<T> lockAll(String jpql, Class<T> type, Collection<Long> ids) {
+        return entityManager.createQuery(jpql, type)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+    
+    private static void checkParticipants(Set<Long> heroIds, Set<Long> foundHeroes,
+                                          Set<Long> villainIds, Set<Long> foundVillains) {
+        Set<Long> missingHeroes = new TreeSet<>(heroIds);
+        missingHeroes.removeAll(foundHeroes);
+        Set<Long> missingVillains = new TreeSet<>(villainIds);
+        missingVillains.removeAll(foundVillains);
+        if (!missingHeroes.isEmpty() || !missingVillains.isEmpty()) {
+            throw new IllegalArgumentException("Unknown participants: heroes " + missingHeroes
+                    + ", villains " + missingVillains);
+        }
+    }
+}
@@ -3,14 +3,28 @@ package com.jakartaee.transactions.service;
 import com.jakartaee.common.entities.Hero;
 import com.jakartaee.common.entities.Villain;
 import com.jakartaee.transactions.entity.Battle;
+import com.jakartaee.transactions.entity.PowerEvent;
 import com.jakartaee.transactions.entity.PowerTransfer;
+import com.jakartaee.transactions.metrics.TransferContentionMetrics;
+import com.jakartaee.transactions.idempotency.IdempotencyService;
+import com.jakartaee.transactions.outbox.OutboxService;
+import com.jakartaee.transactions.routing.ReadOnly;
+import com.jakartaee.transactions.routing.ReadRouting;
+import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.logging.Logger;
 
 /**
@@ -33,6 +47,21 @@ public class TransactionDemoService {
     @Inject
     TransactionManager transactionManager;
     
+    @Inject
+    TransferContentionMetrics contentionMetrics;
+    
+    @Inject
+    PowerLedgerService powerLedger;
+    
+    @Inject
+    OutboxService outbox;
+    
+    @Inject
+    IdempotencyService idempotency;
+    
+    @Inject
+    ReadRouting readRouting;
+    
     /**
      * Transacción básica con @Transactional.
      * REQUIRED es el valor por defecto.
@@ -41,6 +70,7 @@ public class TransactionDemoService {
     public Hero createHero(String name, String power, Integer powerLevel) {
         Hero hero = new Hero(name, power, powerLevel);
         entityManager.persist(hero);
+        powerLedger.open(hero);
         entityManager.flush();
         return hero;
     }
@@ -53,6 +83,7 @@ public class TransactionDemoService {
     public Hero createHeroRequired(String name, String power, Integer powerLevel) {
         Hero hero = new Hero(name, power, powerLevel);
         entityManager.persist(hero);
+        powerLedger.open(hero);
         return hero;
     }
     
@@ -75,29 +106,34 @@ public class TransactionDemoService {
      */
     @Transactional(Transactional.TxType.MANDATORY)
     public void updateHeroPower(Long heroId, Integer newPowerLevel) {
-        Hero hero = entityManager.find(Hero.class, heroId);
+        // Con la fila bloqueada, como en las transferencias: el delta se calcula sobre el
+        // poder confirmado y el evento se añade en serie con los demás del héroe
+        Hero hero = entityManager.find(Hero.class, heroId, LockModeType.PESSIMISTIC_WRITE);
         if (hero != null) {
+            powerLedger.record(heroId, PowerEvent.EventType.ADJUSTMENT, newPowerLevel - hero.getPowerLevel(), null);
             hero.setPowerLevel(newPowerLevel);
-            entityManager.merge(hero);
         }
     }
     
     /**
      * Transacción SUPPORTS.
-     * Si hay transacción, la usa. Si no, ejecuta sin transacción.
+     * Si hay transacción, la usa. Si no, ejecuta sin transacción (y, al ser @ReadOnly,
+     * lee de la réplica).
      */
+    @ReadOnly
     @Transactional(Transactional.TxType.SUPPORTS)
     public Hero findHero(Long id) {
-        return entityManager.find(Hero.class, id);
+        return readRouting.entityManager().find(Hero.class, id);
     }
     
     /**
      * Transacción NOT_SUPPORTED.
-     * Suspende cualquier transacción existente y ejecuta sin transacción.
+     * Suspende cualquier transacción existente y ejecuta sin transacción, en la réplica.
      */
+    @ReadOnly
     @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public String readOnlyOperation(Long heroId) {
-        Hero hero = entityManager.find(Hero.class, heroId);
+        Hero hero = readRouting.entityManager().find(Hero.class, heroId);
         return hero != null ? hero.getName() : "Not found";
     }
     
@@ -105,28 +141,37 @@ public class TransactionDemoService {
      * Transacción NEVER.
      * Lanza excepción si hay una transacción activa.
      */
+    @ReadOnly
     @Transactional(Transactional.TxType.NEVER)
     public String nonTransactionalOperation(Long heroId) {
         // Esta operación no debe ejecutarse dentro de una transacción
-        Hero hero = entityManager.find(Hero.class, heroId);
+        Hero hero = readRouting.entityManager().find(Hero.class, heroId);
         return hero != null ? hero.getName() : "Not found";
     }
     
     /**
      * Transferencia de poder entre héroes.
      * Demuestra transacción con múltiples operaciones que deben ser atómicas.
+     *
+     * Las filas de ambos héroes se bloquean (PESSIMISTIC_WRITE) en orden de id ascendente:
+     * A→B y B→A piden los bloqueos en el mismo orden, así que no pueden formar un ciclo
+     * de espera (deadlock), y dos transferencias sobre el mismo héroe no pierden updates.
+     * Los reintentos ante timeouts de bloqueo los hace PowerTransferEngine.
      */
     @Transactional
     public PowerTransfer transferPower(Long fromHeroId, Long toHeroId, Integer amount) {
-        // 1. Validar que ambos héroes existen
-        Hero fromHero = entityManager.find(Hero.class, fromHeroId);
-        Hero toHero = entityManager.find(Hero.class, toHeroId);
+        validateTransfer(fromHeroId, toHeroId, amount);
+        
+        // 1. Bloquear ambos héroes en orden canónico
+        HeroPair heroes = lockHeroesInOrder(fromHeroId, toHeroId);
+        Hero fromHero = heroes.from();
+        Hero toHero = heroes.to();
         
         if (fromHero == null || toHero == null) {
             throw new IllegalArgumentException("One or both heroes not found");
         }
         
-        // 2. Validar que el héroe origen tiene suficiente poder
+        // 2. Validar que el héroe origen tiene suficiente poder (ya con la fila bloqueada)
         if (fromHero.getPowerLevel() < amount) {
             throw new IllegalArgumentException("Insufficient power level");
         }
@@ -134,23 +179,126 @@ public class TransactionDemoService {
         // 3. Crear registro de transferencia
         PowerTransfer transfer = new PowerTransfer(fromHeroId, toHeroId, amount);
         entityManager.persist(transfer);
+        idempotency.completeInTransaction(transfer.getId());
         
-        // 4. Actualizar niveles de poder (operaciones atómicas)
+        // 4. Registrar los eventos en el libro mayor y actualizar la proyección en Hero
+        //    (las entidades ya están gestionadas, no hace falta merge)
+        recordTransferEvents(transfer);
         fromHero.setPowerLevel(fromHero.getPowerLevel() - amount);
         toHero.setPowerLevel(toHero.getPowerLevel() + amount);
         
-        entityManager.merge(fromHero);
-        entityManager.merge(toHero);
-        
-        // 5. Marcar transferencia como completada
+        // 5. Marcar transferencia como completada y publicarla en la bandeja de salida
         transfer.setStatus(PowerTransfer.TransferStatus.COMPLETED);
         transfer.setCompletedAt(LocalDateTime.now());
+        publishTransfer(transfer);
         
         entityManager.flush();
         
         return transfer;
     }
     
+    private void publishTransfer(PowerTransfer transfer) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("transferId", transfer.getId());
+        payload.put("fromHeroId", transfer.getFromHeroId());
+        payload.put("toHeroId", transfer.getToHeroId());
+        payload.put("amount", transfer.getAmount());
+        payload.put("completedAt", transfer.getCompletedAt());
+        outbox.append("PowerTransfer", transfer.getId(), "PowerTransferCompleted", payload);
+    }
+    
+    private void recordTransferEvents(PowerTransfer transfer) {
+        powerLedger.record(transfer.getFromHeroId(), PowerEvent.EventType.TRANSFER_OUT, -transfer.getAmount(), transfer.getId());
+        powerLedger.record(transfer.getToHeroId(), PowerEvent.EventType.TRANSFER_IN, transfer.getAmount(), transfer.getId());
+    }
+    
+    static void validateTransfer(Long fromHeroId, Long toHeroId, Integer amount) {
+        if (fromHeroId == null || toHeroId == null || amount == null) {
+            throw new IllegalArgumentException("fromHeroId, toHeroId and amount are required");
+        }
+        if (fromHeroId.equals(toHeroId)) {
+            throw new IllegalArgumentException("Cannot transfer power to the same hero");
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+    }
+    
+    /**
+     * Bloquea las filas de dos héroes siempre en orden de id ascendente, independientemente
+     * del sentido de la transferencia, y registra el tiempo de espera por los bloqueos.
+     */
+    private HeroPair lockHeroesInOrder(Long fromHeroId, Long toHeroId) {
+        boolean fromFirst = fromHeroId < toHeroId;
+        long start = System.nanoTime();
+        Hero first = entityManager.find(Hero.class, fromFirst ? fromHeroId : toHeroId,
+                LockModeType.PESSIMISTIC_WRITE);
+        Hero second = entityManager.find(Hero.class, fromFirst ? toHeroId : fromHeroId,
+                LockModeType.PESSIMISTIC_WRITE);
+        contentionMetrics.recordLockWait(System.nanoTime() - start);
+        return fromFirst ? new HeroPair(first, second) : new HeroPair(second, first);
+    }
+    
+    private record HeroPair(Hero from, Hero to) {
+    }
+    
+    /**
+     * Aplica un lote de transferencias en una única transacción (group commit).
+     *
+     * Todos los héroes implicados se bloquean con una sola consulta IN ordenada por id,
+     * que respeta el mismo orden canónico que transferPower. Después las transferencias se
+     * aplican en memoria en orden de llegada, de modo que cada una ve el poder que dejaron
+     * las anteriores del lote. Las que no pueden aplicarse se devuelven con su error sin
+     * abortar el resto.
+     */
+    @Transactional
+    public List<TransferOutcome> applyTransferBatch(List<TransferCommand> commands) {
+        Set<Long> ids = new TreeSet<>();
+        for (TransferCommand command : commands) {
+            ids.add(command.fromHeroId());
+            ids.add(command.toHeroId());
+        }
+        
+        long start = System.nanoTime();
+        Map<Long, Hero> heroes = new HashMap<>();
+        for (Hero hero : entityManager.createQuery(
+                "SELECT h FROM Hero h WHERE h.id IN :ids ORDER BY h.id", Hero.class)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList()) {
+            heroes.put(hero.getId(), hero);
+        }
+        contentionMetrics.recordLockWait(System.nanoTime() - start);
+        
+        List<TransferOutcome> outcomes = new ArrayList<>(commands.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (TransferCommand command : commands) {
+            Hero fromHero = heroes.get(command.fromHeroId());
+            Hero toHero = heroes.get(command.toHeroId());
+            if (fromHero == null || toHero == null) {
+                outcomes.add(TransferOutcome.failed("One or both heroes not found"));
+                continue;
+            }
+            if (fromHero.getPowerLevel() < command.amount()) {
+                outcomes.add(TransferOutcome.failed("Insufficient power level"));
+                continue;
+            }
+            
+            PowerTransfer transfer = new PowerTransfer(command.fromHeroId(), command.toHeroId(), command.amount());
+            entityManager.persist(transfer);
+            recordTransferEvents(transfer);
+            fromHero.setPowerLevel(fromHero.getPowerLevel() - command.amount());
+            toHero.setPowerLevel(toHero.getPowerLevel() + command.amount());
+            transfer.setStatus(PowerTransfer.TransferStatus.COMPLETED);
+            transfer.setCompletedAt(now);
+            publishTransfer(transfer);
+            outcomes.add(TransferOutcome.completed(transfer));
+        }
+        
+        entityManager.flush();
+        return outcomes;
+    }
+    
     /**
      * Transferencia de poder que falla y hace rollback automático.
      * Demuestra rollback automático cuando se lanza una excepción.
@@ -183,10 +331,14 @@ public class TransactionDemoService {
      * Rollback manual usando TransactionManager.
      */
     @Transactional
-    public void transferPowerWithManualRollback(Long fromHeroId, Long toHeroId, Integer amount) {
+    public void transferPowerWithManualRollback(Long fromHeroId, Long toHeroId, Integer amount)
+            throws SystemException {
         try {
-            Hero fromHero = entityManager.find(Hero.class, fromHeroId);
-            Hero toHero = entityManager.find(Hero.class, toHeroId);
+            // Mismo bloqueo que transferPower: el saldo y el libro mayor cambian juntos
+            // con las filas bloqueadas
+            HeroPair heroes = lockHeroesInOrder(fromHeroId, toHeroId);
+            Hero fromHero = heroes.from();
+            Hero toHero = heroes.to();
             
             if (fromHero == null || toHero == null) {
                 transactionManager.setRollbackOnly();
@@ -202,13 +354,11 @@ public class TransactionDemoService {
             
             PowerTransfer transfer = new PowerTransfer(fromHeroId, toHeroId, amount);
             entityManager.persist(transfer);
+            recordTransferEvents(transfer);
             
             fromHero.setPowerLevel(fromHero.getPowerLevel() - amount);
             toHero.setPowerLevel(toHero.getPowerLevel() + amount);
             
-            entityManager.merge(fromHero);
-            entityManager.merge(toHero);
-            
         } catch (Exception e) {
             // Marcar para rollback si hay error
             transactionManager.setRollbackOnly();
@@ -222,20 +372,54 @@ public class TransactionDemoService {
      */
     @Transactional
     public Battle executeBattle(Long heroId, Long villainId) {
-        Hero hero = entityManager.find(Hero.class, heroId);
-        Villain villain = entityManager.find(Villain.class, villainId);
+        // Héroe y luego villano, siempre en este orden: el héroe se bloquea porque su
+        // poder cambia y sus eventos del libro mayor deben añadirse en serie
+        Hero hero = entityManager.find(Hero.class, heroId, LockModeType.PESSIMISTIC_WRITE);
+        Villain villain = entityManager.find(Villain.class, villainId, LockModeType.PESSIMISTIC_WRITE);
         
         if (hero == null || villain == null) {
             throw new IllegalArgumentException("Hero or villain not found");
         }
         
+        Battle battle = fight(hero, villain);
+        
+        // El resultado es obligatorio, así que la batalla se persiste ya resuelta
+        entityManager.persist(battle);
+        idempotency.completeInTransaction(battle.getId());
+        if (battle.getHeroPowerAfter() - battle.getHeroPowerBefore() != 0) {
+            powerLedger.record(heroId, PowerEvent.EventType.BATTLE,
+                    battle.getHeroPowerAfter() - battle.getHeroPowerBefore(), battle.getId());
+        }
+        
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("battleId", battle.getId());
+        payload.put("heroId", heroId);
+        payload.put("villainId", villainId);
+        payload.put("result", battle.getResult());
+        payload.put("powerExchanged", battle.getPowerExchanged());
+        payload.put("heroPowerAfter", battle.getHeroPowerAfter());
+        payload.put("villainPowerAfter", battle.getVillainPowerAfter());
+        outbox.append("Battle", battle.getId(), "BattleCompleted", payload);
+        
+        entityManager.merge(hero);
+        entityManager.merge(villain);
+        
+        entityManager.flush();
+        
+        return battle;
+    }
+    
+    /**
+     * Simula una batalla y aplica el intercambio de poder a los participantes.
+     * Devuelve la batalla resuelta, sin persistir.
+     */
+    static Battle fight(Hero hero, Villain villain) {
         // Crear registro de batalla
-        Battle battle = new Battle(heroId, villainId);
+        Battle battle = new Battle(hero.getId(), villain.getId());
+        battle.setStartedAt(LocalDateTime.now());
         battle.setHeroPowerBefore(hero.getPowerLevel());
         battle.setVillainPowerBefore(villain.getPowerLevel());
         
-        entityManager.persist(battle);
-        
         // Simular batalla y calcular resultado
         int heroPower = hero.getPowerLevel();
         int villainPower = villain.getPowerLevel();
@@ -262,13 +446,6 @@ public class TransactionDemoService {
         battle.setVillainPowerAfter(villain.getPowerLevel());
         battle.setPowerExchanged(powerExchanged);
         battle.setEndedAt(LocalDateTime.now());
-        
-        entityManager.merge(hero);
-        entityManager.merge(villain);
-        entityManager.merge(battle);
-        
-        entityManager.flush();
-        
         return battle;
     }
     
@@ -276,7 +453,8 @@ public class TransactionDemoService {
      * Transacción con timeout.
      * La transacción se cancela si excede el tiempo especificado.
      */
-    @Transactional(timeout = 5) // 5 segundos
+    @Transactional
+    @TransactionConfiguration(timeout = 5) // 5 segundos
     public void longRunningOperation() throws InterruptedException {
         // Simular operación larga
         Thread.sleep(6000); // 6 segundos - excederá el timeout
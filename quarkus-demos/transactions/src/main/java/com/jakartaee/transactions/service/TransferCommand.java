@@ -0,0 +1,7 @@
+package com.jakartaee.transactions.service;
+
+/**
+ * Petición de transferencia pendiente de aplicar en un lote.
+ */
+public record TransferCommand(Long fromHeroId, Long toHeroId, Integer amount) {
+}
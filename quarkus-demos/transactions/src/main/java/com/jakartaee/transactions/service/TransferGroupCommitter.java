@@ -0,0 +1,212 @@
+package com.jakartaee.transactions.service;
+
+import com.jakartaee.transactions.entity.PowerTransfer;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ingesta de transferencias con group commit.
+ *
+ * Las peticiones se encolan y un único hilo escritor las agrupa en micro-lotes: un lote
+ * se cierra al llegar a max-size transferencias o cuando han pasado max-delay-ms desde la
+ * primera. Cada lote se aplica en una sola transacción (TransactionDemoService.applyTransferBatch),
+ * y el futuro de cada petición se completa solo después del commit, así que quien recibe
+ * la respuesta sabe que su transferencia es durable.
+ *
+ * Si el lote entero falla (p. ej. por contención con transferencias síncronas), sus
+ * peticiones se reaplican una a una con PowerTransferEngine para aislar el fallo.
+ */
+@ApplicationScoped
+public class TransferGroupCommitter {
+
+    private static final Logger logger = Logger.getLogger(TransferGroupCommitter.class.getName());
+
+    @Inject
+    TransactionDemoService transactionService;
+
+    @Inject
+    PowerTransferEngine transferEngine;
+
+    @ConfigProperty(name = "transactions.transfer.batch.max-size", defaultValue = "256")
+    int maxBatchSize;
+
+    @ConfigProperty(name = "transactions.transfer.batch.max-delay-ms", defaultValue = "5")
+    long maxDelayMs;
+
+    @ConfigProperty(name = "transactions.transfer.batch.queue-capacity", defaultValue = "10000")
+    int queueCapacity;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedTransfers = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAccumulator maxObservedBatch = new LongAccumulator(Math::max, 0L);
+
+    private BlockingQueue<PendingTransfer> queue;
+    private volatile boolean running;
+    private Thread writer;
+
+    void onStart(@Observes StartupEvent event) {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = Thread.ofPlatform().name("transfer-group-commit").daemon().start(this::writeLoop);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+        }
+    }
+
+    /**
+     * Encola una transferencia. El futuro se completa tras el commit del lote que la
+     * contiene, o excepcionalmente con IllegalArgumentException si se rechaza.
+     *
+     * @throws RejectedExecutionException si la cola está llena (back-pressure)
+     */
+    public CompletionStage<PowerTransfer> submit(Long fromHeroId, Long toHeroId, Integer amount) {
+        TransactionDemoService.validateTransfer(fromHeroId, toHeroId, amount);
+        PendingTransfer pending = new PendingTransfer(new TransferCommand(fromHeroId, toHeroId, amount));
+        if (!running || !queue.offer(pending)) {
+            throw new RejectedExecutionException("Transfer queue is full");
+        }
+        return pending.future;
+    }
+
+    public Map<String, Object> stats() {
+        long batchCount = batches.sum();
+        long transfers = batchedTransfers.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("batches", batchCount);
+        stats.put("transfers", transfers);
+        stats.put("meanBatchSize", batchCount == 0 ? 0.0 : transfers / (double) batchCount);
+        stats.put("maxBatchSize", maxObservedBatch.get());
+        stats.put("fallbacks", fallbacks.sum());
+        stats.put("queued", queue != null ? queue.size() : 0);
+        return stats;
+    }
+
+    private void writeLoop() {
+        List<PendingTransfer> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingTransfer first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMs));
+                commit(batch);
+            } catch (InterruptedException e) {
+                // Interrumpido mientras reunía el lote: esas transferencias ya salieron de
+                // la cola y no se han aplicado, así que se rechazan aquí
+                batch.forEach(TransferGroupCommitter::reject);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable e) {
+                // Cualquier otro fallo no puede dejar peticiones sin respuesta ni parar el
+                // hilo escritor; las ya completadas no cambian
+                logger.log(Level.SEVERE, "Falló el lote de " + batch.size() + " transferencias", e);
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+        failRemaining();
+    }
+
+    private void collect(List<PendingTransfer> batch, long deadline) throws InterruptedException {
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            PendingTransfer next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<PendingTransfer> batch) {
+        List<TransferCommand> commands = new ArrayList<>(batch.size());
+        for (PendingTransfer pending : batch) {
+            commands.add(pending.command);
+        }
+
+        List<TransferOutcome> outcomes;
+        try {
+            outcomes = transactionService.applyTransferBatch(commands);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Falló el lote de " + batch.size() + " transferencias, se aplican una a una", e);
+            fallbacks.increment();
+            applyIndividually(batch);
+            return;
+        }
+
+        batches.increment();
+        batchedTransfers.add(batch.size());
+        maxObservedBatch.accumulate(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            TransferOutcome outcome = outcomes.get(i);
+            if (outcome.isCompleted()) {
+                batch.get(i).future.complete(outcome.transfer());
+            } else {
+                batch.get(i).future.completeExceptionally(new IllegalArgumentException(outcome.error()));
+            }
+        }
+    }
+
+    private void applyIndividually(List<PendingTransfer> batch) {
+        for (PendingTransfer pending : batch) {
+            TransferCommand command = pending.command;
+            try {
+                pending.future.complete(
+                        transferEngine.transfer(command.fromHeroId(), command.toHeroId(), command.amount()));
+            } catch (RuntimeException e) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void failRemaining() {
+        PendingTransfer pending;
+        while ((pending = queue.poll()) != null) {
+            reject(pending);
+        }
+    }
+
+    private static void reject(PendingTransfer pending) {
+        pending.future.completeExceptionally(new RejectedExecutionException("Transfer queue is shutting down"));
+    }
+
+    private static final class PendingTransfer {
+        final TransferCommand command;
+        final CompletableFuture<PowerTransfer> future = new CompletableFuture<>();
+
+        PendingTransfer(TransferCommand command) {
+            this.command = command;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.jakartaee.transactions.service;
+
+import com.jakartaee.transactions.entity.PowerTransfer;
+
+/**
+ * Resultado de una transferencia dentro de un lote: la transferencia completada
+ * o el motivo por el que se rechazó.
+ */
+public record TransferOutcome(PowerTransfer transfer, String error) {
+
+    static TransferOutcome completed(PowerTransfer transfer) {
+        return new TransferOutcome(transfer, null);
+    }
+
+    static TransferOutcome failed(String error) {
+        return new TransferOutcome(null, error);
+    }
+
+    public boolean isCompleted() {
+        return transfer != null;
+    }
+}